@@ -1,11 +1,35 @@
 package hello.proxy;
 
+import hello.proxy.config.batch.GroupCommitConfig;
+import hello.proxy.config.flatten.EnableProxyFlattening;
+import hello.proxy.config.orderlog.OrderLogConfig;
+import hello.proxy.config.startup.EnableProxyStartupReport;
+import hello.proxy.config.thread.VirtualThreadConfig;
+import hello.proxy.config.v3_proxyfactory.FixedAdvisorProxyFactoryConfigV1;
+import hello.proxy.config.v3_proxyfactory.FixedAdvisorProxyFactoryConfigV2;
+import hello.proxy.config.v3_proxyfactory.LazyProxyFactoryConfigV1;
+import hello.proxy.config.v3_proxyfactory.LazyProxyFactoryConfigV2;
 import hello.proxy.config.v4_postprocessor.BeanPostProcessorConfig;
 import hello.proxy.config.v5_autoproxy.AutoProxyConfig;
+import hello.proxy.config.v5_autoproxy.FixedAdvisorAutoProxyConfig;
+import hello.proxy.config.v5_autoproxy.LazyAutoProxyConfig;
 import hello.proxy.config.v6_aop.AopConfig;
 import hello.proxy.config.v6_aop.aspect.LogTraceAspect;
+import hello.proxy.trace.async.BackPressurePolicy;
+import hello.proxy.trace.cost.SpanCostAggregator;
+import hello.proxy.trace.latency.SpanLatencyRecorder;
+import hello.proxy.trace.logtrace.AggregateLogTrace;
+import hello.proxy.trace.logtrace.AsyncLogTrace;
+import hello.proxy.trace.logtrace.CarrierLogTrace;
+import hello.proxy.trace.logtrace.JournalLogTrace;
 import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.TailSamplingLogTrace;
 import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import hello.proxy.trace.sampling.TraceSampler;
+import hello.proxy.trace.web.TraceCostController;
+import hello.proxy.trace.web.TraceLatencyController;
+import hello.proxy.trace.web.TraceLevelController;
+import hello.proxy.trace.web.TraceSamplingController;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -13,12 +37,24 @@ import org.springframework.context.annotation.Import;
 
 //@Import({AppV1Config.class, AppV2Config.class})//basePackage 제한 이유: 해당 config 클래스만 component scan 대상이 되게끔 따로 @Import 로 config class 등록
 //@Import({InterfaceProxyConfig.class, ConcreteProxyConfig.class})
+//@Import(GeneratedProxyConfig.class)//컴파일 시점에 생성한 프록시
 //@Import({DynamicProxyBasicConfig.class, ConcreteProxyConfig.class})
 //@Import({DynamicProxyFilterConfig.class, ConcreteProxyConfig.class})
+//@Import({DynamicProxyMethodHandleConfig.class, ConcreteProxyConfig.class})//패턴 매칭 결과, MethodHandle 을 메서드별로 캐시
 //@Import({ProxyFactoryConfigV1.class, ProxyFactoryConfigV2.class})
+//@Import({ProxyFactoryConfigV1.class, PregeneratedProxyConfigV2.class})//V2 CGLIB 프록시 클래스를 빌드 시점에 생성, ./gradlew bootRun -PcglibProxies
+//@Import({FixedAdvisorProxyFactoryConfigV1.class, FixedAdvisorProxyFactoryConfigV2.class})//호출마다 MethodInvocation 을 만들지 않는 frozen 전용 프록시
+//@Import({LazyProxyFactoryConfigV1.class, LazyProxyFactoryConfigV2.class})//placeholder 만 등록하고 첫 호출 때 프록시 생성
 //@Import(BeanPostProcessorConfig.class)
 //@Import(AutoProxyConfig.class)
+//@Import(FixedAdvisorAutoProxyConfig.class)//AutoProxyConfig + frozen 전용 프록시
+//@Import(LazyAutoProxyConfig.class)//placeholder 만 등록하고 첫 호출 때 포인트컷 매칭, 프록시 생성
+//@Import({AopConfig.class, GroupCommitConfig.class})//동시에 들어온 save 를 모아서 1초에 한번 기록 (group commit)
+//@Import({AopConfig.class, VirtualThreadConfig.class})//요청, 주문 처리를 가상 스레드에서 실행, JDK 21 필요 ./gradlew bootRun -PjavaVersion=21
+//@Import({AopConfig.class, OrderLogConfig.class})//V1 주문을 메모리 맵 append-only 로그에 기록, 시작할 때 itemId 인덱스 복구
 @Import(AopConfig.class)
+//@EnableProxyStartupReport//빈 생성, 프록시 적용 시간 기록, GET /startup/proxies
+//@EnableProxyFlattening//이미 프록시인 빈은 감싸지 않고 advisor 체인에 합친다.
 @SpringBootApplication(scanBasePackages = "hello.proxy.app") //주의
 public class ProxyApplication {
 
@@ -28,6 +64,47 @@ public class ProxyApplication {
 
 	@Bean
 	public LogTrace logTrace() {
-		return new ThreadLocalLogTrace();
+		//return new AsyncLogTrace(AsyncLogTrace.DEFAULT_BUFFER_SIZE, BackPressurePolicy.DROP_AND_COUNT);//로그 출력을 백그라운드 스레드로 넘긴다. 컨텍스트 종료시 close() 로 flush
+		//return new JournalLogTrace("trace-journal");//텍스트 대신 바이너리 저널에 기록, ./gradlew renderTraceJournal 로 출력
+		//return new AggregateLogTrace();//요청 하나의 span 트리를 JSON 한 줄로 출력
+		//return new CarrierLogTrace(spanCostAggregator(), traceSampler(), spanLatencyRecorder());//span 당 ThreadLocal 접근 1번, 나머지는 ThreadLocalLogTrace 와 같다.
+		//return new TailSamplingLogTrace(1500);//1.5초 이상 걸렸거나 예외가 발생한 요청만 출력
+		return new ThreadLocalLogTrace(spanCostAggregator(), traceSampler(), spanLatencyRecorder());
+	}
+
+	@Bean
+	public SpanLatencyRecorder spanLatencyRecorder() {
+		return new SpanLatencyRecorder();//10초 구간, 최대 5분 윈도우
+	}
+
+	@Bean
+	public TraceLatencyController traceLatencyController() {
+		return new TraceLatencyController(spanLatencyRecorder());
+	}
+
+	@Bean
+	public TraceSampler traceSampler() {
+		//return new TraceSampler(0.01, 100);//요청의 1% 만, 초당 최대 100건까지 기록
+		return TraceSampler.always();
+	}
+
+	@Bean
+	public TraceSamplingController traceSamplingController() {
+		return new TraceSamplingController(traceSampler());
+	}
+
+	@Bean
+	public TraceLevelController traceLevelController() {
+		return new TraceLevelController();//POST /trace/level?level=OFF 로 재시작 없이 추적 끄기
+	}
+
+	@Bean
+	public SpanCostAggregator spanCostAggregator() {
+		return new SpanCostAggregator();
+	}
+
+	@Bean
+	public TraceCostController traceCostController() {
+		return new TraceCostController(spanCostAggregator());
 	}
 }
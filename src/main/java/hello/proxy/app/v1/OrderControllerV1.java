@@ -1,11 +1,14 @@
 package hello.proxy.app.v1;
 
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@link RequestMapping}
  * : 스프링 MVC 는 {@link Controller} 또는 {@link RequestMapping} 애노테이션이 타입에 있어야 스프링 컨트롤러로 인식한다.
@@ -17,11 +20,14 @@ import org.springframework.web.servlet.mvc.Controller;
  * request()는 LogTrace 를 적용할 대상이고,
  * noLog()는 LogTrace 를 적용하지 않을 대상이다.
  */
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 @RequestMapping//스프링은 @Controller 또는 @RequestMapping 이 있어야 스프링 컨트롤러로 인식
 @ResponseBody
 public interface OrderControllerV1 {
     @GetMapping("/v1/request")
     String request(@RequestParam("itemId") String itemId);//인터페이스에서 @RequestParam 사용시 param 의 key 값을 명시해주어야 오류가 생길 소지가 없다.
+    @GetMapping("/v1/request-async")
+    CompletableFuture<String> requestAsync(@RequestParam("itemId") String itemId);//톰캣 스레드는 바로 반환, future 가 완료되면 응답
     @GetMapping("/v1/no-log")
     String noLog();
 }
@@ -2,6 +2,8 @@ package hello.proxy.app.v1;
 
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OrderControllerV1Impl implements OrderControllerV1 {
     private final OrderServiceV1 service;
 
@@ -15,6 +17,11 @@ public class OrderControllerV1Impl implements OrderControllerV1 {
         return "ok";
     }
 
+    @Override
+    public CompletableFuture<String> requestAsync(String itemId) {
+        return service.orderItemAsync(itemId).thenApply(ignored -> "ok");
+    }
+
     @Override
     public String noLog() {
         return "ok";
@@ -0,0 +1,38 @@
+package hello.proxy.app.v1;
+
+import hello.proxy.orderlog.OrderLog;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 주문을 {@link OrderLog} 에 기록한다. 디스크 반영 시점은 OrderLog 의 FsyncPolicy 를 따른다.
+ */
+public class OrderLogRepositoryV1 implements OrderRepositoryV1 {
+
+    private final OrderLog orderLog;
+
+    public OrderLogRepositoryV1(OrderLog orderLog) {
+        this.orderLog = orderLog;
+    }
+
+    @Override
+    public void save(String itemId) {
+        if ("ex".equals(itemId)) {
+            throw new IllegalArgumentException("예외 발생");
+        }
+        orderLog.append(itemId);
+    }
+
+    /**
+     * 기록이 mmap 쓰기라서 호출 스레드에서 바로 처리하고 완료된 future 를 리턴한다.
+     */
+    @Override
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        try {
+            save(itemId);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
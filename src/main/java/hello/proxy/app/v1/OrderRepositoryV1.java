@@ -1,5 +1,11 @@
 package hello.proxy.app.v1;
 
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
+
+import java.util.concurrent.CompletableFuture;
+
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 public interface OrderRepositoryV1 {
     void save(String itemId);
+    CompletableFuture<Void> saveAsync(String itemId);
 }
\ No newline at end of file
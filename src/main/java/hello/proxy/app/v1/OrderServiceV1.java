@@ -1,5 +1,11 @@
 package hello.proxy.app.v1;
 
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
+
+import java.util.concurrent.CompletableFuture;
+
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 public interface OrderServiceV1 {
     void orderItem(String itemId);
+    CompletableFuture<Void> orderItemAsync(String itemId);
 }
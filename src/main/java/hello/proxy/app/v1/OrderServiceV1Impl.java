@@ -2,6 +2,8 @@ package hello.proxy.app.v1;
 
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OrderServiceV1Impl implements OrderServiceV1 {
     private final OrderRepositoryV1 repository;
 
@@ -13,4 +15,9 @@ public class OrderServiceV1Impl implements OrderServiceV1 {
     public void orderItem(String itemId) {
         repository.save(itemId);
     }
+
+    @Override
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        return repository.saveAsync(itemId);
+    }
 }
@@ -1,10 +1,14 @@
 package hello.proxy.app.v2;
 
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.concurrent.CompletableFuture;
+
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 @RequestMapping//사용 이유, @Controller 사용 시 자등으로 component scan 대상이 되므로 수동 빈 등록에 영향이 가지 않도록 하기 위해ㅐ
 @ResponseBody
 public class OrderControllerV2 {
@@ -20,6 +24,11 @@ public class OrderControllerV2 {
         return "ok";
     }
 
+    @GetMapping("/v2/request-async")
+    public CompletableFuture<String> requestAsync(@RequestParam String itemId) {
+        return service.orderItemAsync(itemId).thenApply(ignored -> "ok");//톰캣 스레드는 바로 반환, future 가 완료되면 응답
+    }
+
     @GetMapping("/v2/no-log")
     public String noLog() {
         return "ok";
@@ -1,15 +1,59 @@
 package hello.proxy.app.v2;
 
+import hello.proxy.batch.GroupCommitWriter;
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
 import org.springframework.stereotype.Repository;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 public class OrderRepositoryV2 {
+    private static final Executor DELAYED = CompletableFuture.delayedExecutor(1000, TimeUnit.MILLISECONDS);
+
+    private final GroupCommitWriter writer;//null 이면 호출마다 1초씩 기록한다.
+
+    public OrderRepositoryV2() {
+        this(null);
+    }
+
+    /**
+     * @param writer null 이 아니면 동시에 들어온 save 를 묶어서 한번의 쓰기로 기록한다. (group commit)
+     */
+    public OrderRepositoryV2(GroupCommitWriter writer) {
+        this.writer = writer;
+    }
+
     public void save(String itemId) {
         if ("ex".equals(itemId)) {
             throw new IllegalArgumentException("예외 발생");
         }
+        if (writer != null) {
+            writer.write(itemId);//배치가 기록될 때까지 기다린다.
+            return;
+        }
         sleep(1000);
     }
 
+    /**
+     * save 의 비동기 버전, 1초 지연을 스레드를 재우지 않고 스케줄러로 처리한다.
+     * : 호출 스레드는 바로 리턴하고, 1초 뒤 스케줄러가 공용 풀에서 future 를 완료한다.
+     */
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        if (writer != null) {
+            if ("ex".equals(itemId)) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("예외 발생"));//배치에 넣지 않고 바로 실패
+            }
+            return writer.submit(itemId);
+        }
+        return CompletableFuture.runAsync(() -> {
+            if ("ex".equals(itemId)) {
+                throw new IllegalArgumentException("예외 발생");
+            }
+        }, DELAYED);
+    }
+
     private static void sleep(int millis) {
         try {
             Thread.sleep(millis);
@@ -1,7 +1,11 @@
 package hello.proxy.app.v2;
 
 import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
 
+import java.util.concurrent.CompletableFuture;
+
+@GenerateLogTraceProxy//컴파일 시점에 LogTrace 프록시 생성
 public class OrderServiceV2 {
 
     private final OrderRepositoryV2 repository;
@@ -13,4 +17,8 @@ public class OrderServiceV2 {
     public void orderItem(String itemId) {
         repository.save(itemId);
     }
+
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        return repository.saveAsync(itemId);
+    }
 }
@@ -5,6 +5,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 public class OrderControllerV3 {
     private final OrderServiceV3 service;
@@ -19,6 +21,11 @@ public class OrderControllerV3 {
         return "ok";
     }
 
+    @GetMapping("/v3/request-async")
+    public CompletableFuture<String> requestAsync(@RequestParam("itemId") String itemId) {
+        return service.orderItemAsync(itemId).thenApply(ignored -> "ok");//톰캣 스레드는 바로 반환, future 가 완료되면 응답
+    }
+
     @GetMapping("/v3/no-log")
     public String noLog() {
         return "ok";
@@ -2,6 +2,8 @@ package hello.proxy.app.v3;
 
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class OrderServiceV3 {
 
@@ -14,4 +16,8 @@ public class OrderServiceV3 {
     public void orderItem(String itemId) {
         repository.save(itemId);
     }
+
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        return repository.saveAsync(itemId);
+    }
 }
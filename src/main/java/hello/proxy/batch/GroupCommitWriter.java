@@ -0,0 +1,163 @@
+package hello.proxy.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시에 들어온 save 를 모아서 한번의 쓰기로 기록한다. (group commit)
+ * : 배치의 첫 항목이 들어오면 windowMs 뒤에 배치를 닫는다. 그 전에 maxBatchSize 개가 모이면 바로 닫는다.
+ * : 닫힌 배치는 항목 수와 상관없이 한번의 I/O(writeMs) 로 기록하고, 기록이 끝나면 배치의 호출자를 모두 완료한다.
+ * : I/O 는 스레드를 재우지 않고 스케줄러로 지연시킨다.
+ * : 배치만 담당한다. 항목 검증("ex" 등)은 호출하는 repository 가 submit 전에 한다.
+ * : 스프링 빈으로 등록하면 컨텍스트 종료 시점에 {@link #close()} 가 호출되어 모으던 배치를 바로 기록한다.
+ */
+@Slf4j
+public class GroupCommitWriter implements AutoCloseable {
+
+    public static final long DEFAULT_WRITE_MS = 1000;
+
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Executor io;
+    private final ScheduledExecutorService timer;
+    private final LongAdder commitCount = new LongAdder();
+    private final LongAdder itemCount = new LongAdder();
+    private Batch current;//모으는 중인 배치, this 로 동기화
+    private boolean closed;
+
+    public GroupCommitWriter(long windowMs, int maxBatchSize) {
+        this(windowMs, maxBatchSize, DEFAULT_WRITE_MS);
+    }
+
+    /**
+     * @param windowMs 첫 항목부터 배치를 닫을 때까지 기다리는 시간
+     * @param maxBatchSize 이 개수가 모이면 windowMs 전이라도 배치를 닫는다.
+     * @param writeMs 배치 한번을 기록하는 I/O 시간
+     */
+    public GroupCommitWriter(long windowMs, int maxBatchSize, long writeMs) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize 는 1 이상이어야 합니다. maxBatchSize=" + maxBatchSize);
+        }
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.io = CompletableFuture.delayedExecutor(writeMs, TimeUnit.MILLISECONDS);
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "group-commit-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return 항목이 포함된 배치가 기록되면 완료되는 future
+     */
+    public CompletableFuture<Void> submit(String itemId) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Batch full = null;
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("GroupCommitWriter 가 종료되었습니다."));
+                return future;
+            }
+            if (current == null) {
+                Batch batch = new Batch();
+                batch.window = timer.schedule(() -> closeWindow(batch), windowMs, TimeUnit.MILLISECONDS);
+                current = batch;
+            }
+            current.add(itemId, future);
+            if (current.size() >= maxBatchSize) {
+                full = current;
+                current = null;
+            }
+        }
+        if (full != null) {
+            full.window.cancel(false);
+            commit(full);
+        }
+        return future;
+    }
+
+    /**
+     * 배치가 기록될 때까지 기다린다. 실패하면(종료된 뒤 호출 등) 원래 예외를 던진다.
+     */
+    public void write(String itemId) {
+        try {
+            submit(itemId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public long getCommitCount() {
+        return commitCount.sum();
+    }
+
+    public long getItemCount() {
+        return itemCount.sum();
+    }
+
+    @Override
+    public void close() {
+        Batch pending;
+        synchronized (this) {
+            closed = true;
+            pending = current;
+            current = null;
+        }
+        timer.shutdownNow();
+        if (pending != null) {
+            commit(pending);
+        }
+    }
+
+    private void closeWindow(Batch batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return;//maxBatchSize 로 이미 닫힌 배치
+            }
+            current = null;
+        }
+        commit(batch);
+    }
+
+    private void commit(Batch batch) {
+        CompletableFuture.runAsync(() -> complete(batch), io);//배치 하나당 I/O 한번
+    }
+
+    private void complete(Batch batch) {
+        commitCount.increment();
+        itemCount.add(batch.size());
+        log.debug("group commit size={}", batch.size());
+        for (CompletableFuture<Void> future : batch.futures) {
+            future.complete(null);
+        }
+    }
+
+    private static class Batch {
+        private final List<String> itemIds = new ArrayList<>();
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        private ScheduledFuture<?> window;
+
+        private void add(String itemId, CompletableFuture<Void> future) {
+            itemIds.add(itemId);
+            futures.add(future);
+        }
+
+        private int size() {
+            return itemIds.size();
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package hello.proxy.config;
 
 import hello.proxy.app.v1.*;
+import hello.proxy.batch.GroupCommitWriter;
+import hello.proxy.orderlog.OrderLog;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class AppV1Config {
 
+    private final ObjectProvider<GroupCommitWriter> writer;//GroupCommitConfig 를 import 하면 save 를 묶어서 기록
+    private final ObjectProvider<OrderLog> orderLog;//OrderLogConfig 를 import 하면 append-only 로그에 기록
+
+    public AppV1Config(ObjectProvider<GroupCommitWriter> writer, ObjectProvider<OrderLog> orderLog) {
+        this.writer = writer;
+        this.orderLog = orderLog;
+    }
+
     @Bean
     public OrderControllerV1 orderControllerV1() {
         return new OrderControllerV1Impl(orderServiceV1());
@@ -19,7 +30,11 @@ public class AppV1Config {
 
     @Bean
     public OrderRepositoryV1 orderRepositoryV1() {
-        return new OrderRepositoryV1Impl();
+        OrderLog log = orderLog.getIfAvailable();
+        if (log != null) {
+            return new OrderLogRepositoryV1(log);
+        }
+        return new OrderRepositoryV1Impl(writer.getIfAvailable());
     }
 
 }
@@ -3,11 +3,20 @@ package hello.proxy.config;
 import hello.proxy.app.v2.OrderControllerV2;
 import hello.proxy.app.v2.OrderRepositoryV2;
 import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.batch.GroupCommitWriter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class AppV2Config {
+
+    private final ObjectProvider<GroupCommitWriter> writer;//GroupCommitConfig 를 import 하면 save 를 묶어서 기록
+
+    public AppV2Config(ObjectProvider<GroupCommitWriter> writer) {
+        this.writer = writer;
+    }
+
     @Bean
     public OrderControllerV2 orderControllerV2() {
         return new OrderControllerV2(orderServiceV2());
@@ -18,6 +27,6 @@ public class AppV2Config {
     }
     @Bean
     public OrderRepositoryV2 orderRepositoryV2() {
-        return new OrderRepositoryV2();
+        return new OrderRepositoryV2(writer.getIfAvailable());
     }
 }
@@ -0,0 +1,19 @@
+package hello.proxy.config.batch;
+
+import hello.proxy.batch.GroupCommitWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 주문 저장을 group commit 으로 기록한다.
+ * : AppV1Config, AppV2Config, OrderRepositoryV3 가 GroupCommitWriter 빈이 있으면 사용한다.
+ * : 프록시 설정(AopConfig 등)과 같이 import 한다. 설정 안에서 repository 를 직접 만드는 수동 프록시 설정에는 적용되지 않는다.
+ */
+@Configuration
+public class GroupCommitConfig {
+
+    @Bean
+    public GroupCommitWriter groupCommitWriter() {
+        return new GroupCommitWriter(10, 100);//10ms 동안 또는 100건까지 모아서 1초에 한번 기록
+    }
+}
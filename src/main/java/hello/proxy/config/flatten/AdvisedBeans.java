@@ -0,0 +1,51 @@
+package hello.proxy.config.flatten;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 이미 프록시인 빈(ProxyFactory 로 만든 {@link Advised})에 advisor 를 추가한다.
+ * : 프록시를 한번 더 감싸면 client -> proxy2 -> proxy1 -> target 으로 호출이 중첩된다. (MultiAdvisorTest)
+ *   기존 프록시의 advisor 체인에 합치면 client -> proxy1(advisor2, advisor1) -> target 으로 프록시 하나만 거친다.
+ * : 새 advisor 는 체인 앞에 넣는다. 감쌌을 때처럼 나중에 적용한 advisor 가 먼저 실행된다.
+ * : 이미 체인에 있는 advisor 는 다시 넣지 않는다.
+ */
+public final class AdvisedBeans {
+
+    private AdvisedBeans() {
+    }
+
+    /**
+     * advisor 체인을 바꿀 수 있는 프록시인지, frozen 이면 체인을 바꿀 수 없으므로 감싸야 한다.
+     */
+    public static boolean canMerge(Object bean) {
+        return bean instanceof Advised && !((Advised) bean).isFrozen()
+                && ((Advised) bean).getTargetSource().getTargetClass() != null;
+    }
+
+    /**
+     * 포인트컷 매칭에 사용할 실제 target 클래스 (프록시 클래스가 아니라)
+     */
+    public static Class<?> targetClass(Object bean) {
+        return ((Advised) bean).getTargetSource().getTargetClass();
+    }
+
+    /**
+     * @return 새로 추가한 advisor, 모두 이미 있으면 빈 목록
+     */
+    public static List<Advisor> merge(Object bean, List<Advisor> advisors) {
+        Advised advised = (Advised) bean;
+        List<Advisor> added = new ArrayList<>(advisors.size());
+        for (Advisor advisor : advisors) {
+            if (advised.indexOf(advisor) < 0) {
+                advised.addAdvisor(added.size(), advisor);
+                added.add(advisor);
+            }
+        }
+        return added.isEmpty() ? Collections.emptyList() : added;
+    }
+}
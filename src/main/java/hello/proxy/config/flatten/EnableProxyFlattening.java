@@ -0,0 +1,20 @@
+package hello.proxy.config.flatten;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 어떤 프록시 설정(@Import)을 선택하든 함께 적용되도록 애플리케이션 클래스에 붙인다.
+ * : @EnableProxyStartupReport, FixedAdvisorAutoProxyConfig 와 함께 사용할 수 있다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(ProxyFlatteningConfig.class)
+public @interface EnableProxyFlattening {
+}
@@ -0,0 +1,94 @@
+package hello.proxy.config.flatten;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.aop.framework.AopProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 이미 프록시인 빈은 감싸지 않고 기존 프록시의 advisor 체인에 합치는 자동 프록시 생성기
+ * : 예) ProxyFactoryConfigV2 가 만든 프록시 빈에 AutoProxyConfig 의 Advisor 빈, LogTraceAspect 가 적용될 때
+ * : 포인트컷은 프록시 클래스가 아니라 기존 프록시의 target 클래스로 매칭한다.
+ * : 합친 빈은 {@link #flattened(String, Object, Class, List)} 로 알린다.
+ * : aopProxyFactory 를 지정하면 새로 만드는 프록시에 사용한다. 예) FixedAdvisorAopProxyFactory
+ * : 다른 registrar(TimedAutoProxyCreatorRegistrar, FixedAdvisorAutoProxyRegistrar)도 이 클래스(하위 클래스)로 바꾸므로
+ *   합치기는 flatten 속성으로 켠다. 빈 정의는 {@link FlatteningAutoProxyCreatorRegistrar}(@EnableProxyFlattening) 만 켠다.
+ */
+@Slf4j
+public class FlatteningAspectJAutoProxyCreator extends AnnotationAwareAspectJAutoProxyCreator {
+
+    public static final String FLATTEN_PROPERTY = "flatten";
+
+    private boolean flatten = true;
+    private AopProxyFactory aopProxyFactory;//null 이면 스프링 기본(DefaultAopProxyFactory)
+
+    public void setFlatten(boolean flatten) {
+        this.flatten = flatten;
+    }
+
+    public void setAopProxyFactory(AopProxyFactory aopProxyFactory) {
+        this.aopProxyFactory = aopProxyFactory;
+    }
+
+    /**
+     * 자동 프록시 생성기 빈 정의의 클래스가 이 클래스이거나 하위 클래스인지 확인한다.
+     */
+    public static boolean isBeanClassOf(BeanDefinition definition, ClassLoader classLoader) {
+        String beanClassName = definition.getBeanClassName();
+        return beanClassName != null && ClassUtils.isPresent(beanClassName, classLoader)
+                && FlatteningAspectJAutoProxyCreator.class.isAssignableFrom(ClassUtils.resolveClassName(beanClassName, classLoader));
+    }
+
+    /**
+     * 자동 프록시 생성기 빈 정의의 클래스를 type 으로 바꾼다.
+     * : flatten 은 먼저 켠 registrar 가 있으면 유지하고, 없으면 끈다. (registrar 실행 순서와 관계없이 @EnableProxyFlattening 일 때만 합친다.)
+     */
+    public static void replaceBeanClass(BeanDefinition definition, Class<? extends FlatteningAspectJAutoProxyCreator> type) {
+        definition.setBeanClassName(type.getName());
+        MutablePropertyValues propertyValues = definition.getPropertyValues();
+        if (!propertyValues.contains(FLATTEN_PROPERTY)) {
+            propertyValues.add(FLATTEN_PROPERTY, false);
+        }
+    }
+
+    @Override
+    protected Object wrapIfNecessary(Object bean, String beanName, Object cacheKey) {
+        if (!flatten || !AdvisedBeans.canMerge(bean)) {
+            return super.wrapIfNecessary(bean, beanName, cacheKey);
+        }
+        Class<?> targetClass = AdvisedBeans.targetClass(bean);
+        if (isInfrastructureClass(targetClass) || shouldSkip(targetClass, beanName)) {
+            return bean;
+        }
+        Object[] specificInterceptors = getAdvicesAndAdvisorsForBean(targetClass, beanName, null);
+        if (specificInterceptors == DO_NOT_PROXY) {
+            return bean;
+        }
+        List<Advisor> added = AdvisedBeans.merge(bean, Arrays.asList(buildAdvisors(beanName, specificInterceptors)));
+        if (!added.isEmpty()) {
+            log.info("flatten proxy: beanName={} target={} advisors={}", beanName, targetClass.getName(), added.size());
+            flattened(beanName, bean, targetClass, added);
+        }
+        return bean;
+    }
+
+    @Override
+    protected void customizeProxyFactory(ProxyFactory proxyFactory) {
+        if (aopProxyFactory != null) {
+            proxyFactory.setAopProxyFactory(aopProxyFactory);
+        }
+    }
+
+    /**
+     * 기존 프록시에 advisor 를 합쳤을 때 호출된다.
+     */
+    protected void flattened(String beanName, Object bean, Class<?> targetClass, List<Advisor> added) {
+    }
+}
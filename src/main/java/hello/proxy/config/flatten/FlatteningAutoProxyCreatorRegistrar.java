@@ -0,0 +1,31 @@
+package hello.proxy.config.flatten;
+
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * 스프링 부트(AopAutoConfiguration)가 등록한 자동 프록시 생성기가 이미 프록시인 빈에 advisor 를 합치게 한다.
+ * : 기본 생성기({@link AnnotationAwareAspectJAutoProxyCreator})면 {@link FlatteningAspectJAutoProxyCreator} 로 클래스 이름만 바꾼다.
+ * : 다른 registrar 가 이미 하위 클래스로 바꿨으면(TimedAspectJAutoProxyCreator 등) 클래스는 그대로 두고 flatten 속성만 켠다.
+ * : 그 외의 생성기(InfrastructureAdvisorAutoProxyCreator 등)는 바꾸지 않는다.
+ */
+public class FlatteningAutoProxyCreatorRegistrar implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!beanFactory.containsBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)) {
+            return;
+        }
+        BeanDefinition definition = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        if (AnnotationAwareAspectJAutoProxyCreator.class.getName().equals(definition.getBeanClassName())) {
+            definition.setBeanClassName(FlatteningAspectJAutoProxyCreator.class.getName());
+        } else if (!FlatteningAspectJAutoProxyCreator.isBeanClassOf(definition, beanFactory.getBeanClassLoader())) {
+            return;
+        }
+        definition.getPropertyValues().add(FlatteningAspectJAutoProxyCreator.FLATTEN_PROPERTY, true);
+    }
+}
@@ -0,0 +1,18 @@
+package hello.proxy.config.flatten;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 이미 프록시인 빈에 자동 프록시 생성기의 advisor 를 합친다. ({@link FlatteningAspectJAutoProxyCreator})
+ * : 빈 팩토리 후처리기는 설정 클래스보다 먼저 생성되어야 하므로 static 으로 등록한다.
+ */
+@Configuration
+public class ProxyFlatteningConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor flatteningAutoProxyCreatorRegistrar() {
+        return new FlatteningAutoProxyCreatorRegistrar();
+    }
+}
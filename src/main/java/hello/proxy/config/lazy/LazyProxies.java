@@ -0,0 +1,74 @@
+package hello.proxy.config.lazy;
+
+import hello.proxy.config.v3_proxyfactory.pregenerated.CglibProxyClasses;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyConfig;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * 첫 호출 때 실제 프록시를 만드는 placeholder 를 만든다.
+ * : 애플리케이션 로딩 시점에는 포인트컷 매칭, ProxyFactory 설정, CGLIB 클래스 생성을 하지 않는다.
+ *   자주 쓰이지 않는 빈은 프록시 클래스를 만들지 않으므로 Metaspace 도 사용하지 않는다.
+ * : placeholder 종류, 실제 프록시와 같은 기준({@link ProxyConfig#isProxyTargetClass()})으로 고른다.
+ *   1. proxyTargetClass 가 false 이고 인터페이스가 있으면 JDK 동적 프록시 (같은 인터페이스 조합이면 JDK 가 클래스를 재사용한다.)
+ *   2. 그 외에는 고정 이름의 CGLIB 프록시 클래스 (-PcglibProxies 로 빌드하면 미리 생성한 클래스, 없으면 런타임에 생성)
+ *   3. final 클래스는 placeholder 를 만들 수 없으므로 바로 프록시를 만든다.
+ * : 실제 프록시가 만들어진 뒤에도 placeholder -> 실제 프록시 로 한번 더 리플렉션 호출을 거친다.
+ */
+@Slf4j
+public final class LazyProxies {
+
+    private LazyProxies() {
+    }
+
+    /**
+     * new ProxyFactory(target) 와 같은 기본 설정, 인터페이스가 있으면 JDK 동적 프록시
+     */
+    public static <T> T proxy(T target, Advisor... advisors) {
+        return proxy(new ProxyConfig(), target, advisors);
+    }
+
+    /**
+     * @param config proxyTargetClass 등 실제 프록시에 적용할 설정
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T proxy(ProxyConfig config, T target, Advisor... advisors) {
+        Class<?> targetClass = target.getClass();
+        LazyProxyTarget lazyTarget = new LazyProxyTarget(target, List.of(advisors), config);
+
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(targetClass, targetClass.getClassLoader());
+        if (!config.isProxyTargetClass() && interfaces.length > 0) {
+            return (T) Proxy.newProxyInstance(targetClass.getClassLoader(), interfaces, lazyTarget);
+        }
+        if (!Modifier.isFinal(targetClass.getModifiers())) {
+            return (T) CglibProxyClasses.newInstance(targetClass, lazyTarget);
+        }
+        log.info("placeholder 를 만들 수 없어 바로 프록시를 만듭니다. target={}", targetClass.getName());
+        return (T) lazyTarget.resolve();
+    }
+
+    /**
+     * placeholder 의 실제 프록시가 만들어졌는지 확인한다. placeholder 가 아니면 true
+     */
+    public static boolean isResolved(Object proxy) {
+        LazyProxyTarget lazyTarget = lazyTarget(proxy);
+        return lazyTarget == null || lazyTarget.isResolved();
+    }
+
+    private static LazyProxyTarget lazyTarget(Object proxy) {
+        if (Proxy.isProxyClass(proxy.getClass()) && Proxy.getInvocationHandler(proxy) instanceof LazyProxyTarget) {
+            return (LazyProxyTarget) Proxy.getInvocationHandler(proxy);
+        }
+        if (proxy instanceof Factory
+                && ((Factory) proxy).getCallback(0) instanceof LazyProxyTarget) {
+            return (LazyProxyTarget) ((Factory) proxy).getCallback(0);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package hello.proxy.config.lazy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aop.framework.ProxyProcessorSupport;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 자동 프록시 생성기처럼 advisor 를 빈에 적용하지만, 로딩 시점에는 ClassFilter 만 확인하고 placeholder 를 등록한다.
+ * : 메서드별 포인트컷 매칭과 프록시 생성은 빈이 처음 호출될 때 한다. ({@link LazyProxies})
+ * : advisor 는 스프링 빈으로 등록하지 않는다. 빈으로 등록하면 스프링 부트의 자동 프록시 생성기가 바로 프록시를 만든다.
+ * : proxyTargetClass 등 프록시 설정은 이 빈 후처리기의 설정을 placeholder, 실제 프록시에 모두 적용한다.
+ */
+@Slf4j
+public class LazyProxyPostProcessor extends ProxyProcessorSupport implements BeanPostProcessor {
+
+    private final Advisor[] advisors;
+
+    public LazyProxyPostProcessor(Advisor... advisors) {
+        this.advisors = advisors;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (isInfrastructure(bean) || !classFilterMatches(bean.getClass())) {
+            return bean;
+        }
+        Object placeholder = LazyProxies.proxy(this, bean, advisors);
+        log.info("lazy proxy placeholder: beanName={} placeholder={}", beanName, placeholder.getClass());
+        return placeholder;
+    }
+
+    private boolean classFilterMatches(Class<?> beanClass) {
+        for (Advisor advisor : advisors) {
+            if (!(advisor instanceof PointcutAdvisor)
+                    || ((PointcutAdvisor) advisor).getPointcut().getClassFilter().matches(beanClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInfrastructure(Object bean) {
+        return bean instanceof Advice || bean instanceof Advisor || bean instanceof Pointcut || bean instanceof AopInfrastructureBean;
+    }
+}
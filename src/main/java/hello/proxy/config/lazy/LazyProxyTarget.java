@@ -0,0 +1,119 @@
+package hello.proxy.config.lazy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.ProxyConfig;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * placeholder 의 호출을 받아서 실제 프록시로 넘긴다. 실제 프록시는 첫 호출 때 만든다.
+ * : 이때 포인트컷을 모든 메서드에 매칭해보고, 적용할 advisor 가 없으면 target 을 그대로 사용한다.
+ * : 실제 프록시에는 placeholder 를 고를 때 사용한 설정(proxyTargetClass 등)을 그대로 적용한다.
+ * : equals, hashCode, toString 은 실제 프록시를 만들지 않는다. (로그, 컬렉션 등록 등으로 프록시가 만들어지지 않도록)
+ * : CGLIB placeholder 의 Advised 메서드는 실제 프록시의 설정 정보로 응답한다. advisor 가 없어 target 을 그대로 쓰면 target 만 담은 설정이다.
+ */
+@Slf4j
+class LazyProxyTarget implements InvocationHandler, MethodInterceptor {
+
+    private final Object target;
+    private final List<Advisor> advisors;
+    private final ProxyConfig config;
+    private volatile Object resolved;
+
+    LazyProxyTarget(Object target, List<Advisor> advisors, ProxyConfig config) {
+        this.target = target;
+        this.advisors = advisors;
+        this.config = config;
+    }
+
+    /**
+     * JDK 동적 프록시 placeholder
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return dispatch(proxy, method, args);
+    }
+
+    /**
+     * 미리 생성한 CGLIB 프록시 클래스 placeholder
+     */
+    @Override
+    public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        return dispatch(proxy, method, args);
+    }
+
+    boolean isResolved() {
+        return resolved != null;
+    }
+
+    Object resolve() {
+        Object result = resolved;
+        if (result == null) {
+            synchronized (this) {
+                result = resolved;
+                if (result == null) {
+                    result = createProxy();
+                    resolved = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Object dispatch(Object proxy, Method method, Object[] args) throws Throwable {
+        if (ReflectionUtils.isEqualsMethod(method)) {
+            return proxy == args[0];
+        }
+        if (ReflectionUtils.isHashCodeMethod(method)) {
+            return System.identityHashCode(proxy);
+        }
+        if (ReflectionUtils.isToStringMethod(method)) {
+            return target.toString();
+        }
+        if (method.getDeclaringClass().isInterface() && method.getDeclaringClass().isAssignableFrom(Advised.class)) {
+            return AopUtils.invokeJoinpointUsingReflection(advised(), method, args);
+        }
+        return AopUtils.invokeJoinpointUsingReflection(resolve(), method, args);
+    }
+
+    private Advised advised() {
+        Object result = resolve();
+        if (result instanceof Advised) {
+            return (Advised) result;
+        }
+        AdvisedSupport config = new AdvisedSupport();
+        config.setTarget(result);
+        config.setFrozen(true);
+        return config;
+    }
+
+    private Object createProxy() {
+        List<Advisor> eligible = AopUtils.findAdvisorsThatCanApply(advisors, target.getClass());
+        if (eligible.isEmpty()) {
+            log.info("lazy proxy resolved: no advisor target={}", target.getClass().getName());
+            return target;
+        }
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisors(eligible);
+        factory.copyFrom(config);//frozen 이 복사될 수 있으므로 advisor 를 넣은 뒤에 복사한다.
+        Object proxy = factory.getProxy();
+        log.info("lazy proxy resolved: target={} proxy={} advisors={}", target.getClass().getName(), proxy.getClass(), eligible.size());
+        return proxy;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyProxyTarget{target=" + target.getClass().getName() + ", advisors=" + Arrays.toString(advisors.toArray()) + "}";
+    }
+}
@@ -0,0 +1,23 @@
+package hello.proxy.config.orderlog;
+
+import hello.proxy.orderlog.FsyncPolicy;
+import hello.proxy.orderlog.OrderLog;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * V1 주문을 메모리 맵 append-only 로그(order-log 디렉토리)에 기록한다.
+ * : AppV1Config 가 OrderLog 빈이 있으면 OrderLogRepositoryV1 을 사용한다. GroupCommitWriter 보다 우선한다.
+ * : 시작할 때 기존 로그를 읽어 itemId 인덱스를 다시 만든다. 복구 시간은 시작 로그에 남는다.
+ * : 압축하지 않는다. 압축하면 itemId 별 최신 주문만 남아서 같은 itemId 의 반복 주문이 지워진다. (OrderLog 참고)
+ */
+@Configuration
+public class OrderLogConfig {
+
+    @Bean
+    public OrderLog orderLog() {
+        return new OrderLog(Paths.get("order-log"), OrderLog.DEFAULT_SEGMENT_SIZE, FsyncPolicy.PERIODIC, 1000, 0);//1초마다 fsync, 압축하지 않음
+    }
+}
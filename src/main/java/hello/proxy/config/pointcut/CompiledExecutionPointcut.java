@@ -0,0 +1,227 @@
+package hello.proxy.config.pointcut;
+
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * execution 표현식의 자주 쓰는 부분 집합을 직접 비교하는 포인트컷, AspectJ weaver 의 shadow matching 을 거치지 않는다.
+ * : 지원: execution(...) 를 && 로 연결하고 ! 로 제외하는 표현식
+ *   예) execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))
+ * : 선언 타입은 {@link TypeTrie} 로 후보 패턴을 먼저 추리고, 메서드 이름은 {@link NamePattern} 으로 비교한다.
+ * : 지원하지 않는 표현식은 {@link ExecutionPointcuts#of(String)} 가 AspectJExpressionPointcut 으로 처리한다.
+ * : 메서드 매칭 결과는 (메서드, target 클래스) 별로 캐시한다. AspectJExpressionPointcut 의 shadow matching 캐시와 같은 역할이다.
+ *
+ * AspectJ 와 같은 기준: 메서드는 target 클래스의 가장 구체적인 메서드로 바꾼 뒤,
+ * 그 메서드를 선언한 타입이나 같은 시그니처를 선언한 상위 타입(인터페이스 포함) 중 하나라도 선언 타입 패턴에 맞으면 맞는 것으로 본다.
+ */
+public class CompiledExecutionPointcut implements Pointcut, ClassFilter, MethodMatcher {
+
+    private static final ClassValue<String[]> SEGMENTS = new ClassValue<>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            return type.getName().replace('$', '.').split("\\.");
+        }
+    };
+
+    private final String expression;
+    private final ExecutionPattern[] patterns;
+    private final long includeMask;
+    private final TypeTrie trie = new TypeTrie();
+    private final Map<MethodClassKey, Boolean> methodMatches = new ConcurrentHashMap<>();
+
+    private CompiledExecutionPointcut(String expression, List<ExecutionPattern> patterns, long includeMask) {
+        this.expression = expression;
+        this.patterns = patterns.toArray(new ExecutionPattern[0]);
+        this.includeMask = includeMask;
+        for (int i = 0; i < this.patterns.length; i++) {
+            trie.add(this.patterns[i].getDeclaringType().getLiteralPrefix(), i);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 표현식
+     */
+    public static CompiledExecutionPointcut compile(String expression) {
+        List<ExecutionPattern> patterns = new ArrayList<>();
+        long includeMask = 0;
+        for (String term : splitAnd(expression)) {
+            boolean exclude = term.startsWith("!");
+            String execution = exclude ? term.substring(1).trim() : term;
+            if (!execution.startsWith("execution(") || !execution.endsWith(")")) {
+                throw new IllegalArgumentException("지원하지 않는 포인트컷: " + term);
+            }
+            if (patterns.size() == TypeTrie.MAX_PATTERNS) {
+                throw new IllegalArgumentException("execution 은 최대 " + TypeTrie.MAX_PATTERNS + "개까지 지원합니다.");
+            }
+            if (!exclude) {
+                includeMask |= 1L << patterns.size();
+            }
+            patterns.add(ExecutionPattern.compile(execution.substring("execution(".length(), execution.length() - 1).trim()));
+        }
+        if (includeMask == 0) {
+            throw new IllegalArgumentException("포함 조건(execution)이 없습니다: " + expression);
+        }
+        return new CompiledExecutionPointcut(expression, patterns, includeMask);
+    }
+
+    /**
+     * 괄호 밖의 && 로 나눈다. ||, and, or, not 등은 나누지 않으므로 execution 파싱에서 실패한다.
+     */
+    private static List<String> splitAnd(String expression) {
+        List<String> terms = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && c == '&' && i + 1 < expression.length() && expression.charAt(i + 1) == '&') {
+                terms.add(expression.substring(start, i).trim());
+                start = i + 2;
+                i++;
+            }
+        }
+        terms.add(expression.substring(start).trim());
+        return terms;
+    }
+
+    @Override
+    public ClassFilter getClassFilter() {
+        return this;
+    }
+
+    @Override
+    public MethodMatcher getMethodMatcher() {
+        return this;
+    }
+
+    /**
+     * 포함 조건마다 클래스나 상위 타입 중 하나는 선언 타입 패턴에 맞아야 한다. (메서드는 보지 않으므로 넓게 통과시킨다.)
+     */
+    @Override
+    public boolean matches(Class<?> clazz) {
+        long remaining = includeMask;
+        for (Class<?> type : hierarchy(clazz)) {
+            remaining &= ~typeMatches(type, remaining);
+            if (remaining == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        Boolean matched = methodMatches.get(key);
+        if (matched == null) {
+            matched = methodMatches.computeIfAbsent(key, ignored -> matchesMethod(method, targetClass));
+        }
+        return matched;
+    }
+
+    private boolean matchesMethod(Method method, Class<?> targetClass) {
+        Method specificMethod = targetClass == null ? method : AopUtils.getMostSpecificMethod(method, targetClass);
+        long methodMask = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i].matchesMethod(specificMethod)) {
+                methodMask |= 1L << i;
+            }
+        }
+        if ((methodMask & includeMask) != includeMask) {
+            return false;
+        }
+        long matched = declaringTypeMatches(specificMethod, methodMask);
+        return (matched & includeMask) == includeMask && (matched & ~includeMask) == 0;
+    }
+
+    @Override
+    public boolean isRuntime() {
+        return false;
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass, Object... args) {
+        throw new UnsupportedOperationException("정적 포인트컷");
+    }
+
+    /**
+     * @param candidates 선언 타입을 비교할 패턴
+     * @return 메서드를 선언한 타입 중 하나가 선언 타입 패턴에 맞는 패턴
+     */
+    private long declaringTypeMatches(Method method, long candidates) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        long matched = typeMatches(declaringClass, candidates);
+        long remaining = candidates & ~matched;
+        if (remaining == 0) {
+            return matched;
+        }
+        for (Class<?> type : hierarchy(declaringClass)) {
+            if (type == declaringClass) {
+                continue;
+            }
+            long typeMatched = typeMatches(type, remaining);
+            if (typeMatched != 0 && declares(type, method)) {
+                matched |= typeMatched;
+                remaining &= ~typeMatched;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private long typeMatches(Class<?> type, long candidates) {
+        String[] segments = SEGMENTS.get(type);
+        long mask = trie.candidates(segments) & candidates;
+        long matched = 0;
+        while (mask != 0) {
+            int i = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            if (patterns[i].getDeclaringType().matchesRest(segments)) {
+                matched |= 1L << i;
+            }
+        }
+        return matched;
+    }
+
+    private static boolean declares(Class<?> type, Method method) {
+        for (Method declared : type.getDeclaredMethods()) {
+            if (declared.getName().equals(method.getName())
+                    && Arrays.equals(declared.getParameterTypes(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<Class<?>> hierarchy(Class<?> clazz) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            types.add(type);
+        }
+        types.addAll(ClassUtils.getAllInterfacesForClassAsSet(clazz));
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + ": " + expression;
+    }
+}
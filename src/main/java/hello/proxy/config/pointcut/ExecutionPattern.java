@@ -0,0 +1,77 @@
+package hello.proxy.config.pointcut;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * execution(...) 하나, 지원하는 모양: execution([public] * 선언타입패턴.이름패턴(..|))
+ * : 반환 타입은 '*', 파라미터는 (..) 또는 () 만 지원한다. 그 외는 IllegalArgumentException -> AspectJ 로 처리
+ */
+final class ExecutionPattern {
+
+    private final String expression;
+    private final boolean publicOnly;
+    private final TypePattern declaringType;
+    private final NamePattern name;
+    private final boolean noArgs;
+
+    private ExecutionPattern(String expression, boolean publicOnly, TypePattern declaringType, NamePattern name, boolean noArgs) {
+        this.expression = expression;
+        this.publicOnly = publicOnly;
+        this.declaringType = declaringType;
+        this.name = name;
+        this.noArgs = noArgs;
+    }
+
+    /**
+     * @param body execution( ) 괄호 안의 내용
+     */
+    static ExecutionPattern compile(String body) {
+        int open = body.indexOf('(');
+        int close = body.lastIndexOf(')');
+        if (open < 0 || close != body.length() - 1 || body.indexOf('(', open + 1) >= 0) {
+            throw new IllegalArgumentException("지원하지 않는 execution: " + body);
+        }
+        String params = body.substring(open + 1, close).trim();
+        if (!params.equals("..") && !params.isEmpty()) {
+            throw new IllegalArgumentException("지원하지 않는 파라미터 패턴: " + params);
+        }
+
+        String[] tokens = body.substring(0, open).trim().split("\\s+");
+        if (tokens.length < 2 || tokens.length > 3) {
+            throw new IllegalArgumentException("지원하지 않는 execution: " + body);
+        }
+        boolean publicOnly = tokens.length == 3;
+        if (publicOnly && !tokens[0].equals("public")) {
+            throw new IllegalArgumentException("지원하지 않는 접근 제어자: " + tokens[0]);
+        }
+        if (!tokens[tokens.length - 2].equals("*")) {
+            throw new IllegalArgumentException("지원하지 않는 반환 타입: " + tokens[tokens.length - 2]);
+        }
+
+        //hello.proxy.app..*  -> 선언 타입 "hello.proxy.app." (끝의 빈 조각이 ".."), 이름 "*"
+        String qualifiedName = tokens[tokens.length - 1];
+        int lastDot = qualifiedName.lastIndexOf('.');
+        TypePattern declaringType = lastDot < 0 ? TypePattern.ANY : TypePattern.compile(qualifiedName.substring(0, lastDot));
+        NamePattern name = NamePattern.compile(qualifiedName.substring(lastDot + 1));
+        return new ExecutionPattern(body, publicOnly, declaringType, name, params.isEmpty());
+    }
+
+    TypePattern getDeclaringType() {
+        return declaringType;
+    }
+
+    /**
+     * 선언 타입을 제외한 이름, 파라미터 개수, 접근 제어자 비교
+     */
+    boolean matchesMethod(Method method) {
+        return name.matches(method.getName())
+                && (!noArgs || method.getParameterCount() == 0)
+                && (!publicOnly || Modifier.isPublic(method.getModifiers()));
+    }
+
+    @Override
+    public String toString() {
+        return "execution(" + expression + ")";
+    }
+}
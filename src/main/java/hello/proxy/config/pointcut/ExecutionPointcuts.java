@@ -0,0 +1,27 @@
+package hello.proxy.config.pointcut;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+
+/**
+ * execution 표현식 포인트컷 생성
+ * : {@link CompiledExecutionPointcut} 으로 컴파일할 수 있으면 사용하고, 아니면 {@link AspectJExpressionPointcut} 을 사용한다.
+ */
+@Slf4j
+public final class ExecutionPointcuts {
+
+    private ExecutionPointcuts() {
+    }
+
+    public static Pointcut of(String expression) {
+        try {
+            return CompiledExecutionPointcut.compile(expression);
+        } catch (IllegalArgumentException e) {
+            log.info("AspectJ pointcut fallback expression={}, reason={}", expression, e.getMessage());
+            AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+            pointcut.setExpression(expression);
+            return pointcut;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package hello.proxy.config.pointcut;
+
+/**
+ * AspectJ 이름 패턴('*' 는 0개 이상의 문자)을 미리 분석해서 자주 쓰는 모양은 문자열 비교 한번으로 끝낸다.
+ * : 예) "*" -> ANY, "save*" -> PREFIX, "*Impl" -> SUFFIX, "noLog" -> EXACT, 나머지는 '*' 로 나눈 조각을 순서대로 찾는다.
+ */
+final class NamePattern {
+
+    private enum Kind {ANY, EXACT, PREFIX, SUFFIX, GLOB}
+
+    private final String pattern;
+    private final Kind kind;
+    private final String literal;
+    private final String[] parts;//GLOB: '*' 로 나눈 조각, 처음과 끝 조각은 비어있을 수 있다.
+
+    private NamePattern(String pattern, Kind kind, String literal, String[] parts) {
+        this.pattern = pattern;
+        this.kind = kind;
+        this.literal = literal;
+        this.parts = parts;
+    }
+
+    /**
+     * @throws IllegalArgumentException 식별자 문자와 '*' 외의 문자가 있는 경우
+     */
+    static NamePattern compile(String pattern) {
+        if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("빈 이름 패턴");
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c != '*' && !Character.isJavaIdentifierPart(c)) {
+                throw new IllegalArgumentException("지원하지 않는 이름 패턴: " + pattern);
+            }
+        }
+        int first = pattern.indexOf('*');
+        if (first < 0) {
+            return new NamePattern(pattern, Kind.EXACT, pattern, null);
+        }
+        if (pattern.chars().allMatch(c -> c == '*')) {
+            return new NamePattern(pattern, Kind.ANY, null, null);
+        }
+        int last = pattern.lastIndexOf('*');
+        if (first == last && last == pattern.length() - 1) {
+            return new NamePattern(pattern, Kind.PREFIX, pattern.substring(0, last), null);
+        }
+        if (first == last && first == 0) {
+            return new NamePattern(pattern, Kind.SUFFIX, pattern.substring(1), null);
+        }
+        return new NamePattern(pattern, Kind.GLOB, null, pattern.split("\\*", -1));
+    }
+
+    boolean isLiteral() {
+        return kind == Kind.EXACT;
+    }
+
+    String getLiteral() {
+        return literal;
+    }
+
+    boolean matches(String name) {
+        switch (kind) {
+            case ANY:
+                return true;
+            case EXACT:
+                return literal.equals(name);
+            case PREFIX:
+                return name.startsWith(literal);
+            case SUFFIX:
+                return name.endsWith(literal);
+            default:
+                return matchesGlob(name);
+        }
+    }
+
+    /**
+     * 처음 조각은 앞에, 마지막 조각은 뒤에 붙어야 하고 가운데 조각은 왼쪽부터 가장 먼저 나오는 위치를 찾는다.
+     * : '*' 만 있는 패턴이라 되돌아갈 필요가 없다.
+     */
+    private boolean matchesGlob(String name) {
+        String head = parts[0];
+        String tail = parts[parts.length - 1];
+        if (name.length() < head.length() + tail.length() || !name.startsWith(head) || !name.endsWith(tail)) {
+            return false;
+        }
+        int from = head.length();
+        int end = name.length() - tail.length();
+        for (int i = 1; i < parts.length - 1; i++) {
+            int index = name.indexOf(parts[i], from);
+            if (index < 0 || index + parts[i].length() > end) {
+                return false;
+            }
+            from = index + parts[i].length();
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
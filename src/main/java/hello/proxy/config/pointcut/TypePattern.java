@@ -0,0 +1,91 @@
+package hello.proxy.config.pointcut;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 선언 타입 패턴, '.' 으로 나눈 조각 단위로 비교한다.
+ * : ".." 는 0개 이상의 조각이다. 예) "hello.proxy.app.." -> hello.proxy.app 패키지와 하위 패키지의 모든 타입
+ * : "*" 하나만 있으면 모든 타입이다.
+ * : 앞쪽의 와일드카드 없는 조각(literalPrefix)은 {@link TypeTrie} 가 비교하고, 여기서는 나머지 조각만 비교한다.
+ */
+final class TypePattern {
+
+    static final TypePattern ANY = new TypePattern("*", new String[0], new NamePattern[]{null});
+
+    private final String pattern;
+    private final String[] literalPrefix;
+    private final NamePattern[] rest;//null 은 ".."
+
+    private TypePattern(String pattern, String[] literalPrefix, NamePattern[] rest) {
+        this.pattern = pattern;
+        this.literalPrefix = literalPrefix;
+        this.rest = rest;
+    }
+
+    /**
+     * @throws IllegalArgumentException "..Foo", "Foo+" 처럼 지원하지 않는 모양
+     */
+    static TypePattern compile(String pattern) {
+        if ("*".equals(pattern)) {
+            return ANY;
+        }
+        if (pattern.isEmpty() || pattern.startsWith(".")) {
+            throw new IllegalArgumentException("지원하지 않는 타입 패턴: " + pattern);
+        }
+        List<NamePattern> tokens = new ArrayList<>();
+        for (String segment : pattern.split("\\.", -1)) {
+            if (segment.isEmpty()) {
+                if (!tokens.isEmpty() && tokens.get(tokens.size() - 1) == null) {
+                    throw new IllegalArgumentException("지원하지 않는 타입 패턴: " + pattern);//"..."
+                }
+                tokens.add(null);
+            } else {
+                tokens.add(NamePattern.compile(segment));
+            }
+        }
+        int prefixLength = 0;
+        while (prefixLength < tokens.size() && tokens.get(prefixLength) != null && tokens.get(prefixLength).isLiteral()) {
+            prefixLength++;
+        }
+        String[] literalPrefix = tokens.subList(0, prefixLength).stream().map(NamePattern::getLiteral).toArray(String[]::new);
+        NamePattern[] rest = tokens.subList(prefixLength, tokens.size()).toArray(new NamePattern[0]);
+        return new TypePattern(pattern, literalPrefix, rest);
+    }
+
+    String[] getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * @param segments 타입 이름을 '.' 으로 나눈 조각, 중첩 클래스의 '$' 도 '.' 으로 나눈다.
+     *                 literalPrefix 는 이미 맞는 것으로 보고 그 뒤부터 비교한다.
+     */
+    boolean matchesRest(String[] segments) {
+        return matches(segments, literalPrefix.length, 0);
+    }
+
+    private boolean matches(String[] segments, int segmentIndex, int tokenIndex) {
+        if (tokenIndex == rest.length) {
+            return segmentIndex == segments.length;
+        }
+        NamePattern token = rest[tokenIndex];
+        if (token == null) {
+            for (int i = segmentIndex; i <= segments.length; i++) {
+                if (matches(segments, i, tokenIndex + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return segmentIndex < segments.length
+                && token.matches(segments[segmentIndex])
+                && matches(segments, segmentIndex + 1, tokenIndex + 1);
+    }
+
+    @Override
+    public String toString() {
+        return pattern + (rest.length == 0 ? "" : " " + Arrays.toString(rest));
+    }
+}
@@ -0,0 +1,48 @@
+package hello.proxy.config.pointcut;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 패턴들의 literalPrefix 를 패키지 조각 단위 트라이로 묶는다.
+ * : 타입 하나에 대해 트라이를 한번 내려가면서 접두사가 맞는 패턴을 비트 마스크로 모은다.
+ *   접두사가 맞지 않는 패턴(예: org.springframework 타입에 대한 hello.proxy.app 패턴)은 더 비교하지 않는다.
+ */
+final class TypeTrie {
+
+    static final int MAX_PATTERNS = Long.SIZE;
+
+    private final Node root = new Node();
+
+    void add(String[] literalPrefix, int patternIndex) {
+        if (patternIndex >= MAX_PATTERNS) {
+            throw new IllegalArgumentException("패턴은 최대 " + MAX_PATTERNS + "개까지 지원합니다.");
+        }
+        Node node = root;
+        for (String segment : literalPrefix) {
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.patterns |= 1L << patternIndex;
+    }
+
+    /**
+     * @return literalPrefix 가 segments 의 접두사인 패턴들의 비트 마스크
+     */
+    long candidates(String[] segments) {
+        Node node = root;
+        long mask = node.patterns;
+        for (String segment : segments) {
+            node = node.children.get(segment);
+            if (node == null) {
+                break;
+            }
+            mask |= node.patterns;
+        }
+        return mask;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private long patterns;
+    }
+}
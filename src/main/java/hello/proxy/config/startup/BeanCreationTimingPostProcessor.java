@@ -0,0 +1,35 @@
+package hello.proxy.config.startup;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.core.PriorityOrdered;
+
+/**
+ * 빈 생성 시작(인스턴스 생성 전)과 끝(초기화 후)을 {@link ProxyStartupRecorder} 에 기록한다.
+ * : PriorityOrdered 라서 자동 프록시 생성기 등 다른 빈 후처리기보다 먼저 호출된다. 생성 시간에 프록시 적용 시간은 포함되지 않는다.
+ */
+public class BeanCreationTimingPostProcessor implements InstantiationAwareBeanPostProcessor, PriorityOrdered {
+
+    private final ProxyStartupRecorder recorder;
+
+    public BeanCreationTimingPostProcessor(ProxyStartupRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        recorder.creationStarted(beanName);
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        recorder.creationFinished(beanName, bean.getClass());
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
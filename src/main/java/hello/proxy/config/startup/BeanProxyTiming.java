@@ -0,0 +1,89 @@
+package hello.proxy.config.startup;
+
+import java.util.List;
+
+/**
+ * {@link ProxyStartupRecorder} 의 빈 하나에 대한 생성, 프록시 적용 시간
+ * : createMs 는 이 빈을 만드는 동안 함께 생성된 의존 빈의 시간을 뺀 값이다.
+ */
+public class BeanProxyTiming {
+
+    private final String beanName;
+    private final String beanClass;
+    private final long createNs;
+    private final long matchNs;
+    private final long proxyNs;
+    private final List<String> advisors;
+    private final ProxyType proxyType;
+    private final boolean flattened;
+
+    public BeanProxyTiming(String beanName, String beanClass, long createNs, long matchNs, long proxyNs, List<String> advisors, ProxyType proxyType) {
+        this(beanName, beanClass, createNs, matchNs, proxyNs, advisors, proxyType, false);
+    }
+
+    public BeanProxyTiming(String beanName, String beanClass, long createNs, long matchNs, long proxyNs, List<String> advisors, ProxyType proxyType, boolean flattened) {
+        this.beanName = beanName;
+        this.beanClass = beanClass;
+        this.createNs = createNs;
+        this.matchNs = matchNs;
+        this.proxyNs = proxyNs;
+        this.advisors = advisors;
+        this.proxyType = proxyType;
+        this.flattened = flattened;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public String getBeanClass() {
+        return beanClass;
+    }
+
+    public double getCreateMs() {
+        return createNs / 1_000_000.0;
+    }
+
+    public double getMatchMs() {
+        return matchNs / 1_000_000.0;
+    }
+
+    public double getProxyMs() {
+        return proxyNs / 1_000_000.0;
+    }
+
+    public double getTotalMs() {
+        return getTotalNs() / 1_000_000.0;
+    }
+
+    public List<String> getAdvisors() {
+        return advisors;
+    }
+
+    public ProxyType getProxyType() {
+        return proxyType;
+    }
+
+    /**
+     * 이미 프록시인 빈을 감싸지 않고 기존 advisor 체인에 합쳤으면 true
+     */
+    public boolean isFlattened() {
+        return flattened;
+    }
+
+    long getCreateNs() {
+        return createNs;
+    }
+
+    long getMatchNs() {
+        return matchNs;
+    }
+
+    long getProxyNs() {
+        return proxyNs;
+    }
+
+    long getTotalNs() {
+        return createNs + matchNs + proxyNs;
+    }
+}
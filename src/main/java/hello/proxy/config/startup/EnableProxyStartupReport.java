@@ -0,0 +1,19 @@
+package hello.proxy.config.startup;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 어떤 프록시 설정(@Import)을 선택하든 함께 적용되도록 애플리케이션 클래스에 붙인다.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(ProxyStartupConfig.class)
+public @interface EnableProxyStartupReport {
+}
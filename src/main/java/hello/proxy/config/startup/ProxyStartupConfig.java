@@ -0,0 +1,37 @@
+package hello.proxy.config.startup;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 컨텍스트 로딩 시점의 빈 생성, 프록시 적용 시간 기록
+ * : 빈 후처리기, 빈 팩토리 후처리기는 설정 클래스보다 먼저 생성되어야 하므로 static 으로 등록한다.
+ *   static 메서드는 CGLIB 로 싱글톤이 보장되지 않으므로 recorder 는 파라미터로 주입받는다.
+ */
+@Configuration
+public class ProxyStartupConfig {
+
+    public static final String RECORDER_BEAN_NAME = "proxyStartupRecorder";
+
+    @Bean(RECORDER_BEAN_NAME)
+    public static ProxyStartupRecorder proxyStartupRecorder() {
+        return new ProxyStartupRecorder();
+    }
+
+    @Bean
+    public static BeanPostProcessor beanCreationTimingPostProcessor(ProxyStartupRecorder recorder) {
+        return new BeanCreationTimingPostProcessor(recorder);
+    }
+
+    @Bean
+    public static BeanFactoryPostProcessor timedAutoProxyCreatorRegistrar() {
+        return new TimedAutoProxyCreatorRegistrar(RECORDER_BEAN_NAME);
+    }
+
+    @Bean
+    public ProxyStartupController proxyStartupController(ProxyStartupRecorder recorder) {
+        return new ProxyStartupController(recorder);
+    }
+}
@@ -0,0 +1,34 @@
+package hello.proxy.config.startup;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.stream.Collectors;
+
+/**
+ * 컨텍스트 로딩 시점의 빈 생성, 포인트컷 매칭, 프록시 생성 시간 조회
+ * : 예) GET /startup/proxies?proxiedOnly=true -> 프록시가 적용된 빈만
+ */
+@RequestMapping("/startup/proxies")
+@ResponseBody
+public class ProxyStartupController {
+
+    private final ProxyStartupRecorder recorder;
+
+    public ProxyStartupController(ProxyStartupRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @GetMapping
+    public ProxyStartupReport report(@RequestParam(defaultValue = "false") boolean proxiedOnly) {
+        ProxyStartupReport report = recorder.report();
+        if (!proxiedOnly) {
+            return report;
+        }
+        return new ProxyStartupReport(report.getBeans().stream()
+                .filter(timing -> timing.getProxyType() != ProxyType.NONE)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,186 @@
+package hello.proxy.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨텍스트 로딩 시점에 빈 생성, 포인트컷 매칭, 프록시 생성 시간을 빈별로 모은다.
+ * : 생성 시간은 {@link BeanCreationTimingPostProcessor}, 매칭, 프록시 생성 시간은 프록시를 만드는 빈 후처리기가 기록한다.
+ * : 빈 생성은 의존 빈 생성을 중첩해서 호출하므로 스레드별 스택으로 자식 빈의 시간을 빼서 기록한다.
+ * : 컨텍스트 로딩이 끝나면 요약을 로그로 남긴다. 전체 목록은 GET /startup/proxies
+ */
+@Slf4j
+public class ProxyStartupRecorder implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final int SUMMARY_TOP = 5;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public void creationStarted(String beanName) {
+        if (beanName == null) {
+            return;
+        }
+        creating.get().push(new Frame(beanName, System.nanoTime()));
+    }
+
+    /**
+     * 시작 기록이 없는 빈(빈 후처리기 자신 등)은 무시한다.
+     */
+    public void creationFinished(String beanName, Class<?> beanClass) {
+        Deque<Frame> frames = creating.get();
+        if (beanName == null || frames.stream().noneMatch(frame -> frame.beanName.equals(beanName))) {
+            return;
+        }
+        Frame frame;
+        do {
+            frame = frames.pop();//생성 중 실패해서 남은 프레임은 버린다.
+        } while (!frame.beanName.equals(beanName));
+
+        long totalNs = System.nanoTime() - frame.startNs;
+        Frame parent = frames.peek();
+        if (parent != null) {
+            parent.childNs += totalNs;
+        }
+        entry(beanName, beanClass).setCreateNs(totalNs - frame.childNs);
+    }
+
+    /**
+     * 같은 빈에 프록시 빈 후처리기가 여러 개 적용되면 시간은 더하고, 프록시 종류는 마지막 결과를 사용한다.
+     */
+    public void recordProxy(String beanName, Class<?> beanClass, long matchNs, long proxyNs, List<String> advisors, ProxyType proxyType) {
+        if (beanName == null) {
+            return;
+        }
+        entry(beanName, beanClass).addProxy(matchNs, proxyNs, advisors, proxyType);
+    }
+
+    /**
+     * 이미 프록시인 빈에 advisor 를 합친 경우, 새 프록시를 만들지 않았으므로 프록시 생성 시간은 없다.
+     */
+    public void recordFlattened(String beanName, Class<?> beanClass, long matchNs, List<String> advisors, ProxyType proxyType) {
+        if (beanName == null) {
+            return;
+        }
+        entry(beanName, beanClass).addFlattened(matchNs, advisors, proxyType);
+    }
+
+    /**
+     * 전체 시간(생성 + 매칭 + 프록시 생성)이 큰 순서
+     */
+    public List<BeanProxyTiming> timings() {
+        List<BeanProxyTiming> result = new ArrayList<>();
+        entries.forEach((beanName, entry) -> result.add(entry.toTiming(beanName)));
+        result.sort(Comparator.comparingLong(BeanProxyTiming::getTotalNs).reversed());
+        return result;
+    }
+
+    public ProxyStartupReport report() {
+        return new ProxyStartupReport(timings());
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ProxyStartupReport report = report();
+        log.info("proxy startup beans={}, proxied={} (jdk={}, cglib={}, flattened={}), create={}ms, match={}ms, proxy={}ms",
+                report.getBeanCount(), report.getProxiedCount(), report.getJdkCount(), report.getCglibCount(), report.getFlattenedCount(),
+                format(report.getCreateMs()), format(report.getMatchMs()), format(report.getProxyMs()));
+        report.getBeans().stream()
+                .filter(timing -> timing.getProxyType() != ProxyType.NONE)
+                .sorted(Comparator.comparingLong(BeanProxyTiming::getProxyNs).reversed())
+                .limit(SUMMARY_TOP)
+                .forEach(timing -> log.info("proxy startup bean={}, type={}, create={}ms, match={}ms, proxy={}ms, advisors={}",
+                        timing.getBeanName(), timing.getProxyType(), format(timing.getCreateMs()),
+                        format(timing.getMatchMs()), format(timing.getProxyMs()), timing.getAdvisors()));
+        report.getBeans().stream()
+                .filter(BeanProxyTiming::isFlattened)
+                .forEach(timing -> log.info("proxy startup flattened bean={}, type={}, advisors={}",
+                        timing.getBeanName(), timing.getProxyType(), timing.getAdvisors()));
+    }
+
+    /**
+     * 로그, 리포트에 표시할 advisor 이름, @Aspect 어드바이스는 "애스펙트.메서드"
+     */
+    public static String advisorName(Object advisor) {
+        Object advice = advisor instanceof Advisor ? ((Advisor) advisor).getAdvice() : advisor;
+        if (advice instanceof AbstractAspectJAdvice) {
+            AbstractAspectJAdvice aspectJAdvice = (AbstractAspectJAdvice) advice;
+            return aspectJAdvice.getAspectName() + "." + aspectJAdvice.getAspectJAdviceMethod().getName();
+        }
+        return advice.getClass().getSimpleName();
+    }
+
+    private Entry entry(String beanName, Class<?> beanClass) {
+        return entries.computeIfAbsent(beanName, key -> new Entry(beanClass.getName()));
+    }
+
+    private static String format(double ms) {
+        return String.format("%.3f", ms);
+    }
+
+    private static class Frame {
+        private final String beanName;
+        private final long startNs;
+        private long childNs;
+
+        private Frame(String beanName, long startNs) {
+            this.beanName = beanName;
+            this.startNs = startNs;
+        }
+    }
+
+    private static class Entry {
+        private final String beanClass;
+        private long createNs;
+        private long matchNs;
+        private long proxyNs;
+        private final Set<String> advisors = new LinkedHashSet<>();
+        private ProxyType proxyType = ProxyType.NONE;
+        private boolean flattened;
+
+        private Entry(String beanClass) {
+            this.beanClass = beanClass;
+        }
+
+        synchronized void setCreateNs(long createNs) {
+            this.createNs = createNs;
+        }
+
+        synchronized void addProxy(long matchNs, long proxyNs, List<String> advisors, ProxyType proxyType) {
+            this.matchNs += matchNs;
+            this.proxyNs += proxyNs;
+            this.advisors.addAll(advisors);
+            if (proxyType != ProxyType.NONE) {
+                this.proxyType = proxyType;
+            }
+        }
+
+        synchronized void addFlattened(long matchNs, List<String> advisors, ProxyType proxyType) {
+            addProxy(matchNs, 0, advisors, proxyType);
+            this.flattened = true;
+        }
+
+        synchronized BeanProxyTiming toTiming(String beanName) {
+            return new BeanProxyTiming(beanName, beanClass, createNs, matchNs, proxyNs,
+                    Collections.unmodifiableList(new ArrayList<>(advisors)), proxyType, flattened);
+        }
+    }
+}
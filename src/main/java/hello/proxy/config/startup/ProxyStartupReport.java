@@ -0,0 +1,55 @@
+package hello.proxy.config.startup;
+
+import java.util.List;
+
+/**
+ * GET /startup/proxies 응답
+ */
+public class ProxyStartupReport {
+
+    private final List<BeanProxyTiming> beans;
+
+    public ProxyStartupReport(List<BeanProxyTiming> beans) {
+        this.beans = beans;
+    }
+
+    public int getBeanCount() {
+        return beans.size();
+    }
+
+    public long getProxiedCount() {
+        return beans.stream().filter(timing -> timing.getProxyType() != ProxyType.NONE).count();
+    }
+
+    public long getFlattenedCount() {
+        return beans.stream().filter(BeanProxyTiming::isFlattened).count();
+    }
+
+    public long getJdkCount() {
+        return count(ProxyType.JDK);
+    }
+
+    public long getCglibCount() {
+        return count(ProxyType.CGLIB);
+    }
+
+    public double getCreateMs() {
+        return beans.stream().mapToLong(BeanProxyTiming::getCreateNs).sum() / 1_000_000.0;
+    }
+
+    public double getMatchMs() {
+        return beans.stream().mapToLong(BeanProxyTiming::getMatchNs).sum() / 1_000_000.0;
+    }
+
+    public double getProxyMs() {
+        return beans.stream().mapToLong(BeanProxyTiming::getProxyNs).sum() / 1_000_000.0;
+    }
+
+    public List<BeanProxyTiming> getBeans() {
+        return beans;
+    }
+
+    private long count(ProxyType proxyType) {
+        return beans.stream().filter(timing -> timing.getProxyType() == proxyType).count();
+    }
+}
@@ -0,0 +1,34 @@
+package hello.proxy.config.startup;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+
+public enum ProxyType {
+    NONE, JDK, CGLIB, OTHER;
+
+    /**
+     * @param bean   빈 후처리기에 전달된 객체
+     * @param result 빈 후처리기가 반환한 객체
+     */
+    public static ProxyType of(Object bean, Object result) {
+        if (result == null || result == bean) {
+            return NONE;
+        }
+        return ofProxy(result);
+    }
+
+    /**
+     * 이미 프록시인 객체의 종류, 예) advisor 를 합친 기존 프록시
+     */
+    public static ProxyType ofProxy(Object proxy) {
+        Class<?> resultClass = proxy.getClass();
+        if (Proxy.isProxyClass(resultClass)) {
+            return JDK;
+        }
+        if (resultClass.getName().contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+            return CGLIB;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,97 @@
+package hello.proxy.config.startup;
+
+import hello.proxy.config.flatten.FlatteningAspectJAutoProxyCreator;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.beans.BeansException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 포인트컷 매칭, 프록시 생성 시간을 {@link ProxyStartupRecorder} 에 기록하는 자동 프록시 생성기
+ * : 스프링 부트가 등록하는 {@link AnnotationAwareAspectJAutoProxyCreator} 대신 사용한다. ({@link TimedAutoProxyCreatorRegistrar})
+ * : AutoProxyConfig(Advisor 빈), AopConfig(@Aspect) 모두 이 빈 후처리기가 프록시를 만든다.
+ * : 매칭 시간 = 빈 후처리 전체 시간 - 프록시 생성 시간 (advisor 조회, 인프라 빈 체크 포함)
+ * : @EnableProxyFlattening 을 함께 쓰면 이미 프록시인 빈은 감싸지 않고 advisor 를 합친다. ({@link FlatteningAspectJAutoProxyCreator})
+ *   flatten 속성이 꺼져 있으면(기본) 스프링 기본 생성기처럼 감싼다.
+ */
+public class TimedAspectJAutoProxyCreator extends FlatteningAspectJAutoProxyCreator {
+
+    //advisor 빈 생성 중에 다른 빈의 후처리가 중첩될 수 있으므로 현재 빈의 기록을 스레드별로 바꿔 끼운다.
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+    private ProxyStartupRecorder recorder;
+
+    public void setRecorder(ProxyStartupRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (recorder == null || bean == null) {
+            return super.postProcessAfterInitialization(bean, beanName);
+        }
+        Pending previous = pending.get();
+        Pending current = new Pending();
+        pending.set(current);
+        long startNs = System.nanoTime();
+        try {
+            Object result = super.postProcessAfterInitialization(bean, beanName);
+            long totalNs = System.nanoTime() - startNs;
+            if (current.flattened) {
+                recorder.recordFlattened(beanName, current.targetClass, totalNs, current.advisors, ProxyType.ofProxy(result));
+                return result;
+            }
+            recorder.recordProxy(beanName, bean.getClass(), totalNs - current.proxyNs, current.proxyNs,
+                    current.advisors, ProxyType.of(bean, result));
+            return result;
+        } finally {
+            pending.set(previous);
+        }
+    }
+
+    @Override
+    protected Object[] getAdvicesAndAdvisorsForBean(Class<?> beanClass, String beanName, TargetSource targetSource) throws BeansException {
+        Object[] advisors = super.getAdvicesAndAdvisorsForBean(beanClass, beanName, targetSource);
+        Pending current = pending.get();
+        if (current != null && advisors != null) {
+            List<String> names = new ArrayList<>(advisors.length);
+            for (Object advisor : advisors) {
+                names.add(ProxyStartupRecorder.advisorName(advisor));
+            }
+            current.advisors = names;
+        }
+        return advisors;
+    }
+
+    @Override
+    protected Object createProxy(Class<?> beanClass, String beanName, Object[] specificInterceptors, TargetSource targetSource) {
+        long startNs = System.nanoTime();
+        try {
+            return super.createProxy(beanClass, beanName, specificInterceptors, targetSource);
+        } finally {
+            Pending current = pending.get();
+            if (current != null) {
+                current.proxyNs += System.nanoTime() - startNs;
+            }
+        }
+    }
+
+    @Override
+    protected void flattened(String beanName, Object bean, Class<?> targetClass, List<Advisor> added) {
+        Pending current = pending.get();
+        if (current != null) {
+            current.flattened = true;
+            current.targetClass = targetClass;
+        }
+    }
+
+    private static class Pending {
+        private long proxyNs;
+        private boolean flattened;
+        private Class<?> targetClass;
+        private List<String> advisors = Collections.emptyList();
+    }
+}
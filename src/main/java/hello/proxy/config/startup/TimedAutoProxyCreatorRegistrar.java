@@ -0,0 +1,40 @@
+package hello.proxy.config.startup;
+
+import hello.proxy.config.flatten.FlatteningAspectJAutoProxyCreator;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * 스프링 부트(AopAutoConfiguration)가 등록한 자동 프록시 생성기의 빈 정의를 {@link TimedAspectJAutoProxyCreator} 로 바꾼다.
+ * : AopConfigUtils 는 모르는 클래스로 등록하는 것을 허용하지 않으므로, 빈 정의 등록이 모두 끝난 뒤에 클래스 이름만 바꾼다.
+ *   proxyTargetClass 등 기존 설정은 그대로 유지된다.
+ * : 합치기(flatten)는 켜지 않는다. @EnableProxyFlattening 을 함께 쓰면 실행 순서와 관계없이 켜진 상태로 유지된다.
+ */
+public class TimedAutoProxyCreatorRegistrar implements BeanFactoryPostProcessor {
+
+    private final String recorderBeanName;
+
+    public TimedAutoProxyCreatorRegistrar(String recorderBeanName) {
+        this.recorderBeanName = recorderBeanName;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!beanFactory.containsBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)) {
+            return;
+        }
+        BeanDefinition definition = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        String beanClassName = definition.getBeanClassName();
+        if (!AnnotationAwareAspectJAutoProxyCreator.class.getName().equals(beanClassName)
+                && !FlatteningAspectJAutoProxyCreator.class.getName().equals(beanClassName)) {
+            return;
+        }
+        FlatteningAspectJAutoProxyCreator.replaceBeanClass(definition, TimedAspectJAutoProxyCreator.class);
+        definition.getPropertyValues().add("recorder", new RuntimeBeanReference(recorderBeanName));
+    }
+}
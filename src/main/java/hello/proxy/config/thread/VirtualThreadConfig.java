@@ -0,0 +1,48 @@
+package hello.proxy.config.thread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 요청 처리와 주문 흐름을 가상 스레드에서 실행한다. (JDK 21 이상, ./gradlew bootRun -PjavaVersion=21)
+ * : 톰캣 요청 스레드 풀(maxThreads=200)을 요청마다 가상 스레드를 만드는 executor 로 바꾼다.
+ *   repository 의 sleep(1000) 동안 가상 스레드는 캐리어 스레드를 놓아주므로 동시 처리 수가 스레드 풀 크기에 묶이지 않는다.
+ * : 톰캣 9.0.53(스프링 부트 2.5.5 기본)은 요청 처리 내내 synchronized(socketWrapper) 를 잡고 있어서 sleep 동안 가상 스레드가 캐리어 스레드에 고정된다.
+ *   그래서 -PjavaVersion=21 빌드는 ReentrantLock 으로 바뀐 톰캣 9.0.85 를 사용한다. (-Djdk.tracePinnedThreads=short 로 확인)
+ * : applicationTaskExecutor(MVC 비동기 Callable, @Async)도 가상 스레드로 바꾼다.
+ * : ThreadLocalLogTrace 는 가상 스레드마다 따로 TraceId 를 가지고, 루트 span 이 끝나면 remove 한다.
+ *   CPU 시간, 할당 바이트는 JDK 가 가상 스레드에 대해 -1 을 주므로 측정하지 않는다.
+ * : 메모리 비용 측정: ./gradlew virtualThreadFootprint -PjavaVersion=21
+ * : 플랫폼 스레드와 부하 비교: ./gradlew orderLoadComparison -PjavaVersion=21
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadRequestExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = virtualThreadRequestExecutor();
+        return protocolHandler -> {
+            protocolHandler.setExecutor(executor);
+            log.info("tomcat executor=virtual threads");
+        };
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)//기본 ThreadPoolTaskExecutor 대신
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newThreadPerTaskExecutor("task-vt-"));
+    }
+}
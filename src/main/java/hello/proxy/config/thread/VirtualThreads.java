@@ -0,0 +1,98 @@
+package hello.proxy.config.thread;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * JDK 21 가상 스레드 API
+ * : 바이트코드는 Java 11 로 유지하므로 Thread.ofVirtual() 등을 직접 호출하지 않고, 클래스 로딩 시점에 MethodHandle 로 한번만 찾는다.
+ * : JDK 21 미만에서 실행하면 {@link #isSupported()} 가 false 이고, executor, ThreadFactory 생성은 IllegalStateException 을 던진다.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;//Thread.ofVirtual()
+    private static final MethodHandle NAME;//Thread.Builder.OfVirtual.name(String prefix, long start)
+    private static final MethodHandle FACTORY;//Thread.Builder.factory()
+    private static final MethodHandle IS_VIRTUAL;//Thread.isVirtual()
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;//Executors.newThreadPerTaskExecutor(ThreadFactory)
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle isVirtual = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            name = lookup.findVirtual(ofVirtualClass, "name", MethodType.methodType(ofVirtualClass, String.class, long.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException e) {
+            //JDK 21 미만
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        IS_VIRTUAL = isVirtual;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * 이름이 namePrefix0, namePrefix1 ... 인 가상 스레드를 만드는 ThreadFactory
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        checkSupported();
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (Throwable e) {
+            throw new IllegalStateException("가상 스레드 ThreadFactory 를 만들 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 작업마다 가상 스레드를 새로 만드는 executor, 풀이 없으므로 동시 실행 수 제한도 없다.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = factory(namePrefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("가상 스레드 executor 를 만들 수 없습니다.", e);
+        }
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. ./gradlew bootRun -PjavaVersion=21 로 실행하세요. java.version="
+                    + System.getProperty("java.version"));
+        }
+    }
+}
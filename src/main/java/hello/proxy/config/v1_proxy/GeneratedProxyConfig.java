@@ -0,0 +1,58 @@
+package hello.proxy.config.v1_proxy;
+
+import hello.proxy.app.v1.*;
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v2.OrderControllerV2LogTraceProxy;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.app.v2.OrderRepositoryV2LogTraceProxy;
+import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.app.v2.OrderServiceV2LogTraceProxy;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.processor.GenerateLogTraceProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * InterfaceProxyConfig + ConcreteProxyConfig 의 직접 작성한 프록시를 {@link GenerateLogTraceProxy} 로 생성한 프록시로 바꾼 설정
+ * : 프록시 클래스는 컴파일 시점에 trace-processor 가 만든다. (build/generated/sources/annotationProcessor)
+ * : JDK 동적 프록시, CGLIB 처럼 애플리케이션 로딩 시점에 클래스를 만들지 않는다.
+ */
+@Configuration
+public class GeneratedProxyConfig {
+
+    @Bean
+    public OrderControllerV1 orderController(LogTrace logTrace) {
+        OrderControllerV1Impl controllerImpl = new OrderControllerV1Impl(orderService(logTrace));
+        return new OrderControllerV1LogTraceProxy(controllerImpl, logTrace);
+    }
+
+    @Bean
+    public OrderServiceV1 orderService(LogTrace logTrace) {
+        OrderServiceV1Impl serviceImpl = new OrderServiceV1Impl(orderRepository(logTrace));
+        return new OrderServiceV1LogTraceProxy(serviceImpl, logTrace);
+    }
+
+    @Bean
+    public OrderRepositoryV1 orderRepository(LogTrace logTrace) {
+        OrderRepositoryV1Impl repositoryImpl = new OrderRepositoryV1Impl();
+        return new OrderRepositoryV1LogTraceProxy(repositoryImpl, logTrace);
+    }
+
+    @Bean
+    public OrderControllerV2 orderControllerV2(LogTrace logTrace) {
+        OrderControllerV2 controllerImpl = new OrderControllerV2(orderServiceV2(logTrace));
+        return new OrderControllerV2LogTraceProxy(controllerImpl, logTrace);
+    }
+
+    @Bean
+    public OrderServiceV2 orderServiceV2(LogTrace logTrace) {
+        OrderServiceV2 serviceImpl = new OrderServiceV2(orderRepositoryV2(logTrace));
+        return new OrderServiceV2LogTraceProxy(serviceImpl, logTrace);
+    }
+
+    @Bean
+    public OrderRepositoryV2 orderRepositoryV2(LogTrace logTrace) {
+        OrderRepositoryV2 repositoryImpl = new OrderRepositoryV2();
+        return new OrderRepositoryV2LogTraceProxy(repositoryImpl, logTrace);
+    }
+}
@@ -2,8 +2,11 @@ package hello.proxy.config.v1_proxy.concrete_proxy;
 
 import hello.proxy.app.v2.OrderControllerV2;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OrderControllerConcreteProxy extends OrderControllerV2 {
     private final OrderControllerV2 target;
     private final LogTrace trace;
@@ -16,6 +19,9 @@ public class OrderControllerConcreteProxy extends OrderControllerV2 {
 
     @Override
     public String request(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.request(itemId);
+        }
         String result = "";
         TraceStatus status = null;
 
@@ -30,6 +36,21 @@ public class OrderControllerConcreteProxy extends OrderControllerV2 {
         }
     }
 
+    @Override
+    public CompletableFuture<String> requestAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.requestAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderControllerV2.requestAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.requestAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
+
     @Override
     public String noLog() {
         return target.noLog();
@@ -2,8 +2,11 @@ package hello.proxy.config.v1_proxy.concrete_proxy;
 
 import hello.proxy.app.v2.OrderRepositoryV2;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OrderRepositoryConcreteProxy extends OrderRepositoryV2 {
 
     private final OrderRepositoryV2 target;
@@ -16,6 +19,10 @@ public class OrderRepositoryConcreteProxy extends OrderRepositoryV2 {
 
     @Override
     public void save(String itemId) {
+        if (trace.isSampledOut()) {
+            target.save(itemId);
+            return;
+        }
         TraceStatus status = null;
         try {
             status = trace.begin("OrderRepositoryV2.save()");
@@ -26,4 +33,19 @@ public class OrderRepositoryConcreteProxy extends OrderRepositoryV2 {
             throw e;
         }
     }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.saveAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderRepositoryV2.saveAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.saveAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
 }
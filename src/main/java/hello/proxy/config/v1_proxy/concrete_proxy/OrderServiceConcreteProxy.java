@@ -3,8 +3,11 @@ package hello.proxy.config.v1_proxy.concrete_proxy;
 import hello.proxy.app.v2.OrderRepositoryV2;
 import hello.proxy.app.v2.OrderServiceV2;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OrderServiceConcreteProxy extends OrderServiceV2 {
     private final OrderServiceV2 target;
     private final LogTrace trace;
@@ -17,6 +20,10 @@ public class OrderServiceConcreteProxy extends OrderServiceV2 {
 
     @Override
     public void orderItem(String itemId) {
+        if (trace.isSampledOut()) {
+            target.orderItem(itemId);
+            return;
+        }
         TraceStatus status = null;
         try {
             status = trace.begin("OrderServiceV2.orderItem()");
@@ -27,4 +34,19 @@ public class OrderServiceConcreteProxy extends OrderServiceV2 {
             throw e;
         }
     }
+
+    @Override
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.orderItemAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderServiceV2.orderItemAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.orderItemAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
 }
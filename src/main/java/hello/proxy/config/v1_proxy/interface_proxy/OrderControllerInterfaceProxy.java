@@ -2,9 +2,12 @@ package hello.proxy.config.v1_proxy.interface_proxy;
 
 import hello.proxy.app.v1.OrderControllerV1;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 
+import java.util.concurrent.CompletableFuture;
+
 @RequiredArgsConstructor
 public class OrderControllerInterfaceProxy implements OrderControllerV1 {
     private final OrderControllerV1 target;
@@ -12,6 +15,9 @@ public class OrderControllerInterfaceProxy implements OrderControllerV1 {
 
     @Override
     public String request(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.request(itemId);
+        }
         String result = "";
         TraceStatus status = null;
 
@@ -26,6 +32,21 @@ public class OrderControllerInterfaceProxy implements OrderControllerV1 {
         }
     }
 
+    @Override
+    public CompletableFuture<String> requestAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.requestAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderControllerV1.requestAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.requestAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
+
     @Override
     public String noLog() {
         return target.noLog();
@@ -2,10 +2,13 @@ package hello.proxy.config.v1_proxy.interface_proxy;
 
 import hello.proxy.app.v1.OrderRepositoryV1;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 public class OrderRepositoryInterfaceProxy implements OrderRepositoryV1 {
@@ -14,6 +17,10 @@ public class OrderRepositoryInterfaceProxy implements OrderRepositoryV1 {
 
     @Override
     public void save(String itemId) {
+        if (trace.isSampledOut()) {
+            target.save(itemId);
+            return;
+        }
         TraceStatus status = null;
         try {
             status = trace.begin("OrderRepositoryV1.save()");
@@ -24,4 +31,19 @@ public class OrderRepositoryInterfaceProxy implements OrderRepositoryV1 {
             throw e;
         }
     }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.saveAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderRepositoryV1.saveAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.saveAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
 }
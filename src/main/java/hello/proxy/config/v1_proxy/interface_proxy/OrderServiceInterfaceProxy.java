@@ -2,10 +2,13 @@ package hello.proxy.config.v1_proxy.interface_proxy;
 
 import hello.proxy.app.v1.OrderServiceV1;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.future.TraceFutures;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 public class OrderServiceInterfaceProxy implements OrderServiceV1 {
@@ -14,6 +17,10 @@ public class OrderServiceInterfaceProxy implements OrderServiceV1 {
 
     @Override
     public void orderItem(String itemId) {
+        if (trace.isSampledOut()) {
+            target.orderItem(itemId);
+            return;
+        }
         TraceStatus status = null;
         try {
             status = trace.begin("OrderServiceV1.orderItem()");
@@ -24,4 +31,19 @@ public class OrderServiceInterfaceProxy implements OrderServiceV1 {
             throw e;
         }
     }
+
+    @Override
+    public CompletableFuture<Void> orderItemAsync(String itemId) {
+        if (trace.isSampledOut()) {
+            return target.orderItemAsync(itemId);
+        }
+        TraceStatus status = null;
+        try {
+            status = trace.begin("OrderServiceV1.orderItemAsync()");
+            return TraceFutures.endOnCompletion(trace, status, target.orderItemAsync(itemId));//future 가 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
 }
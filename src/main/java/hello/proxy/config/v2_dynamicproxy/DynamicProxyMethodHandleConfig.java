@@ -0,0 +1,45 @@
+package hello.proxy.config.v2_dynamicproxy;
+
+import hello.proxy.app.v1.*;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceMethodHandleHandler;
+import hello.proxy.trace.logtrace.LogTrace;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Proxy;
+
+@Configuration
+public class DynamicProxyMethodHandleConfig {
+
+    private static final String[] PATTERNS = {"request*", "orderItem*", "save*"};
+
+    @Bean
+    public OrderControllerV1 orderControllerV1(LogTrace trace) {
+        OrderControllerV1 orderControllerV1 = new OrderControllerV1Impl(orderServiceV1(trace));
+        LogTraceMethodHandleHandler handler = new LogTraceMethodHandleHandler(orderControllerV1, trace, PATTERNS);
+        return (OrderControllerV1) Proxy.newProxyInstance(OrderControllerV1.class.getClassLoader(),
+                new Class[]{OrderControllerV1.class},
+                handler
+        );
+    }
+
+    @Bean
+    public OrderServiceV1 orderServiceV1(LogTrace trace) {
+        OrderServiceV1 orderServiceV1 = new OrderServiceV1Impl(orderRepositoryV1(trace));
+        LogTraceMethodHandleHandler handler = new LogTraceMethodHandleHandler(orderServiceV1, trace, PATTERNS);
+        return (OrderServiceV1) Proxy.newProxyInstance(OrderServiceV1.class.getClassLoader(),
+                new Class[]{OrderServiceV1.class},
+                handler
+        );
+    }
+
+    @Bean
+    public OrderRepositoryV1 orderRepositoryV1(LogTrace trace) {
+        OrderRepositoryV1 orderRepositoryV1 = new OrderRepositoryV1Impl();
+        LogTraceMethodHandleHandler handler = new LogTraceMethodHandleHandler(orderRepositoryV1, trace, PATTERNS);
+        return (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class},
+                handler
+        );
+    }
+}
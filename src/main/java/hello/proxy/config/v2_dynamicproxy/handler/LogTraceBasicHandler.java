@@ -1,6 +1,10 @@
 package hello.proxy.config.v2_dynamicproxy.handler;
 
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import hello.proxy.trace.descriptor.SpanDescriptors;
+import hello.proxy.trace.future.TraceFutures;
+import hello.proxy.trace.level.TraceSwitch;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 
@@ -15,13 +19,19 @@ public class LogTraceBasicHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (TraceSwitch.isOff() || trace.isSampledOut()) {
+            return method.invoke(target, args);//추적을 껐거나 샘플링되지 않은 요청
+        }
+        SpanDescriptor descriptor = SpanDescriptors.of(method);
+        if (!TraceSwitch.traces(descriptor)) {
+            return method.invoke(target, args);
+        }
         TraceStatus status = null;
 
         try {
-            status = trace.begin(method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()");
+            status = trace.begin(descriptor.getName());
             Object result = method.invoke(target, args);
-            trace.end(status);
-            return result;
+            return TraceFutures.endOnCompletion(trace, status, result);//CompletableFuture 면 완료될 때 span 을 끝낸다.
         } catch (Exception e) {
             trace.exception(status, e);
             throw e;
@@ -1,6 +1,10 @@
 package hello.proxy.config.v2_dynamicproxy.handler;
 
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import hello.proxy.trace.descriptor.SpanDescriptors;
+import hello.proxy.trace.future.TraceFutures;
+import hello.proxy.trace.level.TraceSwitch;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import org.springframework.util.PatternMatchUtils;
@@ -22,6 +26,9 @@ public class LogTraceFilterHandler implements InvocationHandler {
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (TraceSwitch.isOff() || trace.isSampledOut()) {
+            return method.invoke(target, args);//추적을 껐거나 샘플링되지 않은 요청은 패턴 매칭도 하지 않는다.
+        }
         TraceStatus status = null;
         String methodName = method.getName();
         //save, request, reque*, *est; 실제 로직만 호출
@@ -29,12 +36,16 @@ public class LogTraceFilterHandler implements InvocationHandler {
             return method.invoke(target, args);
         }
 
+        SpanDescriptor descriptor = SpanDescriptors.of(method);
+        if (!TraceSwitch.traces(descriptor)) {
+            return method.invoke(target, args);
+        }
+
         //실제 로직 시작과 끝에 로그를 남기는 기능
         try {
-            status = trace.begin(method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()");
+            status = trace.begin(descriptor.getName());
             Object result = method.invoke(target, args);
-            trace.end(status);
-            return result;
+            return TraceFutures.endOnCompletion(trace, status, result);//CompletableFuture 면 완료될 때 span 을 끝낸다.
         } catch (Exception e) {
             trace.exception(status, e);
             throw e;
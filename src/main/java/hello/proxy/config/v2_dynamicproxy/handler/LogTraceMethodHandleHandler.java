@@ -0,0 +1,106 @@
+package hello.proxy.config.v2_dynamicproxy.handler;
+
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import hello.proxy.trace.descriptor.SpanDescriptors;
+import hello.proxy.trace.future.TraceFutures;
+import hello.proxy.trace.level.TraceSwitch;
+import hello.proxy.trace.logtrace.LogTrace;
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link LogTraceFilterHandler} 와 같은 동작을 메서드별 캐시로 처리하는 InvocationHandler
+ * : 패턴 매칭은 메서드별로 처음 한번만 하고 결과를 캐시한다.
+ * : target 호출은 리플렉션(method.invoke) 대신 target 에 바인딩한 {@link MethodHandle} 로 한다.
+ * : MethodHandle 은 target 의 예외를 InvocationTargetException 으로 감싸지 않으므로, 로그와 호출한 쪽 모두 원래 예외를 받는다.
+ */
+public class LogTraceMethodHandleHandler implements InvocationHandler {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Object target;
+    private final LogTrace trace;
+    private final String[] patterns;
+    private final ConcurrentMap<Method, Invoker> invokers = new ConcurrentHashMap<>();
+
+    public LogTraceMethodHandleHandler(Object target, LogTrace trace) {
+        this(target, trace, null);
+    }
+
+    /**
+     * @param patterns null 이면 모든 메서드에 로그를 남긴다.
+     */
+    public LogTraceMethodHandleHandler(Object target, LogTrace trace, String[] patterns) {
+        this.target = target;
+        this.trace = trace;
+        this.patterns = patterns;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Invoker invoker = invoker(method);
+        Object[] arguments = args == null ? NO_ARGS : args;
+        if (invoker.descriptor == null || !TraceSwitch.traces(invoker.descriptor) || trace.isSampledOut()) {
+            return invoker.handle.invokeExact(arguments);//실제 로직만 호출
+        }
+
+        TraceStatus status = null;
+        try {
+            status = trace.begin(invoker.descriptor.getName());
+            Object result = invoker.handle.invokeExact(arguments);
+            return TraceFutures.endOnCompletion(trace, status, result);//CompletableFuture 면 완료될 때 span 을 끝낸다.
+        } catch (Exception e) {
+            trace.exception(status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 메서드별 캐시, 처음 호출될 때 패턴 매칭과 MethodHandle 생성을 한번만 한다.
+     */
+    Invoker invoker(Method method) {
+        Invoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = invokers.computeIfAbsent(method, this::createInvoker);
+        }
+        return invoker;
+    }
+
+    private Invoker createInvoker(Method method) {
+        boolean traced = patterns == null || PatternMatchUtils.simpleMatch(patterns, method.getName());
+        try {
+            //(Target, A1..An)R -> (A1..An)R -> (Object[])Object
+            MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                    .bindTo(target)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+            return new Invoker(handle, traced ? SpanDescriptors.of(method) : null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("MethodHandle 을 만들 수 없습니다. method=" + method, e);
+        }
+    }
+
+    static class Invoker {
+
+        private final MethodHandle handle;
+        private final SpanDescriptor descriptor;//로그 대상이 아니면 null
+
+        private Invoker(MethodHandle handle, SpanDescriptor descriptor) {
+            this.handle = handle;
+            this.descriptor = descriptor;
+        }
+
+        boolean isTraced() {
+            return descriptor != null;
+        }
+    }
+}
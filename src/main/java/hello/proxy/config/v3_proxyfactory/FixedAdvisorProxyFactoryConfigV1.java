@@ -0,0 +1,67 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v1.*;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.config.v3_proxyfactory.fixed.FixedAdvisorAopProxyFactory;
+import hello.proxy.trace.logtrace.LogTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ProxyFactoryConfigV1 와 같은 advisor 를 frozen 전용 프록시로 적용한다. ({@link FixedAdvisorAopProxyFactory})
+ * : 호출마다 ReflectiveMethodInvocation 을 만들지 않는다. 만들어진 프록시에는 advisor 를 추가할 수 없다.
+ */
+@Slf4j
+@Configuration
+public class FixedAdvisorProxyFactoryConfigV1 {
+
+    @Bean
+    public OrderControllerV1 orderControllerV1(LogTrace trace) {
+        OrderControllerV1 target = new OrderControllerV1Impl(orderServiceV1(trace));
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderControllerV1 proxy = (OrderControllerV1) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderServiceV1 orderServiceV1(LogTrace trace) {
+        OrderServiceV1 target = new OrderServiceV1Impl(orderRepositoryV1(trace));
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderServiceV1 proxy = (OrderServiceV1) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderRepositoryV1 orderRepositoryV1(LogTrace trace) {
+        OrderRepositoryV1 target = new OrderRepositoryV1Impl();
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderRepositoryV1 proxy = (OrderRepositoryV1) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    private DefaultPointcutAdvisor getAdvisor(LogTrace trace) {
+        //pointcut
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
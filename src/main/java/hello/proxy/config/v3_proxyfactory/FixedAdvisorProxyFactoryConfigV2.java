@@ -0,0 +1,69 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.config.v3_proxyfactory.fixed.FixedAdvisorAopProxyFactory;
+import hello.proxy.trace.logtrace.LogTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ProxyFactoryConfigV2 와 같은 advisor 를 frozen 전용 프록시로 적용한다. ({@link FixedAdvisorAopProxyFactory})
+ * : 호출마다 ReflectiveMethodInvocation 을 만들지 않는다. 만들어진 프록시에는 advisor 를 추가할 수 없다.
+ */
+@Slf4j
+@Configuration
+public class FixedAdvisorProxyFactoryConfigV2 {
+
+    @Bean
+    public OrderControllerV2 orderControllerV2(LogTrace trace) {
+        OrderControllerV2 target = new OrderControllerV2(orderServiceV2(trace));
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderControllerV2 proxy = (OrderControllerV2) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderServiceV2 orderServiceV2(LogTrace trace) {
+        OrderServiceV2 target = new OrderServiceV2(orderRepositoryV2(trace));
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderServiceV2 proxy = (OrderServiceV2) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderRepositoryV2 orderRepositoryV2(LogTrace trace) {
+        OrderRepositoryV2 target = new OrderRepositoryV2();
+
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvisor(getAdvisor(trace));
+
+        OrderRepositoryV2 proxy = (OrderRepositoryV2) FixedAdvisorAopProxyFactory.apply(factory).getProxy();
+        log.info("FixedAdvisor proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    private DefaultPointcutAdvisor getAdvisor(LogTrace trace) {
+        //pointcut
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
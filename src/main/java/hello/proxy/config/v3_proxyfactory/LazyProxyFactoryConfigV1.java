@@ -0,0 +1,59 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderControllerV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v1.OrderServiceV1;
+import hello.proxy.app.v1.OrderServiceV1Impl;
+import hello.proxy.config.lazy.LazyProxies;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.logtrace.LogTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ProxyFactoryConfigV1 과 같은 advisor 를 첫 호출 때 적용한다.
+ * : 로딩 시점에는 인터페이스 기반 JDK 동적 프록시 placeholder 만 등록한다. ({@link LazyProxies})
+ */
+@Slf4j
+@Configuration
+public class LazyProxyFactoryConfigV1 {
+
+    @Bean
+    public OrderControllerV1 orderControllerV1(LogTrace trace) {
+        OrderControllerV1 target = new OrderControllerV1Impl(orderServiceV1(trace));
+        OrderControllerV1 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderServiceV1 orderServiceV1(LogTrace trace) {
+        OrderServiceV1 target = new OrderServiceV1Impl(orderRepositoryV1(trace));
+        OrderServiceV1 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderRepositoryV1 orderRepositoryV1(LogTrace trace) {
+        OrderRepositoryV1 target = new OrderRepositoryV1Impl();
+        OrderRepositoryV1 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    private DefaultPointcutAdvisor getAdvisor(LogTrace trace) {
+        //pointcut
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
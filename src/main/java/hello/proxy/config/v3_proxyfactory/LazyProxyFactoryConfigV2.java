@@ -0,0 +1,57 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.config.lazy.LazyProxies;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.logtrace.LogTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ProxyFactoryConfigV2 와 같은 advisor 를 첫 호출 때 적용한다.
+ * : 로딩 시점에는 고정 이름의 CGLIB 프록시 클래스로 placeholder 만 등록한다. ({@link LazyProxies}, -PcglibProxies 로 빌드하면 미리 생성한 클래스)
+ * : 실제 프록시(ProxyFactory, CGLIB)는 처음 호출된 빈에만 만들어진다.
+ */
+@Slf4j
+@Configuration
+public class LazyProxyFactoryConfigV2 {
+
+    @Bean
+    public OrderControllerV2 orderControllerV2(LogTrace trace) {
+        OrderControllerV2 target = new OrderControllerV2(orderServiceV2(trace));
+        OrderControllerV2 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderServiceV2 orderServiceV2(LogTrace trace) {
+        OrderServiceV2 target = new OrderServiceV2(orderRepositoryV2(trace));
+        OrderServiceV2 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderRepositoryV2 orderRepositoryV2(LogTrace trace) {
+        OrderRepositoryV2 target = new OrderRepositoryV2();
+        OrderRepositoryV2 proxy = LazyProxies.proxy(target, getAdvisor(trace));
+        log.info("Lazy placeholder={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    private DefaultPointcutAdvisor getAdvisor(LogTrace trace) {
+        //pointcut
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
@@ -0,0 +1,57 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.config.v3_proxyfactory.pregenerated.CglibProxyClasses;
+import hello.proxy.trace.logtrace.LogTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ProxyFactoryConfigV2 와 같은 advisor 를 빌드 시점에 생성한 CGLIB 프록시 클래스로 적용한다.
+ * : -PcglibProxies 로 빌드하면 generateCglibProxies 가 만든 클래스를 사용하므로 애플리케이션 로딩 시점에 바이트코드를 생성하지 않는다.
+ * : 클래스가 없으면 같은 이름으로 런타임에 생성한다.
+ */
+@Slf4j
+@Configuration
+public class PregeneratedProxyConfigV2 {
+
+    @Bean
+    public OrderControllerV2 orderControllerV2(LogTrace trace) {
+        OrderControllerV2 target = new OrderControllerV2(orderServiceV2(trace));
+        OrderControllerV2 proxy = CglibProxyClasses.createProxy(target, getAdvisor(trace));
+        log.info("Pregenerated proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderServiceV2 orderServiceV2(LogTrace trace) {
+        OrderServiceV2 target = new OrderServiceV2(orderRepositoryV2(trace));
+        OrderServiceV2 proxy = CglibProxyClasses.createProxy(target, getAdvisor(trace));
+        log.info("Pregenerated proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    @Bean
+    public OrderRepositoryV2 orderRepositoryV2(LogTrace trace) {
+        OrderRepositoryV2 target = new OrderRepositoryV2();
+        OrderRepositoryV2 proxy = CglibProxyClasses.createProxy(target, getAdvisor(trace));
+        log.info("Pregenerated proxy={}, target={}", proxy.getClass(), target.getClass());
+        return proxy;
+    }
+
+    private DefaultPointcutAdvisor getAdvisor(LogTrace trace) {
+        //pointcut
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*", "order*", "save*");
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
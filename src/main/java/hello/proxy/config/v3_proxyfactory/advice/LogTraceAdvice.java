@@ -1,26 +1,33 @@
 package hello.proxy.config.v3_proxyfactory.advice;
 
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import hello.proxy.trace.descriptor.SpanDescriptors;
+import hello.proxy.trace.future.TraceFutures;
+import hello.proxy.trace.level.TraceSwitch;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
-import java.lang.reflect.Method;
-
 @RequiredArgsConstructor
 public class LogTraceAdvice implements MethodInterceptor {
     private final LogTrace trace;
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TraceSwitch.isOff() || trace.isSampledOut()) {
+            return invocation.proceed();//추적을 껐거나 샘플링되지 않은 요청: 메시지 생성, 시간 측정, 로그 모두 생략
+        }
+        SpanDescriptor descriptor = SpanDescriptors.of(invocation.getMethod());
+        if (!TraceSwitch.traces(descriptor)) {
+            return invocation.proceed();
+        }
         TraceStatus status = null;
 
         try {
-            Method method = invocation.getMethod();
-            status = trace.begin(method.getDeclaringClass().getSimpleName() + "." + method.getName() + "()");
+            status = trace.begin(descriptor.getName());//메서드별로 캐시한 span 이름
             Object result = invocation.proceed();
-            trace.end(status);
-            return result;
+            return TraceFutures.endOnCompletion(trace, status, result);//CompletableFuture 면 완료될 때 span 을 끝낸다.
         } catch (Exception e) {
             trace.exception(status, e);
             throw e;
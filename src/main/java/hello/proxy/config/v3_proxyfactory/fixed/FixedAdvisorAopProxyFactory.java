@@ -0,0 +1,93 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AopConfigException;
+import org.springframework.aop.framework.AopProxy;
+import org.springframework.aop.framework.AopProxyFactory;
+import org.springframework.aop.framework.DefaultAopProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * advisor 가 고정된(frozen) 작은 프록시 설정에 전용 {@link AopProxy} 를 만든다.
+ * : 기본 프록시(JdkDynamicAopProxy, CglibAopProxy)는 호출마다 ReflectiveMethodInvocation 을 만들고 인터셉터 목록(List)을 순회한다.
+ * : 전용 프록시는 메서드별 인터셉터 배열을 처음 호출 때 한번만 만들고, MethodInvocation 은 스레드별로 재사용한다. 호출 경로에서 할당이 없다.
+ * : 조건에 맞지 않으면 {@link DefaultAopProxyFactory} 로 기본 프록시를 만든다.
+ *   1. frozen, exposeProxy 가 아니고, target 이 바뀌지 않는다. (static TargetSource)
+ *   2. advisor 가 {@link #MAX_ADVISORS} 개 이하, 모두 PointcutAdvisor + MethodInterceptor 이고 런타임 포인트컷이 아니다.
+ *   3. AspectJ 어드바이스(@Aspect)가 아니다. AspectJ 어드바이스는 ProxyMethodInvocation 이 필요하다.
+ * : MethodInvocation 을 재사용하므로 proceed() 를 다른 스레드나 호출이 끝난 뒤에 부르는 어드바이스에는 사용하면 안 된다.
+ *
+ * 사용법: proxyFactory.setAopProxyFactory(new FixedAdvisorAopProxyFactory()); proxyFactory.setFrozen(true);
+ */
+public class FixedAdvisorAopProxyFactory implements AopProxyFactory {
+
+    public static final int MAX_ADVISORS = 4;
+
+    private final AopProxyFactory fallback = new DefaultAopProxyFactory();
+
+    /**
+     * ProxyFactory 에 전용 프록시를 적용한다. advisor 를 모두 추가한 뒤에 호출해야 한다.
+     */
+    public static ProxyFactory apply(ProxyFactory proxyFactory) {
+        proxyFactory.setAopProxyFactory(new FixedAdvisorAopProxyFactory());
+        proxyFactory.setFrozen(true);
+        return proxyFactory;
+    }
+
+    @Override
+    public AopProxy createAopProxy(AdvisedSupport config) throws AopConfigException {
+        if (!supports(config)) {
+            return fallback.createAopProxy(config);
+        }
+        FixedAdvisorChain chain = new FixedAdvisorChain(config);
+        if (useCglib(config)) {
+            return new FixedAdvisorCglibAopProxy(config, chain);
+        }
+        return new FixedAdvisorJdkAopProxy(config, chain);
+    }
+
+    static boolean supports(AdvisedSupport config) {
+        if (!config.isFrozen() || config.isExposeProxy() || !config.getTargetSource().isStatic()
+                || config.getTargetClass() == null) {
+            return false;
+        }
+        Advisor[] advisors = config.getAdvisors();
+        if (advisors.length == 0 || advisors.length > MAX_ADVISORS) {
+            return false;
+        }
+        for (Advisor advisor : advisors) {
+            Advice advice = advisor.getAdvice();
+            if (!(advisor instanceof PointcutAdvisor)
+                    || !(advice instanceof MethodInterceptor)
+                    || advice instanceof AbstractAspectJAdvice
+                    || ((PointcutAdvisor) advisor).getPointcut().getMethodMatcher().isRuntime()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * DefaultAopProxyFactory 와 같은 기준
+     */
+    private static boolean useCglib(AdvisedSupport config) {
+        Class<?> targetClass = config.getTargetClass();
+        if (!(config.isOptimize() || config.isProxyTargetClass() || hasNoUserSuppliedProxyInterfaces(config))) {
+            return false;
+        }
+        return !targetClass.isInterface() && !Proxy.isProxyClass(targetClass);
+    }
+
+    private static boolean hasNoUserSuppliedProxyInterfaces(AdvisedSupport config) {
+        Class<?>[] interfaces = config.getProxiedInterfaces();
+        return interfaces.length == 0 || (interfaces.length == 1 && SpringProxy.class.isAssignableFrom(interfaces[0]));
+    }
+}
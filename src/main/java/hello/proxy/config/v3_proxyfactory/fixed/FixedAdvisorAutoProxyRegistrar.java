@@ -0,0 +1,37 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import hello.proxy.config.flatten.FlatteningAspectJAutoProxyCreator;
+import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * 스프링 부트가 등록한 자동 프록시 생성기가 {@link FixedAdvisorAopProxyFactory} 로 frozen 프록시를 만들게 한다.
+ * : 기본 생성기({@link AnnotationAwareAspectJAutoProxyCreator})는 AopProxyFactory 를 바꿀 수 없으므로
+ *   {@link FlatteningAspectJAutoProxyCreator} 로 클래스 이름만 바꾼다. TimedAutoProxyCreatorRegistrar 가 있으면 한번 더 바뀐다.
+ *   합치기(flatten)는 켜지 않는다. (@EnableProxyFlattening)
+ * : 그 외의 생성기(InfrastructureAdvisorAutoProxyCreator 등)는 aopProxyFactory 속성이 없으므로 바꾸지 않는다.
+ * : frozen 프록시에는 다른 빈 후처리기가 advisor 를 합칠 수 없다. (감싸서 프록시를 하나 더 만든다.)
+ */
+public class FixedAdvisorAutoProxyRegistrar implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!beanFactory.containsBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)) {
+            return;
+        }
+        BeanDefinition definition = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        if (AnnotationAwareAspectJAutoProxyCreator.class.getName().equals(definition.getBeanClassName())) {
+            FlatteningAspectJAutoProxyCreator.replaceBeanClass(definition, FlatteningAspectJAutoProxyCreator.class);
+        } else if (!FlatteningAspectJAutoProxyCreator.isBeanClassOf(definition, beanFactory.getBeanClassLoader())) {
+            return;//aopProxyFactory 속성이 없는 생성기(InfrastructureAdvisorAutoProxyCreator 등)
+        }
+        MutablePropertyValues propertyValues = definition.getPropertyValues();
+        propertyValues.add("aopProxyFactory", new FixedAdvisorAopProxyFactory());
+        propertyValues.add("frozen", true);
+    }
+}
@@ -0,0 +1,78 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AopConfigException;
+import org.springframework.aop.framework.AopProxy;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.core.SpringNamingPolicy;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * CglibAopProxy 대신 사용하는 CGLIB 프록시
+ * : 콜백은 이 인터셉터 하나(finalize 제외)이고, target 은 MethodProxy(FastClass)로 호출한다.
+ * : 생성자를 호출하지 않고 Objenesis 로 인스턴스를 만든다. (CglibAopProxy 와 같다.)
+ */
+final class FixedAdvisorCglibAopProxy implements AopProxy, MethodInterceptor {
+
+    private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+    private static final int INTERCEPT = 0;
+    private static final int NO_OVERRIDE = 1;
+    //클래스 캐시 키에 포함되므로 인스턴스 하나를 공유한다.
+    private static final CallbackFilter FINALIZE_FILTER = method -> AopUtils.isFinalizeMethod(method) ? NO_OVERRIDE : INTERCEPT;
+
+    private final AdvisedSupport config;
+    private final FixedAdvisorChain chain;
+
+    FixedAdvisorCglibAopProxy(AdvisedSupport config, FixedAdvisorChain chain) {
+        this.config = config;
+        this.chain = chain;
+    }
+
+    @Override
+    public Object getProxy() {
+        return getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    @Override
+    public Object getProxy(ClassLoader classLoader) {
+        Class<?> superclass = config.getTargetClass();
+        if (superclass.getName().contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+            superclass = superclass.getSuperclass();//이미 CGLIB 프록시인 클래스는 원래 클래스를 상속한다.
+        }
+        Enhancer enhancer = new Enhancer();
+        if (classLoader != null) {
+            enhancer.setClassLoader(classLoader);
+        }
+        enhancer.setSuperclass(superclass);
+        enhancer.setInterfaces(AopProxyUtils.completeProxiedInterfaces(config));
+        enhancer.setNamingPolicy(SpringNamingPolicy.INSTANCE);
+        enhancer.setCallbackTypes(new Class[]{MethodInterceptor.class, NoOp.class});
+        enhancer.setCallbackFilter(FINALIZE_FILTER);
+        Class<?> proxyClass = enhancer.createClass();
+
+        Factory proxy;
+        try {
+            proxy = (Factory) OBJENESIS.newInstance(proxyClass, enhancer.getUseCache());
+        } catch (RuntimeException e) {
+            throw new AopConfigException("CGLIB 프록시 인스턴스를 만들 수 없습니다. class=" + proxyClass.getName(), e);
+        }
+        proxy.setCallbacks(new Callback[]{this, NoOp.INSTANCE});
+        return proxy;
+    }
+
+    @Override
+    public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        return chain.invoke(proxy, method, args, methodProxy);
+    }
+}
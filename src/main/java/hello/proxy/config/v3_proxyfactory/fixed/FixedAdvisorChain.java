@@ -0,0 +1,123 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AopConfigException;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 전용 프록시(JDK, CGLIB)가 함께 사용하는 호출 경로
+ * : 메서드별로 무엇을 호출할지(target, advisor 체인, Advised 설정 등)를 처음 호출 때 한번만 정해서 캐시한다.
+ * : frozen 설정이므로 advisor 가 바뀌지 않고, 캐시를 무효화할 필요가 없다.
+ */
+final class FixedAdvisorChain {
+
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    private final AdvisedSupport config;
+    private final Object target;
+    private final ConcurrentMap<Method, Entry> entries = new ConcurrentHashMap<>();
+
+    FixedAdvisorChain(AdvisedSupport config) {
+        this.config = config;
+        try {
+            this.target = config.getTargetSource().getTarget();//static TargetSource 만 사용하므로 한번만 조회한다.
+        } catch (Exception e) {
+            throw new AopConfigException("target 을 조회할 수 없습니다. targetSource=" + config.getTargetSource(), e);
+        }
+    }
+
+    /**
+     * @param methodProxy CGLIB 프록시면 target 을 리플렉션 없이 호출할 때 사용한다. JDK 프록시면 null
+     */
+    Object invoke(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        Entry entry = entries.get(method);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(method, this::resolve);
+        }
+        Object result;
+        switch (entry.kind) {
+            case EQUALS:
+                return proxy == args[0];
+            case HASH_CODE:
+                return System.identityHashCode(proxy);
+            case DECORATED_CLASS:
+                return AopProxyUtils.ultimateTargetClass(config);
+            case ADVISED:
+                return AopUtils.invokeJoinpointUsingReflection(config, method, args);
+            case TARGET:
+                result = invokeTarget(method, args, methodProxy);
+                break;
+            default:
+                FixedMethodInvocation invocation = FixedMethodInvocation.acquire(this, method, args, methodProxy, entry.interceptors);
+                try {
+                    result = invocation.proceed();
+                } finally {
+                    FixedMethodInvocation.release(invocation);
+                }
+        }
+        //JdkDynamicAopProxy, CglibAopProxy 와 같이 target 자신을 반환하면 프록시로 바꾼다.
+        if (result == target && method.getReturnType().isInstance(proxy)) {
+            return proxy;
+        }
+        return result;
+    }
+
+    Object getTarget() {
+        return target;
+    }
+
+    Object invokeTarget(Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        if (methodProxy != null && Modifier.isPublic(method.getModifiers())) {
+            return methodProxy.invoke(target, args);//CGLIB FastClass, 리플렉션 없이 호출
+        }
+        return AopUtils.invokeJoinpointUsingReflection(target, method, args);
+    }
+
+    private Entry resolve(Method method) {
+        if (ReflectionUtils.isEqualsMethod(method)) {
+            return new Entry(Kind.EQUALS, NO_INTERCEPTORS);
+        }
+        if (ReflectionUtils.isHashCodeMethod(method)) {
+            return new Entry(Kind.HASH_CODE, NO_INTERCEPTORS);
+        }
+        if (method.getDeclaringClass() == DecoratingProxy.class) {
+            return new Entry(Kind.DECORATED_CLASS, NO_INTERCEPTORS);
+        }
+        if (!config.isOpaque() && method.getDeclaringClass().isInterface()
+                && method.getDeclaringClass().isAssignableFrom(Advised.class)) {
+            return new Entry(Kind.ADVISED, NO_INTERCEPTORS);
+        }
+        //포인트컷 매칭은 기본 프록시와 같은 방법(AdvisorChainFactory)으로 한다.
+        List<Object> chain = config.getInterceptorsAndDynamicInterceptionAdvice(method, config.getTargetClass());
+        if (chain.isEmpty()) {
+            return new Entry(Kind.TARGET, NO_INTERCEPTORS);
+        }
+        return new Entry(Kind.CHAIN, chain.toArray(new MethodInterceptor[0]));//런타임 포인트컷은 supports() 에서 제외했다.
+    }
+
+    private enum Kind {
+        TARGET, CHAIN, EQUALS, HASH_CODE, DECORATED_CLASS, ADVISED
+    }
+
+    private static class Entry {
+        private final Kind kind;
+        private final MethodInterceptor[] interceptors;
+
+        private Entry(Kind kind, MethodInterceptor[] interceptors) {
+            this.kind = kind;
+            this.interceptors = interceptors;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AopProxy;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * JdkDynamicAopProxy 대신 사용하는 JDK 동적 프록시
+ */
+final class FixedAdvisorJdkAopProxy implements AopProxy, InvocationHandler {
+
+    private final AdvisedSupport config;
+    private final FixedAdvisorChain chain;
+
+    FixedAdvisorJdkAopProxy(AdvisedSupport config, FixedAdvisorChain chain) {
+        this.config = config;
+        this.chain = chain;
+    }
+
+    @Override
+    public Object getProxy() {
+        return getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    @Override
+    public Object getProxy(ClassLoader classLoader) {
+        //SpringProxy, Advised, DecoratingProxy 를 함께 구현한다. AopUtils.isAopProxy() 등이 기본 프록시와 같게 동작한다.
+        Class<?>[] interfaces = AopProxyUtils.completeProxiedInterfaces(config);
+        if (!config.isInterfaceProxied(DecoratingProxy.class)) {
+            interfaces = Arrays.copyOf(interfaces, interfaces.length + 1);
+            interfaces[interfaces.length - 1] = DecoratingProxy.class;//(config, true) 오버로드는 public 이 아니다.
+        }
+        return Proxy.newProxyInstance(classLoader, interfaces, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return chain.invoke(proxy, method, args, null);
+    }
+}
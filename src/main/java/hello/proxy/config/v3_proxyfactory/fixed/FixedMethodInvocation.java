@@ -0,0 +1,103 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+/**
+ * 스레드별로 재사용하는 {@link MethodInvocation}
+ * : 프록시 호출이 중첩되면(controller -> service -> repository) 깊이별로 다른 인스턴스를 사용한다.
+ * : 호출이 끝나면 참조를 지워서 target, 인자가 스레드에 남지 않게 한다.
+ */
+final class FixedMethodInvocation implements MethodInvocation {
+
+    private static final ThreadLocal<Stack> STACK = ThreadLocal.withInitial(Stack::new);
+
+    private final Stack stack;
+    private FixedAdvisorChain chain;
+    private Method method;
+    private Object[] arguments;
+    private MethodProxy methodProxy;
+    private MethodInterceptor[] interceptors;
+    private int index;
+
+    private FixedMethodInvocation(Stack stack) {
+        this.stack = stack;
+    }
+
+    static FixedMethodInvocation acquire(FixedAdvisorChain chain, Method method, Object[] arguments,
+                                         MethodProxy methodProxy, MethodInterceptor[] interceptors) {
+        FixedMethodInvocation invocation = STACK.get().push();
+        invocation.chain = chain;
+        invocation.method = method;
+        invocation.arguments = arguments;
+        invocation.methodProxy = methodProxy;
+        invocation.interceptors = interceptors;
+        invocation.index = 0;
+        return invocation;
+    }
+
+    static void release(FixedMethodInvocation invocation) {
+        invocation.chain = null;
+        invocation.method = null;
+        invocation.arguments = null;
+        invocation.methodProxy = null;
+        invocation.interceptors = null;
+        invocation.stack.pop();
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        if (index == interceptors.length) {
+            return chain.invokeTarget(method, arguments, methodProxy);
+        }
+        return interceptors[index++].invoke(this);
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    @Override
+    public Object getThis() {
+        return chain.getTarget();
+    }
+
+    @Override
+    public AccessibleObject getStaticPart() {
+        return method;
+    }
+
+    private static class Stack {
+        private FixedMethodInvocation[] invocations = new FixedMethodInvocation[8];
+        private int depth;
+
+        private FixedMethodInvocation push() {
+            if (depth == invocations.length) {
+                FixedMethodInvocation[] grown = new FixedMethodInvocation[depth * 2];
+                System.arraycopy(invocations, 0, grown, 0, depth);
+                invocations = grown;
+            }
+            FixedMethodInvocation invocation = invocations[depth];
+            if (invocation == null) {
+                invocation = new FixedMethodInvocation(this);
+                invocations[depth] = invocation;
+            }
+            depth++;
+            return invocation;
+        }
+
+        private void pop() {
+            depth--;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package hello.proxy.config.v3_proxyfactory.pregenerated;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 미리 생성한 프록시 클래스의 콜백, advisor 하나를 적용한다.
+ * : 포인트컷 매칭 결과는 메서드별로 캐시한다. (정적 매칭만 사용)
+ * : target 은 리플렉션으로 호출한다. MethodProxy 를 쓰면 런타임에 FastClass 를 생성하므로 사용하지 않는다.
+ * : Advised 메서드는 target, advisor 를 담은 설정 정보로 응답한다. 설정은 frozen 이라 advisor 를 추가, 삭제할 수 없다.
+ * : equals, hashCode 는 프록시 자신을 기준으로 하고, target 자신을 반환하는 메서드는 프록시를 반환한다.
+ */
+class AdvisorMethodInterceptor implements MethodInterceptor {
+
+    private final Object target;
+    private final Pointcut pointcut;
+    private final org.aopalliance.intercept.MethodInterceptor advice;
+    private final AdvisedSupport config;
+    private final Map<Method, Boolean> matches = new ConcurrentHashMap<>();
+
+    AdvisorMethodInterceptor(Object target, Advisor advisor) {
+        if (!(advisor.getAdvice() instanceof org.aopalliance.intercept.MethodInterceptor)) {
+            throw new IllegalArgumentException("MethodInterceptor advice 만 지원합니다. advice=" + advisor.getAdvice());
+        }
+        this.target = target;
+        this.pointcut = advisor instanceof PointcutAdvisor ? ((PointcutAdvisor) advisor).getPointcut() : Pointcut.TRUE;
+        this.advice = (org.aopalliance.intercept.MethodInterceptor) advisor.getAdvice();
+        this.config = new AdvisedSupport();
+        config.setTarget(target);
+        config.setProxyTargetClass(true);
+        config.addAdvisor(advisor);
+        config.setFrozen(true);
+    }
+
+    @Override
+    public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        if (ReflectionUtils.isEqualsMethod(method)) {
+            return proxy == args[0];
+        }
+        if (ReflectionUtils.isHashCodeMethod(method)) {
+            return System.identityHashCode(proxy);
+        }
+        if (isAdvisedMethod(method)) {
+            return AopUtils.invokeJoinpointUsingReflection(config, method, args);
+        }
+        Object result;
+        if (!matches.computeIfAbsent(method, this::matches)) {
+            result = AopUtils.invokeJoinpointUsingReflection(target, method, args);
+        } else {
+            result = advice.invoke(new TargetInvocation(target, method, args));
+        }
+        //CglibAopProxy 와 같이 target 자신을 반환하면 프록시로 바꾼다.
+        if (result == target && method.getReturnType().isInstance(proxy)) {
+            return proxy;
+        }
+        return result;
+    }
+
+    /**
+     * Advised, TargetClassAware 메서드 (CglibAopProxy 와 같은 기준)
+     */
+    static boolean isAdvisedMethod(Method method) {
+        return method.getDeclaringClass().isInterface() && method.getDeclaringClass().isAssignableFrom(Advised.class);
+    }
+
+    private boolean matches(Method method) {
+        Class<?> targetClass = target.getClass();
+        return pointcut.getClassFilter().matches(targetClass) && pointcut.getMethodMatcher().matches(method, targetClass);
+    }
+
+    private static class TargetInvocation implements MethodInvocation {
+
+        private final Object target;
+        private final Method method;
+        private final Object[] args;
+
+        TargetInvocation(Object target, Method method, Object[] args) {
+            this.target = target;
+            this.method = method;
+            this.args = args;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return args;
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            return AopUtils.invokeJoinpointUsingReflection(target, method, args);
+        }
+
+        @Override
+        public Object getThis() {
+            return target;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return method;
+        }
+    }
+}
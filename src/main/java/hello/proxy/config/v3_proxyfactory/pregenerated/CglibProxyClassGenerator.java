@@ -0,0 +1,67 @@
+package hello.proxy.config.v3_proxyfactory.pregenerated;
+
+import org.springframework.cglib.core.ClassGenerator;
+import org.springframework.cglib.core.DefaultGeneratorStrategy;
+import org.springframework.cglib.proxy.Enhancer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 빌드 시점에 CGLIB 프록시 클래스 파일을 생성하는 명령행 도구
+ *
+ * 사용법: CglibProxyClassGenerator <출력 디렉토리> <클래스 이름>...
+ * 예) ./gradlew generateCglibProxies
+ *
+ * Enhancer 가 만든 프록시 클래스의 바이트코드만 받아서 출력 디렉토리에 쓴다.
+ * (CGLIB 내부 KeyFactory 클래스 등은 런타임에 필요 없다.)
+ */
+public class CglibProxyClassGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: CglibProxyClassGenerator <output directory> <class name>...");
+            System.exit(1);
+        }
+        Path outputDirectory = Paths.get(args[0]);
+        for (int i = 1; i < args.length; i++) {
+            Class<?> type = Class.forName(args[i]);
+            String proxyClassName = CglibProxyClasses.proxyClassName(type);
+            write(outputDirectory.resolve(proxyClassName.replace('.', '/') + ".class"), generate(type));
+            System.out.println("generated " + proxyClassName);
+        }
+    }
+
+    /**
+     * 런타임 생성과 같은 설정으로 프록시 클래스를 만들고 그 바이트코드를 돌려준다.
+     * : 같은 이름의 클래스가 이미 로딩되어 있으면 Enhancer 가 다시 생성하지 않으므로 실패한다.
+     */
+    static byte[] generate(Class<?> type) {
+        CapturingGeneratorStrategy strategy = new CapturingGeneratorStrategy();
+        Enhancer enhancer = CglibProxyClasses.enhancer(type);
+        enhancer.setStrategy(strategy);
+        enhancer.createClass();
+        if (strategy.bytes == null) {
+            throw new IllegalStateException("프록시 클래스가 이미 로딩되어 있어 생성하지 않았습니다. proxyClass=" + CglibProxyClasses.proxyClassName(type));
+        }
+        return strategy.bytes;
+    }
+
+    private static void write(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.write(target, bytes);
+    }
+
+    private static class CapturingGeneratorStrategy extends DefaultGeneratorStrategy {
+
+        private byte[] bytes;
+
+        @Override
+        public byte[] generate(ClassGenerator cg) throws Exception {
+            bytes = super.generate(cg);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hello.proxy.config.v3_proxyfactory.pregenerated;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 빌드 시점에 미리 생성한 CGLIB 프록시 클래스를 읽어서 프록시를 만든다.
+ * : 프록시 클래스 이름은 고정이다. 예) hello.proxy.app.v2.OrderControllerV2$$LogTraceProxyByCGLIB
+ * : 클래스가 있으면 Enhancer 를 거치지 않고 objenesis 로 인스턴스만 만든 뒤 콜백을 넣는다. (바이트코드 생성 없음)
+ * : 클래스가 없으면(IDE 실행, -PcglibProxies 없이 빌드 등) 같은 이름으로 런타임에 생성한다.
+ * : 프록시는 SpringProxy, Advised 를 구현하므로 AopUtils, AopProxyUtils 로 ProxyFactory 프록시처럼 조회할 수 있다.
+ *
+ * 빌드: ./gradlew bootJar -PcglibProxies, generateCglibProxies 가 만든 build/cglib-proxies 가 main 출력에 포함되어 jar 에 들어간다.
+ */
+@Slf4j
+public final class CglibProxyClasses {
+
+    public static final String SUFFIX = "$$LogTraceProxyByCGLIB";
+
+    private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+    private static final Map<Class<?>, Class<?>> PROXY_CLASSES = new ConcurrentHashMap<>();
+
+    private CglibProxyClasses() {
+    }
+
+    public static String proxyClassName(Class<?> type) {
+        return type.getName() + SUFFIX;
+    }
+
+    /**
+     * 미리 생성한 프록시 클래스가 클래스패스에 있는지 확인한다.
+     */
+    public static boolean isPregenerated(Class<?> type) {
+        return PROXY_CLASSES.containsKey(type) || ClassUtils.isPresent(proxyClassName(type), type.getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T createProxy(T target, Advisor advisor) {
+        return (T) newInstance(target.getClass(), new AdvisorMethodInterceptor(target, advisor));
+    }
+
+    /**
+     * 프록시 클래스의 인스턴스를 만들고 모든 메서드 호출을 callback 으로 보낸다.
+     */
+    public static Object newInstance(Class<?> type, MethodInterceptor callback) {
+        Factory proxy = (Factory) OBJENESIS.newInstance(proxyClass(type));//생성자를 호출하지 않는다.
+        proxy.setCallback(0, callback);
+        return proxy;
+    }
+
+    public static Class<?> proxyClass(Class<?> type) {
+        return PROXY_CLASSES.computeIfAbsent(type, CglibProxyClasses::loadOrGenerate);
+    }
+
+    private static Class<?> loadOrGenerate(Class<?> type) {
+        String proxyClassName = proxyClassName(type);
+        try {
+            Class<?> proxyClass = ClassUtils.forName(proxyClassName, type.getClassLoader());
+            if (proxyClass.getSuperclass() != type || !Factory.class.isAssignableFrom(proxyClass) || !Advised.class.isAssignableFrom(proxyClass)) {
+                throw new IllegalStateException("CGLIB 프록시 클래스가 아닙니다. proxyClass=" + proxyClassName);
+            }
+            log.info("pregenerated proxy class={}", proxyClassName);
+            return proxyClass;
+        } catch (ClassNotFoundException e) {
+            log.warn("미리 생성한 프록시 클래스가 없어 런타임에 생성합니다. proxyClass={}", proxyClassName);
+            return enhancer(type).createClass();
+        }
+    }
+
+    /**
+     * 빌드 시점({@link CglibProxyClassGenerator})과 런타임 생성에 같은 설정을 사용한다.
+     * : 콜백은 {@link AdvisorMethodInterceptor} 하나, 클래스 이름은 고정
+     */
+    static Enhancer enhancer(Class<?> type) {
+        String proxyClassName = proxyClassName(type);
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setInterfaces(new Class[]{SpringProxy.class, Advised.class});
+        enhancer.setClassLoader(type.getClassLoader());
+        enhancer.setCallbackType(MethodInterceptor.class);
+        enhancer.setNamingPolicy((prefix, source, key, names) -> proxyClassName);
+        enhancer.setUseCache(false);
+        enhancer.setAttemptLoad(true);//같은 이름의 클래스가 이미 있으면 다시 정의하지 않는다.
+        return enhancer;
+    }
+}
@@ -2,6 +2,7 @@ package hello.proxy.config.v4_postprocessor;
 
 import hello.proxy.config.AppV1Config;
 import hello.proxy.config.AppV2Config;
+import hello.proxy.config.startup.ProxyStartupRecorder;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
 import hello.proxy.config.v4_postprocessor.postprocessor.PackageLogTracePostProcessor;
 import hello.proxy.trace.logtrace.LogTrace;
@@ -9,6 +10,7 @@ import org.aopalliance.aop.Advice;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,8 +28,8 @@ public class BeanPostProcessorConfig {
     private static final String[] POINTCUT_MAPPED_NAMES = {"request*", "order*", "save*"};
 
     @Bean
-    public BeanPostProcessor packageLogTracePostProcessor(LogTrace trace) {
-        return new PackageLogTracePostProcessor(logTraceAdvisor(trace), HELLO_PROXY_APP);
+    public BeanPostProcessor packageLogTracePostProcessor(LogTrace trace, ObjectProvider<ProxyStartupRecorder> recorder) {
+        return new PackageLogTracePostProcessor(logTraceAdvisor(trace), HELLO_PROXY_APP, recorder.getIfAvailable());//ProxyStartupConfig 가 있으면 시간 기록
     }
 
     public Advisor logTraceAdvisor(LogTrace trace) {
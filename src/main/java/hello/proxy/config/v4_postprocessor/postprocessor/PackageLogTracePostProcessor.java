@@ -1,36 +1,178 @@
 package hello.proxy.config.v4_postprocessor.postprocessor;
 
-import lombok.RequiredArgsConstructor;
+import hello.proxy.config.flatten.AdvisedBeans;
+import hello.proxy.config.startup.ProxyStartupRecorder;
+import hello.proxy.config.startup.ProxyType;
+import hello.proxy.config.v3_proxyfactory.pregenerated.CglibProxyClasses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.util.ClassUtils;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * basePackage 의 빈 중 advisor 포인트컷에 맞는 메서드가 하나라도 있는 빈에만 프록시를 적용한다.
+ * : 프록시 적용 여부와 프록시 설정(인터페이스, advisor)은 클래스별로 한번만 계산해서 캐시한다.
+ * : 포인트컷에 맞는 메서드가 없어서 프록시를 만들지 않은 빈은 컨텍스트 로딩이 끝날 때 로그로 남긴다.
+ * : 이미 프록시인 빈(예: ProxyFactoryConfigV2 의 수동 프록시)은 감싸지 않고 기존 advisor 체인에 합친다. ({@link AdvisedBeans})
+ */
 @Slf4j
-@RequiredArgsConstructor
-public class PackageLogTracePostProcessor implements BeanPostProcessor {
+public class PackageLogTracePostProcessor implements BeanPostProcessor, ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Decision NOT_TARGET = new Decision(null, false);
 
     private final Advisor advisor;
     private final String basePackage;
+    private final ProxyStartupRecorder recorder;//null 이면 시간을 기록하지 않는다.
+    private final Map<Class<?>, Decision> decisions = new ConcurrentHashMap<>();
+    private final Set<String> skippedBeans = ConcurrentHashMap.newKeySet();
+    private final Set<String> flattenedBeans = ConcurrentHashMap.newKeySet();
+
+    public PackageLogTracePostProcessor(Advisor advisor, String basePackage) {
+        this(advisor, basePackage, null);
+    }
+
+    public PackageLogTracePostProcessor(Advisor advisor, String basePackage, ProxyStartupRecorder recorder) {
+        this.advisor = advisor;
+        this.basePackage = basePackage;
+        this.recorder = recorder;
+    }
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        long startNs = System.nanoTime();
+        if (AdvisedBeans.canMerge(bean)) {
+            return flatten(bean, beanName, startNs);
+        }
         //프록시 적용 대상 체크
-        if (!isTargetBean(bean)) {
+        Decision decision = decisions.computeIfAbsent(bean.getClass(), this::decide);
+        if (decision.template == null) {
+            if (decision.skipped) {
+                skippedBeans.add(beanName);
+            }
+            record(beanName, bean, System.nanoTime() - startNs, 0, bean);
             return bean;
         }
-        //프록시 적용 대상일 경우 프록시 팩토리 생성
-        log.info("bean={}, beanName={}", bean, beanName);
-        ProxyFactory factory = new ProxyFactory(bean);
-        factory.addAdvisor(advisor);
-        Object proxy = factory.getProxy();
-        log.info("create proxy: target={} proxy={}", bean.getClass(), proxy.getClass());
+        long proxyStartNs = System.nanoTime();
+        Object proxy = decision.template.newProxy(bean);
+        log.info("create proxy: beanName={} target={} proxy={}", beanName, bean.getClass(), proxy.getClass());
+        record(beanName, bean, proxyStartNs - startNs, System.nanoTime() - proxyStartNs, proxy);
         return proxy;
     }
 
-    private boolean isTargetBean(Object bean) {
-        String packageName = bean.getClass().getPackageName();
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        log.info("skipped proxies={} (no pointcut match) beans={}", skippedBeans.size(), skippedBeans);
+        log.info("flattened proxies={} (advisor merged into existing proxy) beans={}", flattenedBeans.size(), flattenedBeans);
+    }
+
+    /**
+     * 포인트컷에 맞는 메서드가 없어서 프록시를 만들지 않은 빈 이름
+     */
+    public Set<String> getSkippedBeans() {
+        return Collections.unmodifiableSet(skippedBeans);
+    }
+
+    /**
+     * 기존 프록시에 advisor 를 합친 빈 이름
+     */
+    public Set<String> getFlattenedBeans() {
+        return Collections.unmodifiableSet(flattenedBeans);
+    }
+
+    /**
+     * 이미 프록시인 빈, 포인트컷은 프록시 클래스가 아니라 target 클래스로 확인한다.
+     */
+    private Object flatten(Object bean, String beanName, long startNs) {
+        Class<?> targetClass = AdvisedBeans.targetClass(bean);
+        Decision decision = decisions.computeIfAbsent(targetClass, this::decide);
+        if (decision.template == null || AdvisedBeans.merge(bean, List.of(advisor)).isEmpty()) {
+            return bean;
+        }
+        flattenedBeans.add(beanName);
+        log.info("flatten proxy: beanName={} target={} proxy={}", beanName, targetClass, bean.getClass());
+        if (recorder != null) {
+            recorder.recordFlattened(beanName, targetClass, System.nanoTime() - startNs,
+                    List.of(ProxyStartupRecorder.advisorName(advisor)), ProxyType.ofProxy(bean));
+        }
+        return bean;
+    }
+
+    private Decision decide(Class<?> beanClass) {
+        if (!isTargetClass(beanClass)) {
+            return NOT_TARGET;
+        }
+        //ClassFilter, 모든 메서드(인터페이스 포함)에 MethodMatcher 를 적용해본다.
+        if (!AopUtils.canApply(advisor, beanClass)) {
+            log.info("skip proxy: no pointcut match class={}", beanClass.getName());
+            return new Decision(null, true);
+        }
+        return new Decision(new ProxyTemplate(beanClass, advisor), false);
+    }
+
+    private void record(String beanName, Object bean, long matchNs, long proxyNs, Object result) {
+        if (recorder == null) {
+            return;
+        }
+        List<String> advisors = result == bean ? Collections.emptyList() : List.of(ProxyStartupRecorder.advisorName(advisor));
+        recorder.recordProxy(beanName, bean.getClass(), matchNs, proxyNs, advisors, ProxyType.of(bean, result));
+    }
+
+    private boolean isTargetClass(Class<?> beanClass) {
+        String packageName = beanClass.getPackageName();
         return packageName.startsWith(basePackage);
     }
+
+    private static class Decision {
+        private final ProxyTemplate template;//null 이면 프록시를 만들지 않는다.
+        private final boolean skipped;
+
+        private Decision(ProxyTemplate template, boolean skipped) {
+            this.template = template;
+            this.skipped = skipped;
+        }
+    }
+
+    /**
+     * 클래스별 프록시 설정, 빈마다 target 만 바꿔서 ProxyFactory 를 만든다.
+     * : 인터페이스 탐색, advisor 등록을 빈마다 반복하지 않는다.
+     * : 만들어진 프록시는 ProxyFactory 설정을 계속 참조하므로 템플릿 자체로 프록시를 만들지는 않는다.
+     */
+    private static class ProxyTemplate extends ProxyFactory {
+
+        private final boolean pregenerated;
+        private final Advisor advisor;
+
+        private ProxyTemplate() {
+            this.pregenerated = false;
+            this.advisor = null;
+        }
+
+        private ProxyTemplate(Class<?> beanClass, Advisor advisor) {
+            this.pregenerated = CglibProxyClasses.isPregenerated(beanClass);
+            this.advisor = advisor;
+            setInterfaces(ClassUtils.getAllInterfacesForClass(beanClass, beanClass.getClassLoader()));//new ProxyFactory(target) 와 같은 기준
+            addAdvisor(advisor);
+        }
+
+        private Object newProxy(Object target) {
+            if (pregenerated) {
+                return CglibProxyClasses.createProxy(target, advisor);//빌드 시점에 생성한 프록시 클래스 사용
+            }
+            ProxyTemplate factory = new ProxyTemplate();
+            factory.copyConfigurationFrom(this);
+            factory.setTarget(target);
+            return factory.getProxy();
+        }
+    }
 }
@@ -2,9 +2,11 @@ package hello.proxy.config.v5_autoproxy;
 
 import hello.proxy.config.AppV1Config;
 import hello.proxy.config.AppV2Config;
+import hello.proxy.config.pointcut.ExecutionPointcuts;
 import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
 import hello.proxy.trace.logtrace.LogTrace;
 import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
 import org.springframework.aop.support.NameMatchMethodPointcut;
@@ -57,7 +59,7 @@ public class AutoProxyConfig {
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
 
-    @Bean
+    //@Bean
     public Advisor advisor3(LogTrace trace) {
         //pointcut
         AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();//AspectJ 포인트컷 표현식을 적용할 수 있다.
@@ -67,4 +69,14 @@ public class AutoProxyConfig {
         LogTraceAdvice advice = new LogTraceAdvice(trace);
         return new DefaultPointcutAdvisor(pointcut, advice);
     }
+
+    @Bean
+    public Advisor advisor4(LogTrace trace) {
+        //pointcut
+        Pointcut pointcut = ExecutionPointcuts.of("execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))");//advisor3 과 같은 표현식, AspectJ shadow matching 없이 패키지 트라이, 이름 패턴으로 비교한다.
+
+        //advice
+        LogTraceAdvice advice = new LogTraceAdvice(trace);
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
 }
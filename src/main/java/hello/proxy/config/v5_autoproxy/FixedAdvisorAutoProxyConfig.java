@@ -0,0 +1,22 @@
+package hello.proxy.config.v5_autoproxy;
+
+import hello.proxy.config.v3_proxyfactory.fixed.FixedAdvisorAopProxyFactory;
+import hello.proxy.config.v3_proxyfactory.fixed.FixedAdvisorAutoProxyRegistrar;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * AutoProxyConfig 의 advisor 를 frozen 전용 프록시로 적용한다. ({@link FixedAdvisorAopProxyFactory})
+ * : @Aspect(AopConfig) 어드바이스가 섞인 빈은 기본 프록시로 만들어진다.
+ */
+@Configuration
+@Import(AutoProxyConfig.class)
+public class FixedAdvisorAutoProxyConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor fixedAdvisorAutoProxyRegistrar() {
+        return new FixedAdvisorAutoProxyRegistrar();
+    }
+}
@@ -0,0 +1,41 @@
+package hello.proxy.config.v5_autoproxy;
+
+import hello.proxy.config.AppV1Config;
+import hello.proxy.config.AppV2Config;
+import hello.proxy.config.lazy.LazyProxyPostProcessor;
+import hello.proxy.config.pointcut.ExecutionPointcuts;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.logtrace.LogTrace;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+/**
+ * AutoProxyConfig.advisor4 와 같은 advisor 를 첫 호출 때 적용한다.
+ * : 로딩 시점에는 ClassFilter 만 확인하고 placeholder 를 등록한다. 포인트컷 매칭, 프록시 클래스 생성은 처음 호출된 빈에만 한다.
+ * : 자동 프록시 생성기와 같이 spring.aop.proxy-target-class (기본 true) 를 따른다.
+ *   true 면 V1 도 CGLIB placeholder 를 사용하므로 구현 클래스 타입으로 주입받을 수 있다.
+ */
+@Configuration
+@Import({AppV1Config.class, AppV2Config.class})
+public class LazyAutoProxyConfig {
+
+    @Bean
+    public BeanPostProcessor lazyProxyPostProcessor(LogTrace trace, Environment environment) {
+        LazyProxyPostProcessor postProcessor = new LazyProxyPostProcessor(logTraceAdvisor(trace));
+        postProcessor.setProxyTargetClass(environment.getProperty("spring.aop.proxy-target-class", Boolean.class, true));
+        return postProcessor;
+    }
+
+    private Advisor logTraceAdvisor(LogTrace trace) {
+        //pointcut
+        //advice
+        return new DefaultPointcutAdvisor(
+                ExecutionPointcuts.of("execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))"),
+                new LogTraceAdvice(trace));
+    }
+}
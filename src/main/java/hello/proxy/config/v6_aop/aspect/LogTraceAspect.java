@@ -1,15 +1,22 @@
 package hello.proxy.config.v6_aop.aspect;
 
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import hello.proxy.trace.descriptor.SpanDescriptors;
+import hello.proxy.trace.future.TraceFutures;
+import hello.proxy.trace.level.TraceSwitch;
 import hello.proxy.trace.logtrace.LogTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.aop.aspectj.annotation.AnnotationAwareAspectJAutoProxyCreator;
 import org.springframework.aop.aspectj.annotation.BeanFactoryAspectJAdvisorsBuilder;
 
+import java.lang.reflect.Method;
+
 /**
  * {@link Aspect} 를 어드바이저로 변환해서 저장하는 과정
  * 1. 실행: 스프링 애플리케이션 로딩 시점에 자동 프록시 생성기를 호출한다.
@@ -36,6 +43,15 @@ public class LogTraceAspect {
     @Around(value = "execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))")//@Around 의 value 에 pointcut 의 표현식을 넣는다. 표현식은 AspectJ 표현식을 사용한다. @Around 의 메서드는 어드바이스(Advice) 가 된다.
     public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {// ProceedingJoinPoint; 어드바이스에서 살펴본 MethodInvocation invocation 과 유사한 기능이다. 내부에 실제 호출 대상, 전달 인자, 그리고 어떤 객체와 어떤 메서드가 호출되었는지 정보가 포함되어 있다.
 
+        if (TraceSwitch.isOff() || trace.isSampledOut()) {
+            return joinPoint.proceed();//추적을 껐거나 샘플링되지 않은 요청은 하위 span 을 기록하지 않는다.
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SpanDescriptor descriptor = SpanDescriptors.of(method);
+        if (!TraceSwitch.traces(descriptor)) {
+            return joinPoint.proceed();//ENTRY 레벨: 컨트롤러가 아닌 메서드
+        }
+
         //Advice 로직
         TraceStatus status = null;
 
@@ -44,14 +60,13 @@ public class LogTraceAspect {
         //log.info("getSignature={}", joinPoint.getSignature());
 
         try {
-            String message = joinPoint.getSignature().toShortString();
+            String message = descriptor.getSignatureName();//toShortString() 과 같은 형식, 메서드별로 캐시
             status = trace.begin(message);
 
             //로직 호출
             Object result = joinPoint.proceed();//실제 호출 대상(target) 을 호출한다.
 
-            trace.end(status);
-            return result;
+            return TraceFutures.endOnCompletion(trace, status, result);//CompletableFuture 면 완료될 때 span 을 끝낸다.
         } catch (Exception e) {
             trace.exception(status, e);
             throw e;
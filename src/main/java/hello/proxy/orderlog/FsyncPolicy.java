@@ -0,0 +1,23 @@
+package hello.proxy.orderlog;
+
+/**
+ * 주문 로그를 디스크에 반영(MappedByteBuffer.force)하는 시점
+ */
+public enum FsyncPolicy {
+
+    /**
+     * 기록할 때마다 반영한다. append 가 리턴하면 장애가 나도 주문이 남는다. 가장 느리다.
+     */
+    EVERY_WRITE,
+
+    /**
+     * 백그라운드 스레드가 주기적으로 반영한다. 장애가 나면 마지막 주기 동안의 주문을 잃을 수 있다.
+     */
+    PERIODIC,
+
+    /**
+     * 반영을 OS 페이지 캐시에 맡긴다. 세그먼트 교체, 종료 때도 force 하지 않는다.
+     * 프로세스 장애는 견디지만 OS 장애, 전원 장애에는 주문을 잃을 수 있다.
+     */
+    OS
+}
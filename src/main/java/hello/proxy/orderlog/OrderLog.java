@@ -0,0 +1,579 @@
+package hello.proxy.orderlog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 맵 세그먼트 파일에 주문을 append-only 로 기록하고, itemId 별 최신 주문 위치를 메모리 인덱스로 유지한다.
+ * : 세그먼트 파일을 segmentSize 크기로 만들고 mmap 한 뒤 엔트리를 이어서 쓴다. 가득 차면 다음 세그먼트로 교체(roll)한다.
+ * : 엔트리마다 payload 의 CRC32C 를 기록하고, payload 길이를 마지막에 써서 쓰는 도중의 엔트리는 길이가 0 으로 보인다.
+ * : 시작할 때 모든 세그먼트를 읽어 인덱스를 다시 만든다. CRC 가 맞지 않는 엔트리(장애로 일부만 기록된 엔트리)부터 그 세그먼트의 나머지는 버린다.
+ * : 디스크 반영 시점은 {@link FsyncPolicy} 로 정한다.
+ * : 압축(compact)은 봉인된 세그먼트에서 인덱스가 가리키는 엔트리(itemId 별 최신 주문)만 새 세그먼트로 옮기고 기존 파일을 지운다.
+ *   압축하면 itemId 별 최신 주문만 남는 last-write-wins 저장소가 된다. 같은 itemId 의 이전 주문(반복 주문)은 지워진다.
+ *   그래서 압축은 선택 사항이다. 기본(compactionThreshold=0)은 압축하지 않고 모든 주문을 보존한다.
+ *   같은 itemId 의 주문은 sequence 가 큰 것이 최신이므로, 압축 도중 장애로 기존 파일과 새 파일이 같이 남아도 복구 결과는 같다.
+ *
+ * 세그먼트 파일 구조: [header {@link #HEADER_SIZE} 바이트][entry][entry]... ({@link OrderRecord})
+ */
+@Slf4j
+public class OrderLog implements AutoCloseable {
+
+    public static final int MAGIC = 0x4f524431;//"ORD1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int FLAG_COMPACTED = 1;
+    public static final String SEGMENT_PREFIX = "orders-";
+    public static final String SEGMENT_SUFFIX = ".log";
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int VERSION_OFFSET = 4;
+    private static final int FLAGS_OFFSET = 8;
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final int compactionThreshold;
+    private final ConcurrentMap<String, Location> index = new ConcurrentHashMap<>();
+    private final List<Segment> sealed = new ArrayList<>();//this 로 동기화
+    private final ScheduledExecutorService background;
+    private final Object compactionLock = new Object();
+    private final long recoveredRecords;
+    private final long recoveryMs;
+    private volatile Segment active;
+    private long nextSequence;
+    private long nextSegmentIndex;
+    private boolean compactionScheduled;
+    private boolean closed;
+
+    public OrderLog(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, FsyncPolicy.PERIODIC, 1000, 0);
+    }
+
+    /**
+     * @param segmentSize 세그먼트 파일 하나의 바이트 크기
+     * @param fsyncPolicy 디스크 반영 시점
+     * @param fsyncIntervalMs {@link FsyncPolicy#PERIODIC} 의 반영 주기
+     * @param compactionThreshold 봉인된 세그먼트가 이 개수 이상이 되면 백그라운드에서 압축한다. 0 이면 {@link #compact()} 를 직접 호출할 때만 압축한다.
+     *                            압축하면 itemId 별 최신 주문만 남으므로 주문 이력이 필요하면 0 을 사용한다.
+     */
+    public OrderLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMs, int compactionThreshold) {
+        if (segmentSize < HEADER_SIZE + OrderRecord.entrySize(OrderRecord.MAX_ITEM_ID_BYTES)) {
+            throw new IllegalArgumentException("segmentSize 가 너무 작습니다. segmentSize=" + segmentSize);
+        }
+        if (compactionThreshold < 0) {
+            throw new IllegalArgumentException("compactionThreshold 는 0 이상이어야 합니다. compactionThreshold=" + compactionThreshold);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.compactionThreshold = compactionThreshold;
+
+        long startNs = System.nanoTime();
+        this.recoveredRecords = recover();
+        this.recoveryMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        log.info("order log recovered directory={} segments={} records={} items={} time={}ms",
+                directory, getSegmentCount(), recoveredRecords, index.size(), recoveryMs);
+
+        this.background = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "order-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (fsyncPolicy == FsyncPolicy.PERIODIC) {
+            background.scheduleWithFixedDelay(this::forceActive, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 주문을 기록한다. {@link FsyncPolicy#EVERY_WRITE} 면 디스크에 반영한 뒤 리턴한다.
+     */
+    public OrderRecord append(String itemId) {
+        byte[] itemIdBytes = itemId.getBytes(StandardCharsets.UTF_8);
+        if (itemIdBytes.length == 0 || itemIdBytes.length > OrderRecord.MAX_ITEM_ID_BYTES) {
+            throw new IllegalArgumentException("itemId 길이가 올바르지 않습니다. itemId=" + itemId);
+        }
+        long timestampMs = System.currentTimeMillis();
+        int size = OrderRecord.entrySize(itemIdBytes.length);
+        long sequence;
+        synchronized (this) {
+            checkOpen();
+            Segment segment = active;
+            if (segment.position + size > segment.capacity) {
+                segment = roll();
+            }
+            sequence = nextSequence++;
+            int offset = segment.position;
+            segment.write(offset, sequence, timestampMs, itemIdBytes);
+            segment.position += size;
+            if (fsyncPolicy == FsyncPolicy.EVERY_WRITE) {
+                segment.buffer.force();
+            }
+            index.put(itemId, new Location(segment, offset, sequence));//버퍼에 다 쓴 뒤에 공개한다.
+        }
+        return new OrderRecord(sequence, timestampMs, itemId);
+    }
+
+    /**
+     * itemId 의 최신 주문
+     */
+    public Optional<OrderRecord> find(String itemId) {
+        Location location = index.get(itemId);
+        if (location == null) {
+            return Optional.empty();
+        }
+        long timestampMs = location.segment.buffer.getLong(location.offset + OrderRecord.TIMESTAMP_OFFSET);
+        return Optional.of(new OrderRecord(location.sequence, timestampMs, itemId));
+    }
+
+    /**
+     * 봉인된 세그먼트를 압축한다. 기록은 압축 중에도 계속할 수 있다.
+     * : itemId 별 최신 주문만 남기고 같은 itemId 의 이전 주문은 지운다. (last-write-wins)
+     * @return 지운 세그먼트 수
+     */
+    public int compact() {
+        synchronized (compactionLock) {
+            List<Segment> inputs;
+            synchronized (this) {
+                checkOpen();
+                compactionScheduled = false;
+                inputs = new ArrayList<>(sealed);
+            }
+            if (inputs.isEmpty()) {
+                return 0;
+            }
+            long startNs = System.nanoTime();
+            Set<Segment> inputSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            inputSet.addAll(inputs);
+
+            //인덱스가 입력 세그먼트를 가리키는 엔트리만 살아있는 주문이다.
+            List<Segment> outputs = new ArrayList<>();
+            try (CompactionWriter writer = new CompactionWriter(outputs)) {
+                for (Map.Entry<String, Location> entry : index.entrySet()) {
+                    if (inputSet.contains(entry.getValue().segment)) {
+                        writer.copy(entry.getKey(), entry.getValue());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            synchronized (this) {
+                sealed.removeIf(inputSet::contains);
+                sealed.addAll(outputs);
+            }
+            for (Segment input : inputs) {
+                try {
+                    Files.deleteIfExists(input.file);//mapping 은 GC 될 때까지 유지되므로 읽던 스레드는 계속 읽을 수 있다.
+                } catch (IOException e) {
+                    log.warn("order log 세그먼트를 지울 수 없습니다. file={}", input.file, e);
+                }
+            }
+            log.info("order log compacted segments={} -> {}, time={}ms",
+                    inputs.size(), outputs.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs));
+            return inputs.size();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public synchronized int getSegmentCount() {
+        return sealed.size() + (active == null ? 0 : 1);
+    }
+
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    public long getRecoveryMs() {
+        return recoveryMs;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);//진행 중인 백그라운드 압축
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (compactionLock) {//다른 스레드가 직접 호출한 compact() 가 끝날 때까지 기다린다.
+            if (fsyncPolicy != FsyncPolicy.OS) {
+                active.buffer.force();
+            }
+        }
+    }
+
+    private Segment roll() {
+        Segment full = active;
+        if (fsyncPolicy != FsyncPolicy.OS) {
+            full.buffer.force();
+        }
+        sealed.add(full);
+        active = createSegment(nextSegmentIndex++);
+        if (compactionThreshold > 0 && sealed.size() >= compactionThreshold && !compactionScheduled) {
+            compactionScheduled = true;
+            background.execute(this::compactInBackground);
+        }
+        return active;
+    }
+
+    private void compactInBackground() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+        }
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.warn("order log 압축에 실패했습니다.", e);
+        }
+    }
+
+    private void forceActive() {
+        try {
+            active.buffer.force();
+        } catch (RuntimeException e) {
+            log.warn("order log fsync 에 실패했습니다.", e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("order log 가 종료되었습니다. directory=" + directory);
+        }
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 인덱스를 만든다.
+     * : 압축하지 않은 세그먼트 중 마지막 세그먼트를 이어서 쓴다. 나머지는 읽기 전용으로 봉인한다.
+     * @return 읽은 엔트리 수
+     */
+    private long recover() {
+        try {
+            Files.createDirectories(directory);
+            deleteTempFiles();
+            List<Path> files = listSegments(directory);
+            Path activeFile = null;
+            for (Path file : files) {
+                nextSegmentIndex = Math.max(nextSegmentIndex, segmentIndex(file) + 1);
+                if ((readFlags(file) & FLAG_COMPACTED) == 0) {
+                    activeFile = file;
+                }
+            }
+            long records = 0;
+            long maxSequence = -1;
+            for (Path file : files) {
+                Segment segment = file.equals(activeFile) ? mapSegment(file, FileChannel.MapMode.READ_WRITE) : mapSegment(file, FileChannel.MapMode.READ_ONLY);
+                Scan scan = scan(segment);
+                records += scan.records;
+                maxSequence = Math.max(maxSequence, scan.maxSequence);
+                if (segment.buffer.isReadOnly()) {
+                    sealed.add(segment);
+                    continue;
+                }
+                segment.position = scan.end;
+                if (scan.torn) {
+                    clear(segment.buffer, scan.end);//일부만 기록된 엔트리를 지워서 이어 쓴 엔트리와 섞이지 않게 한다.
+                }
+                active = segment;
+            }
+            nextSequence = maxSequence + 1;
+            if (active == null) {
+                active = createSegment(nextSegmentIndex++);
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Scan scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        ByteBuffer view = buffer.duplicate();//CRC 계산, itemId 읽기에 엔트리마다 재사용
+        byte[] itemIdBytes = new byte[OrderRecord.MAX_ITEM_ID_BYTES];
+        Scan scan = new Scan();
+        CRC32C crc = new CRC32C();
+        int offset = HEADER_SIZE;
+        while (offset + OrderRecord.PAYLOAD_OFFSET <= segment.capacity) {
+            int payloadLength = buffer.getInt(offset + OrderRecord.LENGTH_OFFSET);
+            if (payloadLength == 0) {
+                break;//아직 쓰이지 않은 영역
+            }
+            int entryEnd = offset + OrderRecord.PAYLOAD_OFFSET + payloadLength;
+            if (payloadLength < OrderRecord.PAYLOAD_FIXED_SIZE || payloadLength > segment.capacity - OrderRecord.PAYLOAD_OFFSET - offset
+                    || OrderRecord.PAYLOAD_FIXED_SIZE + (buffer.getShort(offset + OrderRecord.ITEM_ID_LENGTH_OFFSET) & 0xFFFF) != payloadLength
+                    || checksum(crc, view, offset, entryEnd) != buffer.getInt(offset + OrderRecord.CRC_OFFSET)) {
+                log.warn("order log 손상된 엔트리 이후를 버립니다. file={} offset={}", segment.file, offset);
+                scan.torn = true;
+                break;
+            }
+            int itemIdLength = payloadLength - OrderRecord.PAYLOAD_FIXED_SIZE;
+            view.limit(entryEnd).position(offset + OrderRecord.ITEM_ID_OFFSET);
+            view.get(itemIdBytes, 0, itemIdLength);
+            String itemId = new String(itemIdBytes, 0, itemIdLength, StandardCharsets.UTF_8);
+            long sequence = buffer.getLong(offset + OrderRecord.SEQUENCE_OFFSET);
+            Location location = new Location(segment, offset, sequence);
+            index.merge(itemId, location, (previous, current) -> current.sequence > previous.sequence ? current : previous);
+            scan.records++;
+            scan.maxSequence = Math.max(scan.maxSequence, sequence);
+            offset = entryEnd;
+        }
+        scan.end = offset;
+        return scan;
+    }
+
+    private Segment createSegment(long segmentIndex) {
+        Path file = segmentFile(segmentIndex, SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);//mapping 은 channel 을 닫아도 유지된다.
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            Segment segment = new Segment(file, buffer);
+            segment.position = HEADER_SIZE;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Segment mapSegment(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            MappedByteBuffer buffer = channel.map(mode, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IllegalStateException("order log 세그먼트가 아닙니다. file=" + file);
+            }
+            return new Segment(file, buffer);
+        }
+    }
+
+    private static int readFlags(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return header.position() < HEADER_SIZE ? 0 : header.getInt(FLAGS_OFFSET);
+        }
+    }
+
+    /**
+     * @param view position, limit 을 바꾸므로 세그먼트 버퍼의 duplicate 를 넘긴다.
+     */
+    private static int checksum(CRC32C crc, ByteBuffer view, int offset, int entryEnd) {
+        view.limit(entryEnd).position(offset + OrderRecord.PAYLOAD_OFFSET);
+        crc.reset();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    private static void clear(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    private void deleteTempFiles() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + TEMP_SUFFIX)) {
+            for (Path temp : stream) {
+                Files.delete(temp);//압축 도중 종료되어 남은 파일, 기존 세그먼트가 아직 있다.
+            }
+        }
+    }
+
+    private Path segmentFile(long segmentIndex, String suffix) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentIndex, suffix));
+    }
+
+    /**
+     * 디렉토리의 세그먼트 파일을 생성 순서대로 반환한다.
+     */
+    public static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)));
+        return segments;
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 살아있는 엔트리를 압축 세그먼트 파일로 복사한다.
+     * : 임시 파일에 필요한 크기만큼만 쓰고 force 한 뒤 이름을 바꾼다. 다 쓴 파일만 세그먼트로 보인다.
+     * : 파일을 다 쓰면 옮긴 엔트리의 인덱스를 새 위치로 바꾼다. 그 사이 새 주문이 기록된 itemId 는 바꾸지 않는다.
+     */
+    private class CompactionWriter implements AutoCloseable {
+
+        private final List<Segment> outputs;
+        private final ByteBuffer copyBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        private final List<Relocation> pending = new ArrayList<>();
+        private FileChannel channel;
+        private Path tempFile;
+        private Path file;
+        private int position;
+
+        private CompactionWriter(List<Segment> outputs) {
+            this.outputs = outputs;
+        }
+
+        private void copy(String itemId, Location from) throws IOException {
+            ByteBuffer source = from.segment.buffer;
+            int size = OrderRecord.PAYLOAD_OFFSET + source.getInt(from.offset + OrderRecord.LENGTH_OFFSET);
+            if (channel == null || position + size > segmentSize) {
+                finish();
+                start();
+            }
+            if (copyBuffer.remaining() < size) {
+                flush();
+            }
+            ByteBuffer entry = source.duplicate();
+            entry.limit(from.offset + size).position(from.offset);
+            copyBuffer.put(entry);
+            pending.add(new Relocation(itemId, from, position));
+            position += size;
+        }
+
+        private void start() throws IOException {
+            long segmentIndex;
+            synchronized (OrderLog.this) {
+                segmentIndex = nextSegmentIndex++;
+            }
+            file = segmentFile(segmentIndex, SEGMENT_SUFFIX);
+            tempFile = segmentFile(segmentIndex, SEGMENT_SUFFIX + TEMP_SUFFIX);
+            channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            copyBuffer.putInt(MAGIC).putInt(VERSION).putInt(FLAG_COMPACTED).putInt(0);
+            position = HEADER_SIZE;
+        }
+
+        private void flush() throws IOException {
+            copyBuffer.flip();
+            while (copyBuffer.hasRemaining()) {
+                channel.write(copyBuffer);
+            }
+            copyBuffer.clear();
+        }
+
+        private void finish() throws IOException {
+            if (channel == null) {
+                return;
+            }
+            flush();
+            channel.force(true);
+            channel.close();
+            channel = null;
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            Segment segment = mapSegment(file, FileChannel.MapMode.READ_ONLY);
+            outputs.add(segment);
+            for (Relocation relocation : pending) {
+                index.replace(relocation.itemId, relocation.from, new Location(segment, relocation.offset, relocation.from.sequence));
+            }
+            pending.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int position;//다음 엔트리 위치, active 세그먼트에서만 사용한다. OrderLog 로 동기화
+
+        private Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = buffer.limit();
+        }
+
+        /**
+         * payload, crc 를 먼저 쓰고 payload 길이를 마지막에 쓴다.
+         */
+        private void write(int offset, long sequence, long timestampMs, byte[] itemId) {
+            buffer.putLong(offset + OrderRecord.SEQUENCE_OFFSET, sequence);
+            buffer.putLong(offset + OrderRecord.TIMESTAMP_OFFSET, timestampMs);
+            buffer.putShort(offset + OrderRecord.ITEM_ID_LENGTH_OFFSET, (short) itemId.length);
+            for (int i = 0; i < itemId.length; i++) {
+                buffer.put(offset + OrderRecord.ITEM_ID_OFFSET + i, itemId[i]);
+            }
+            int entryEnd = offset + OrderRecord.entrySize(itemId.length);
+            buffer.putInt(offset + OrderRecord.CRC_OFFSET, checksum(new CRC32C(), buffer.duplicate(), offset, entryEnd));
+            buffer.putInt(offset + OrderRecord.LENGTH_OFFSET, entryEnd - offset - OrderRecord.PAYLOAD_OFFSET);
+        }
+    }
+
+    private static class Location {
+        private final Segment segment;
+        private final int offset;
+        private final long sequence;
+
+        private Location(Segment segment, int offset, long sequence) {
+            this.segment = segment;
+            this.offset = offset;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class Relocation {
+        private final String itemId;
+        private final Location from;
+        private final int offset;
+
+        private Relocation(String itemId, Location from, int offset) {
+            this.itemId = itemId;
+            this.from = from;
+            this.offset = offset;
+        }
+    }
+
+    private static class Scan {
+        private long records;
+        private long maxSequence = -1;
+        private int end;
+        private boolean torn;
+    }
+}
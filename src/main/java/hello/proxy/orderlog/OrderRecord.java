@@ -0,0 +1,55 @@
+package hello.proxy.orderlog;
+
+/**
+ * 주문 로그에 기록되는 주문 1건, 가변 길이 엔트리
+ *
+ *  offset  size  field
+ *  0       4     payloadLength (0 이면 아직 쓰이지 않은 영역)
+ *  4       4     crc (payload 의 CRC32C)
+ *  8       8     sequence (로그 전체에서 증가하는 번호, 같은 itemId 는 sequence 가 큰 주문이 최신)
+ *  16      8     timestampMs
+ *  24      2     itemIdLength
+ *  26      n     itemId (UTF-8)
+ */
+public class OrderRecord {
+
+    public static final int MAX_ITEM_ID_BYTES = 1024;
+
+    static final int LENGTH_OFFSET = 0;
+    static final int CRC_OFFSET = 4;
+    static final int PAYLOAD_OFFSET = 8;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int TIMESTAMP_OFFSET = 16;
+    static final int ITEM_ID_LENGTH_OFFSET = 24;
+    static final int ITEM_ID_OFFSET = 26;
+    static final int PAYLOAD_FIXED_SIZE = ITEM_ID_OFFSET - PAYLOAD_OFFSET;
+
+    private final long sequence;
+    private final long timestampMs;
+    private final String itemId;
+
+    public OrderRecord(long sequence, long timestampMs, String itemId) {
+        this.sequence = sequence;
+        this.timestampMs = timestampMs;
+        this.itemId = itemId;
+    }
+
+    /**
+     * itemId 바이트 길이가 itemIdBytes 인 엔트리 전체 크기
+     */
+    static int entrySize(int itemIdBytes) {
+        return ITEM_ID_OFFSET + itemIdBytes;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMs() {
+        return timestampMs;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+}
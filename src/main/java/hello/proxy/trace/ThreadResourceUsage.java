@@ -0,0 +1,49 @@
+package hello.proxy.trace;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 현재 스레드의 CPU 사용 시간, 할당 바이트 조회
+ * : {@link ThreadMXBean} 카운터를 사용한다. JVM 이 지원하지 않거나 꺼져 있으면 -1 을 반환한다.
+ * : wall-clock 시간(time=)만으로는 대기(sleep, I/O)와 실제 작업을 구분할 수 없어서 함께 기록한다.
+ */
+public class ThreadResourceUsage {
+
+    public static final long UNSUPPORTED = -1;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean SUN_THREAD_MX_BEAN = sunThreadMXBean();
+    private static final boolean CPU_TIME_ENABLED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+    private static final boolean ALLOCATED_BYTES_ENABLED = SUN_THREAD_MX_BEAN != null
+            && SUN_THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && SUN_THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
+
+    private ThreadResourceUsage() {
+    }
+
+    public static long currentCpuTimeNs() {
+        return CPU_TIME_ENABLED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : UNSUPPORTED;
+    }
+
+    public static long currentAllocatedBytes() {
+        return ALLOCATED_BYTES_ENABLED ? SUN_THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : UNSUPPORTED;
+    }
+
+    /**
+     * 시작 값과 현재 값의 차이, 어느 한쪽이라도 지원되지 않으면 -1
+     */
+    public static long elapsed(long start, long current) {
+        if (start == UNSUPPORTED || current == UNSUPPORTED) {
+            return UNSUPPORTED;
+        }
+        return current - start;
+    }
+
+    private static com.sun.management.ThreadMXBean sunThreadMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return (com.sun.management.ThreadMXBean) threadMXBean;
+        }
+        return null;
+    }
+}
@@ -1,43 +1,90 @@
 package hello.proxy.trace;
 
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * 트랜잭션 ID + 깊이(level)
+ * : id 는 스레드별 난수 생성기({@link ThreadLocalRandom})로 만든 32bit 값을 long 에 담는다.
+ *   UUID 의 SecureRandom 처럼 엔트로피를 기다리거나 스레드끼리 경합하지 않는다.
+ * : level 은 가변 값이다. 중첩 호출마다 새 TraceId 를 만들지 않고 {@link #nextLevel()}, {@link #previousLevel()} 로 깊이만 바꾼다.
+ *   그래서 하나의 요청에서 TraceId 는 최초 1번만 생성된다.
+ * : begin/end 가 항상 짝을 맞춰 호출되므로, end 시점의 level 은 begin 시점의 level 과 같다.
+ * : sampled 는 루트 TraceId 를 만들 때 한번 정해지고, false 면 그 요청의 span 은 기록하지 않는다.
+ */
 public class TraceId {
 
-    private String id;
+    private static final int ID_HEX_LENGTH = 8;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long id;
+    private final boolean sampled;
     private int level;
+    private String idText;//로그 출력용 문자열, 처음 필요할 때 한번만 만든다.
 
     public TraceId() {
-        this.id = createId();
-        this.level = 0;
+        this(true);
+    }
+
+    public TraceId(boolean sampled) {
+        this(createId(), 0, sampled);
     }
 
-    private TraceId(String id, int level) {
+    public TraceId(long id, int level) {
+        this(id, level, true);
+    }
+
+    public TraceId(long id, int level, boolean sampled) {
         this.id = id;
         this.level = level;
+        this.sampled = sampled;
     }
 
-    private String createId() {
-        return UUID.randomUUID().toString().substring(0, 8);
+    private static long createId() {
+        return ThreadLocalRandom.current().nextInt() & 0xFFFFFFFFL;
     }
 
-    public TraceId createNextId() {
-        return new TraceId(id, level + 1);
+    public void nextLevel() {
+        level++;
     }
 
-    public TraceId createPreviousId() {
-        return new TraceId(id, level - 1);
+    public void previousLevel() {
+        level--;
     }
 
     public boolean isFirstLevel() {
         return level == 0;
     }
 
+    /**
+     * 기존 UUID 앞 8자리와 같은 8자리 16진수 문자열
+     */
     public String getId() {
+        String text = idText;
+        if (text == null) {
+            text = toHex(id);
+            idText = text;
+        }
+        return text;
+    }
+
+    public long getIdValue() {
         return id;
     }
 
     public int getLevel() {
         return level;
     }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    private static String toHex(long value) {
+        char[] chars = new char[ID_HEX_LENGTH];
+        for (int i = ID_HEX_LENGTH - 1; i >= 0; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
 }
@@ -2,18 +2,34 @@ package hello.proxy.trace;
 
 public class TraceStatus {
 
-    private TraceId traceId;
-    private Long startTimeMs;
-    private String message;
+    private final TraceId traceId;
+    private final long startTimeNs;
+    private final long startCpuTimeNs;
+    private final long startAllocatedBytes;
+    private final String message;
 
-    public TraceStatus(TraceId traceId, Long startTimeMs, String message) {
+    public TraceStatus(TraceId traceId, long startTimeNs, String message) {
+        this(traceId, startTimeNs, ThreadResourceUsage.UNSUPPORTED, ThreadResourceUsage.UNSUPPORTED, message);
+    }
+
+    public TraceStatus(TraceId traceId, long startTimeNs, long startCpuTimeNs, long startAllocatedBytes, String message) {
         this.traceId = traceId;
-        this.startTimeMs = startTimeMs;
+        this.startTimeNs = startTimeNs;
+        this.startCpuTimeNs = startCpuTimeNs;
+        this.startAllocatedBytes = startAllocatedBytes;
         this.message = message;
     }
 
-    public Long getStartTimeMs() {
-        return startTimeMs;
+    public long getStartTimeNs() {
+        return startTimeNs;
+    }
+
+    public long getStartCpuTimeNs() {
+        return startCpuTimeNs;
+    }
+
+    public long getStartAllocatedBytes() {
+        return startAllocatedBytes;
     }
 
     public String getMessage() {
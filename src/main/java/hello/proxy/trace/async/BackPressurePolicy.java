@@ -0,0 +1,13 @@
+package hello.proxy.trace.async;
+
+/**
+ * 링 버퍼가 가득 찼을 때 요청 스레드가 취할 동작
+ * BLOCK: 슬롯이 빌 때까지 기다린다. 로그 유실은 없지만 요청 스레드가 느려질 수 있다.
+ * DROP_NEWEST: 새로 들어온 이벤트를 조용히 버린다.
+ * DROP_AND_COUNT: 새로 들어온 이벤트를 버리고 개수를 센다. 버려진 개수는 consumer 가 주기적으로 로그로 남긴다.
+ */
+public enum BackPressurePolicy {
+    BLOCK,
+    DROP_NEWEST,
+    DROP_AND_COUNT
+}
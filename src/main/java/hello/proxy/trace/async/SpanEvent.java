@@ -0,0 +1,59 @@
+package hello.proxy.trace.async;
+
+/**
+ * 링 버퍼 슬롯에 미리 할당해두고 재사용하는 span 이벤트
+ * 요청 스레드는 값만 채우고, 문자열 조립은 consumer 스레드에서 한다.
+ */
+public class SpanEvent {
+
+    public static final byte BEGIN = 0;
+    public static final byte COMPLETE = 1;
+    public static final byte EXCEPTION = 2;
+
+    private byte type;
+    private String traceId;
+    private int level;
+    private String message;
+    private long resultTimeMs;
+    private Exception exception;
+
+    public void set(byte type, String traceId, int level, String message, long resultTimeMs, Exception exception) {
+        this.type = type;
+        this.traceId = traceId;
+        this.level = level;
+        this.message = message;
+        this.resultTimeMs = resultTimeMs;
+        this.exception = exception;
+    }
+
+    void clear() {
+        //슬롯이 재사용되기 전까지 메시지, 예외가 GC 되지 않는 것을 막는다.
+        this.traceId = null;
+        this.message = null;
+        this.exception = null;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getResultTimeMs() {
+        return resultTimeMs;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+}
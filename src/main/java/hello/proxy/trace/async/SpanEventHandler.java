@@ -0,0 +1,5 @@
+package hello.proxy.trace.async;
+
+public interface SpanEventHandler {
+    void onEvent(SpanEvent event);
+}
@@ -0,0 +1,110 @@
+package hello.proxy.trace.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 다중 생산자 - 단일 소비자 lock-free 링 버퍼
+ * : 슬롯마다 시퀀스 번호를 두고(bounded MPMC queue 방식) 생산자는 CAS 로 tail 을 선점한다.
+ * : 이벤트 객체는 생성 시점에 모두 할당해두고 재사용하므로 발행(publish) 경로에서 객체를 새로 만들지 않는다.
+ *
+ * 사용 순서
+ * 1. 생산자: {@link #tryClaim()} 으로 시퀀스를 얻는다. 가득 찼으면 -1 이다.
+ * 2. 생산자: {@link #get(long)} 으로 얻은 슬롯에 값을 채운다.
+ * 3. 생산자: {@link #publish(long)} 으로 소비자에게 공개한다.
+ * 4. 소비자: {@link #drain(SpanEventHandler)} 로 공개된 이벤트를 순서대로 처리한다.
+ */
+public class SpanEventRingBuffer {
+
+    private final int mask;
+    private final SpanEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;//소비자 스레드만 쓴다.
+
+    public SpanEventRingBuffer(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize 는 0 보다 커야 합니다. bufferSize=" + bufferSize);
+        }
+        int capacity = ceilingPowerOfTwo(bufferSize);
+        this.mask = capacity - 1;
+        this.events = new SpanEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new SpanEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    public long tryClaim() {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get(index(position));
+            long diff = sequence - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return -1;//가득 참
+            } else {
+                position = tail.get();//다른 생산자가 먼저 선점했다.
+            }
+        }
+    }
+
+    public SpanEvent get(long sequence) {
+        return events[index(sequence)];
+    }
+
+    public void publish(long sequence) {
+        sequences.lazySet(index(sequence), sequence + 1);
+    }
+
+    /**
+     * 공개된 이벤트를 모두 처리한다. 소비자 스레드 하나에서만 호출해야 한다.
+     * @return 처리한 이벤트 수
+     */
+    public int drain(SpanEventHandler handler) {
+        int count = 0;
+        long position = head;
+        while (true) {
+            int index = index(position);
+            if (sequences.get(index) != position + 1) {
+                break;//아직 공개되지 않았다.
+            }
+            SpanEvent event = events[index];
+            try {
+                handler.onEvent(event);
+            } finally {
+                event.clear();
+                sequences.lazySet(index, position + events.length);//슬롯 반환
+                position++;
+                head = position;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 선점되었지만 아직 소비되지 않은 이벤트가 있는지 확인한다.
+     */
+    public boolean hasPending() {
+        return head != tail.get();
+    }
+
+    public int getCapacity() {
+        return events.length;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+}
@@ -0,0 +1,40 @@
+package hello.proxy.trace.context;
+
+import hello.proxy.trace.TraceId;
+
+/**
+ * 다른 스레드로 넘기기 위한 trace 상태 스냅샷
+ * : {@link TraceId} 는 level 이 가변이라 스레드끼리 공유할 수 없다. 그래서 값만 복사해 두고,
+ *   작업 스레드에서는 같은 id, 같은 level 의 새 TraceId 를 만들어 이어서 기록한다.
+ */
+public final class TraceContext {
+
+    private final long traceId;
+    private final int level;
+    private final boolean sampled;
+
+    private TraceContext(long traceId, int level, boolean sampled) {
+        this.traceId = traceId;
+        this.level = level;
+        this.sampled = sampled;
+    }
+
+    public static TraceContext of(TraceId traceId) {
+        return new TraceContext(traceId.getIdValue(), traceId.getLevel(), traceId.isSampled());
+    }
+
+    /**
+     * 작업 스레드에서 사용할 TraceId, 이 TraceId 로 시작하는 span 은 부모 span 의 하위 level 이 된다.
+     */
+    public TraceId toTraceId() {
+        return new TraceId(traceId, level, sampled);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+}
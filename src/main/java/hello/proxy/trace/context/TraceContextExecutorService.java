@@ -0,0 +1,94 @@
+package hello.proxy.trace.context;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 제출하는 모든 작업을 {@link TraceContextPropagation} 으로 감싸는 ExecutorService
+ */
+class TraceContextExecutorService implements ExecutorService {
+
+    private final ExecutorService target;
+    private final TraceContextPropagation propagation;
+
+    TraceContextExecutorService(ExecutorService target, TraceContextPropagation propagation) {
+        this.target = target;
+        this.propagation = propagation;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        target.execute(propagation.runnable(command));
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return target.submit(propagation.runnable(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return target.submit(propagation.runnable(task), result);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return target.submit(propagation.callable(task));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        return target.invokeAll(wrap(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
+        return target.invokeAll(wrap(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        return target.invokeAny(wrap(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return target.invokeAny(wrap(tasks), timeout, unit);
+    }
+
+    private <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+        return tasks.stream().map(propagation::callable).collect(Collectors.toList());
+    }
+
+    @Override
+    public void shutdown() {
+        target.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return target.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return target.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return target.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return target.awaitTermination(timeout, unit);
+    }
+}
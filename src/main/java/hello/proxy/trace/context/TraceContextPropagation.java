@@ -0,0 +1,87 @@
+package hello.proxy.trace.context;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 다른 스레드에서 실행되는 작업을 부모 trace 에 이어 붙인다.
+ * : 작업을 감쌀 때(제출 시점) 현재 스레드의 trace 를 capture 하고, 작업 스레드에서 실행 직전에 attach, 실행 후에 되돌린다.
+ *
+ * CompletableFuture 예)
+ * <pre>
+ * Executor executor = propagation.contextExecutor(pool);
+ * CompletableFuture.supplyAsync(supplier, executor).thenApplyAsync(function, executor);
+ * </pre>
+ * : thenApplyAsync 처럼 앞 단계가 끝날 때 제출되는 작업은 어느 스레드에서 제출될지 알 수 없으므로,
+ *   {@link #contextExecutor(Executor)} 로 만드는 시점의 trace 를 고정해서 사용한다.
+ */
+public class TraceContextPropagation {
+
+    private final TraceContextSupport support;
+
+    public TraceContextPropagation(TraceContextSupport support) {
+        this.support = support;
+    }
+
+    public Runnable runnable(Runnable task) {
+        TraceContext context = support.capture();
+        return () -> {
+            try (TraceScope ignored = support.attach(context)) {
+                task.run();
+            }
+        };
+    }
+
+    public <T> Callable<T> callable(Callable<T> task) {
+        TraceContext context = support.capture();
+        return () -> {
+            try (TraceScope ignored = support.attach(context)) {
+                return task.call();
+            }
+        };
+    }
+
+    public <T> Supplier<T> supplier(Supplier<T> task) {
+        TraceContext context = support.capture();
+        return () -> {
+            try (TraceScope ignored = support.attach(context)) {
+                return task.get();
+            }
+        };
+    }
+
+    public <T, R> Function<T, R> function(Function<T, R> task) {
+        TraceContext context = support.capture();
+        return value -> {
+            try (TraceScope ignored = support.attach(context)) {
+                return task.apply(value);
+            }
+        };
+    }
+
+    /**
+     * 작업을 제출하는 스레드의 trace 를 전파하는 Executor
+     */
+    public Executor executor(Executor executor) {
+        return task -> executor.execute(runnable(task));
+    }
+
+    public ExecutorService executorService(ExecutorService executorService) {
+        return new TraceContextExecutorService(executorService, this);
+    }
+
+    /**
+     * 지금 스레드의 trace 를 고정해서 전파하는 Executor, 어느 스레드에서 제출하든 같은 trace 에 붙는다.
+     */
+    public Executor contextExecutor(Executor executor) {
+        TraceContext context = support.capture();
+        return task -> executor.execute(() -> {
+            try (TraceScope ignored = support.attach(context)) {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package hello.proxy.trace.context;
+
+/**
+ * 현재 스레드의 trace 상태를 꺼내고(capture), 다른 스레드에 붙이는(attach) 기능
+ */
+public interface TraceContextSupport {
+
+    /**
+     * 아무 것도 전파하지 않는 구현, 스레드 상태를 쓰지 않는 LogTrace 에 사용한다.
+     */
+    TraceContextSupport NONE = new TraceContextSupport() {
+        @Override
+        public TraceContext capture() {
+            return null;
+        }
+
+        @Override
+        public TraceScope attach(TraceContext context) {
+            return () -> {
+            };
+        }
+    };
+
+    /**
+     * @return 진행 중인 trace 가 없으면 null
+     */
+    TraceContext capture();
+
+    /**
+     * 현재 스레드에 context 를 붙인다. context 가 null 이면 현재 스레드의 trace 상태를 비운다.
+     * 반환한 {@link TraceScope} 를 닫으면 붙이기 전 상태로 돌아간다. 스레드 풀의 스레드에 trace 상태가 남지 않는다.
+     */
+    TraceScope attach(TraceContext context);
+}
@@ -0,0 +1,10 @@
+package hello.proxy.trace.context;
+
+/**
+ * {@link TraceContextSupport#attach(TraceContext)} 로 바꾼 스레드의 trace 상태를 원래대로 되돌린다.
+ */
+public interface TraceScope extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -0,0 +1,87 @@
+package hello.proxy.trace.cost;
+
+/**
+ * {@link SpanCostAggregator} 의 span 메시지 하나에 대한 누적 비용 스냅샷
+ */
+public class SpanCost {
+
+    private final String message;
+    private final long count;
+    private final long errorCount;
+    private final long totalWallTimeNs;
+    private final long totalCpuTimeNs;
+    private final long totalAllocatedBytes;
+    private final long cpuSamples;//CPU 시간을 측정할 수 있었던 호출 수
+    private final long allocSamples;//할당 바이트를 측정할 수 있었던 호출 수
+
+    public SpanCost(String message, long count, long errorCount, long totalWallTimeNs,
+                    long totalCpuTimeNs, long cpuSamples, long totalAllocatedBytes, long allocSamples) {
+        this.message = message;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalWallTimeNs = totalWallTimeNs;
+        this.totalCpuTimeNs = totalCpuTimeNs;
+        this.cpuSamples = cpuSamples;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+        this.allocSamples = allocSamples;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getTotalWallTimeNs() {
+        return totalWallTimeNs;
+    }
+
+    public long getTotalCpuTimeNs() {
+        return totalCpuTimeNs;
+    }
+
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes;
+    }
+
+    public long getCpuSamples() {
+        return cpuSamples;
+    }
+
+    public long getAllocSamples() {
+        return allocSamples;
+    }
+
+    public double getAvgWallTimeMs() {
+        return average(totalWallTimeNs, count) / 1_000_000.0;
+    }
+
+    /**
+     * 측정할 수 없었던 호출(가상 스레드, detach 된 span 등)은 평균에서 뺀다.
+     */
+    public double getAvgCpuTimeMs() {
+        return average(totalCpuTimeNs, cpuSamples) / 1_000_000.0;
+    }
+
+    public double getAvgAllocatedBytes() {
+        return average(totalAllocatedBytes, allocSamples);
+    }
+
+    /**
+     * 평균 CPU 시간 / 평균 wall-clock 시간, 1에 가까우면 계산, 0에 가까우면 대기(sleep, I/O)가 대부분이다.
+     */
+    public double getCpuRatio() {
+        double avgWallTimeNs = average(totalWallTimeNs, count);
+        return avgWallTimeNs == 0 ? 0 : average(totalCpuTimeNs, cpuSamples) / avgWallTimeNs;
+    }
+
+    private static double average(long total, long samples) {
+        return samples == 0 ? 0 : (double) total / samples;
+    }
+}
@@ -0,0 +1,73 @@
+package hello.proxy.trace.cost;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * span 메시지(예: OrderControllerV1.request()) 별 누적 비용
+ * : 호출 수, wall-clock 시간, CPU 시간, 할당 바이트를 {@link LongAdder} 로 누적한다. 요청 스레드끼리 락 경합이 없다.
+ * : 루트 span 은 엔드포인트 하나에 해당하므로 엔드포인트별 비용도 여기서 볼 수 있다.
+ */
+public class SpanCostAggregator {
+
+    private final ConcurrentMap<String, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * @param cpuTimeNs      지원되지 않으면 음수
+     * @param allocatedBytes 지원되지 않으면 음수
+     */
+    public void record(String message, long wallTimeNs, long cpuTimeNs, long allocatedBytes, boolean failed) {
+        Accumulator accumulator = accumulators.get(message);
+        if (accumulator == null) {
+            accumulator = accumulators.computeIfAbsent(message, key -> new Accumulator());
+        }
+        accumulator.count.increment();
+        accumulator.wallTimeNs.add(wallTimeNs);
+        if (cpuTimeNs >= 0) {
+            accumulator.cpuTimeNs.add(cpuTimeNs);
+            accumulator.cpuSamples.increment();
+        }
+        if (allocatedBytes >= 0) {
+            accumulator.allocatedBytes.add(allocatedBytes);
+            accumulator.allocSamples.increment();
+        }
+        if (failed) {
+            accumulator.errorCount.increment();
+        }
+    }
+
+    /**
+     * 총 wall-clock 시간이 큰 순서로 정렬한 스냅샷
+     */
+    public List<SpanCost> snapshot() {
+        List<SpanCost> result = new ArrayList<>();
+        accumulators.forEach((message, accumulator) -> result.add(new SpanCost(message,
+                accumulator.count.sum(),
+                accumulator.errorCount.sum(),
+                accumulator.wallTimeNs.sum(),
+                accumulator.cpuTimeNs.sum(),
+                accumulator.cpuSamples.sum(),
+                accumulator.allocatedBytes.sum(),
+                accumulator.allocSamples.sum())));
+        result.sort(Comparator.comparingLong(SpanCost::getTotalWallTimeNs).reversed());
+        return result;
+    }
+
+    public void reset() {
+        accumulators.clear();
+    }
+
+    private static class Accumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder wallTimeNs = new LongAdder();
+        private final LongAdder cpuTimeNs = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder cpuSamples = new LongAdder();
+        private final LongAdder allocSamples = new LongAdder();
+    }
+}
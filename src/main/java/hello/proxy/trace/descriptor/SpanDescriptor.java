@@ -0,0 +1,56 @@
+package hello.proxy.trace.descriptor;
+
+import java.lang.reflect.Method;
+
+/**
+ * 프록시 대상 메서드 하나의 span 정보
+ * : 호출마다 만들던 span 이름을 메서드별로 한번만 만들어 둔다. {@link SpanDescriptors#of(Method)} 로 조회한다.
+ */
+public final class SpanDescriptor {
+
+    public static final int FLAG_OBJECT_METHOD = 1;//toString, hashCode 처럼 Object 에 선언된 메서드
+    public static final int FLAG_NO_ARGS = 1 << 1;
+    public static final int FLAG_VOID = 1 << 2;
+    public static final int FLAG_ENTRY_POINT = 1 << 3;//@Controller, @RequestMapping 타입(인터페이스 포함)에 선언된 메서드
+
+    private final int id;
+    private final String name;
+    private final String signatureName;
+    private final int flags;
+
+    SpanDescriptor(int id, String name, String signatureName, int flags) {
+        this.id = id;
+        this.name = name;
+        this.signatureName = signatureName;
+        this.flags = flags;
+    }
+
+    /**
+     * 같은 name 이면 같은 id, 예) 인터페이스 메서드와 구현 메서드
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * OrderControllerV1.request()
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * AspectJ Signature.toShortString() 과 같은 형식, 예) OrderControllerV1.request(..)
+     */
+    public String getSignatureName() {
+        return signatureName;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+}
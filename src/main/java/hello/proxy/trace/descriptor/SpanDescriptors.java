@@ -0,0 +1,72 @@
+package hello.proxy.trace.descriptor;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Method} 별 {@link SpanDescriptor} 캐시
+ * : LogTraceAdvice, LogTraceBasicHandler, LogTraceFilterHandler, LogTraceAspect 가 함께 사용한다.
+ * : 처음 호출될 때 한번만 문자열을 만들고, 이후에는 ConcurrentHashMap 조회 한번으로 끝난다.
+ */
+public final class SpanDescriptors {
+
+    private static final ConcurrentMap<Method, SpanDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private SpanDescriptors() {
+    }
+
+    public static SpanDescriptor of(Method method) {
+        SpanDescriptor descriptor = DESCRIPTORS.get(method);
+        if (descriptor == null) {
+            descriptor = DESCRIPTORS.computeIfAbsent(method, SpanDescriptors::create);
+        }
+        return descriptor;
+    }
+
+    private static SpanDescriptor create(Method method) {
+        String prefix = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String name = prefix + "()";
+        boolean noArgs = method.getParameterCount() == 0;
+        String signatureName = noArgs ? name : prefix + "(..)";
+
+        int flags = 0;
+        if (method.getDeclaringClass() == Object.class) {
+            flags |= SpanDescriptor.FLAG_OBJECT_METHOD;
+        }
+        if (noArgs) {
+            flags |= SpanDescriptor.FLAG_NO_ARGS;
+        }
+        if (method.getReturnType() == void.class) {
+            flags |= SpanDescriptor.FLAG_VOID;
+        }
+        if (isEntryPoint(method.getDeclaringClass())) {
+            flags |= SpanDescriptor.FLAG_ENTRY_POINT;
+        }
+        return new SpanDescriptor(intern(name), name, signatureName, flags);
+    }
+
+    private static boolean isEntryPoint(Class<?> type) {
+        //상위 타입, 인터페이스까지 찾는다. 예) OrderControllerV1Impl -> OrderControllerV1 의 @RequestMapping
+        return AnnotatedElementUtils.hasAnnotation(type, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(type, RequestMapping.class);
+    }
+
+    private static int intern(String name) {
+        return IDS.computeIfAbsent(name, key -> NEXT_ID.incrementAndGet());
+    }
+
+    /**
+     * 지금까지 만든 descriptor 수
+     */
+    public static int size() {
+        return DESCRIPTORS.size();
+    }
+}
@@ -0,0 +1,78 @@
+package hello.proxy.trace.future;
+
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.LogTrace;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 비동기 메서드(CompletableFuture 반환)의 span 을 메서드가 리턴할 때가 아니라 future 가 완료될 때 끝낸다.
+ * : 아직 완료되지 않은 future 면 {@link LogTrace#detach(TraceStatus)} 로 span 을 호출 스레드에서 떼어내고,
+ *   호출 스레드는 바로 부모 level 로 돌아간다. 떼어낸 span 은 future 를 완료하는 스레드에서 end/exception 한다.
+ * : 부모 span 은 자식이 리턴한 future 에 이어서 완료되므로, 완료 로그도 자식 -> 부모 순서로 남는다.
+ * : detach 를 지원하지 않는 LogTrace 는 기존처럼 메서드가 리턴할 때 span 을 끝낸다.
+ * : future 가 아닌 결과는 바로 end 한다.
+ * : 호출한 쪽이 받은 future 를 취소하면 원래 future 도 취소한다. span 은 CancellationException 으로 끝난다.
+ */
+public final class TraceFutures {
+
+    private TraceFutures() {
+    }
+
+    /**
+     * 어드바이스용, 결과 타입을 모르는 경우
+     * @return future 면 span 을 끝낸 뒤 완료되는 future, 아니면 result 그대로
+     */
+    public static Object endOnCompletion(LogTrace trace, TraceStatus status, Object result) {
+        if (result instanceof CompletableFuture) {
+            return endOnCompletion(trace, status, (CompletableFuture<?>) result);
+        }
+        trace.end(status);
+        return result;
+    }
+
+    /**
+     * 반환 타입이 CompletableFuture 인 메서드용 (컴파일 시점에 생성한 프록시)
+     */
+    public static <T> CompletableFuture<T> endOnCompletion(LogTrace trace, TraceStatus status, CompletableFuture<T> future) {
+        if (future.isDone()) {
+            complete(trace, status, future.handle((value, ex) -> ex).getNow(null));//이미 완료됨: 호출 스레드에서 바로 끝낸다.
+            return future;
+        }
+        TraceStatus detached = trace.detach(status);
+        if (detached == null) {
+            trace.end(status);
+            return future;
+        }
+        //호출한 쪽은 span 이 끝난 뒤 완료되는 future 를 받는다.
+        //whenComplete 가 만든 future 는 취소해도 원래 future 로 전달되지 않고, 먼저 취소되면 액션도 실행되지 않으므로 직접 완료한다.
+        CompletableFuture<T> traced = new CompletableFuture<>();
+        future.whenComplete((value, ex) -> {
+            try {
+                complete(trace, detached, ex);
+            } finally {
+                if (ex == null) {
+                    traced.complete(value);
+                } else {
+                    traced.completeExceptionally(ex);
+                }
+            }
+        });
+        traced.whenComplete((value, ex) -> {
+            if (traced.isCancelled()) {
+                future.cancel(false);
+            }
+        });
+        return traced;
+    }
+
+    private static void complete(LogTrace trace, TraceStatus status, Throwable ex) {
+        if (ex == null) {
+            trace.end(status);
+            return;
+        }
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        trace.exception(status, cause instanceof Exception ? (Exception) cause : new CompletionException(cause));
+    }
+}
@@ -0,0 +1,112 @@
+package hello.proxy.trace.journal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * span 메시지, 예외 타입 이름을 숫자 id 로 바꿔서 저장하는 사전
+ * : 저널 레코드에는 문자열 대신 id 만 기록하고, id - 문자열 매핑은 사전 파일({@link #FILE_NAME})에 한 줄씩 추가한다.
+ * : 새 문자열이 처음 나올 때만 파일에 쓰므로 요청 경로에서는 대부분 ConcurrentHashMap 조회 1번으로 끝난다.
+ */
+public class MessageDictionary {
+
+    public static final String FILE_NAME = "messages.dict";
+    public static final int NONE = 0;
+
+    private static final char SEPARATOR = '\t';
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> texts = new ConcurrentHashMap<>();
+    private final Path file;
+    private int lastId = NONE;
+
+    private MessageDictionary(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 기존 사전 파일이 있으면 읽어서 id 를 이어서 사용한다.
+     */
+    public static MessageDictionary open(Path directory) {
+        MessageDictionary dictionary = new MessageDictionary(directory.resolve(FILE_NAME));
+        dictionary.load();
+        return dictionary;
+    }
+
+    public int intern(String text) {
+        Integer id = ids.get(text);
+        if (id != null) {
+            return id;
+        }
+        return register(text);
+    }
+
+    public String get(int id) {
+        return texts.get(id);
+    }
+
+    private synchronized int register(String text) {
+        Integer id = ids.get(text);
+        if (id != null) {
+            return id;
+        }
+        int newId = lastId + 1;
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(newId + String.valueOf(SEPARATOR) + escape(text) + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastId = newId;
+        texts.put(newId, text);
+        ids.put(text, newId);
+        return newId;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    continue;//마지막 줄이 쓰다 만 상태일 수 있다.
+                }
+                int id = Integer.parseInt(line.substring(0, separator));
+                String text = unescape(line.substring(separator + 1));
+                texts.put(id, text);
+                ids.put(text, id);
+                lastId = Math.max(lastId, id);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
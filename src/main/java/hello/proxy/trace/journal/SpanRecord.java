@@ -0,0 +1,71 @@
+package hello.proxy.trace.journal;
+
+/**
+ * 저널에 기록되는 span 1건, 고정 길이({@link #SIZE} 바이트) 레코드
+ *
+ *  offset  size  field
+ *  0       4     type (0 이면 아직 쓰이지 않은 영역)
+ *  4       4     depth
+ *  8       8     traceId
+ *  16      4     messageId (MessageDictionary)
+ *  20      4     exceptionTypeId (0 이면 정상 종료)
+ *  24      8     startNanos
+ *  32      8     endNanos
+ */
+public class SpanRecord {
+
+    public static final int SIZE = 40;
+    public static final int TYPE_SPAN = 1;
+
+    static final int TYPE_OFFSET = 0;
+    static final int DEPTH_OFFSET = 4;
+    static final int TRACE_ID_OFFSET = 8;
+    static final int MESSAGE_ID_OFFSET = 16;
+    static final int EXCEPTION_TYPE_ID_OFFSET = 20;
+    static final int START_NANOS_OFFSET = 24;
+    static final int END_NANOS_OFFSET = 32;
+
+    private final long traceId;
+    private final int depth;
+    private final int messageId;
+    private final int exceptionTypeId;
+    private final long startNanos;
+    private final long endNanos;
+
+    public SpanRecord(long traceId, int depth, int messageId, int exceptionTypeId, long startNanos, long endNanos) {
+        this.traceId = traceId;
+        this.depth = depth;
+        this.messageId = messageId;
+        this.exceptionTypeId = exceptionTypeId;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getMessageId() {
+        return messageId;
+    }
+
+    public int getExceptionTypeId() {
+        return exceptionTypeId;
+    }
+
+    public boolean isFailed() {
+        return exceptionTypeId != MessageDictionary.NONE;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+}
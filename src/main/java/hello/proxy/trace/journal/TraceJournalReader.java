@@ -0,0 +1,51 @@
+package hello.proxy.trace.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link TraceJournalWriter} 가 남긴 세그먼트 파일을 읽는다.
+ */
+public class TraceJournalReader {
+
+    private final Path directory;
+
+    public TraceJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    public List<SpanRecord> readAll() throws IOException {
+        List<SpanRecord> records = new ArrayList<>();
+        for (Path segment : TraceJournalWriter.listSegments(directory)) {
+            read(segment, records);
+        }
+        return records;
+    }
+
+    private void read(Path segment, List<SpanRecord> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < TraceJournalWriter.HEADER_SIZE || buffer.getInt(0) != TraceJournalWriter.MAGIC) {
+                throw new IllegalStateException("trace journal 세그먼트가 아닙니다. file=" + segment);
+            }
+            int recordSize = buffer.getInt(4);
+            for (int offset = TraceJournalWriter.HEADER_SIZE; offset + recordSize <= buffer.limit(); offset += recordSize) {
+                if (buffer.getInt(offset + SpanRecord.TYPE_OFFSET) != SpanRecord.TYPE_SPAN) {
+                    continue;//아직 쓰이지 않았거나 쓰는 도중에 종료된 레코드
+                }
+                records.add(new SpanRecord(
+                        buffer.getLong(offset + SpanRecord.TRACE_ID_OFFSET),
+                        buffer.getInt(offset + SpanRecord.DEPTH_OFFSET),
+                        buffer.getInt(offset + SpanRecord.MESSAGE_ID_OFFSET),
+                        buffer.getInt(offset + SpanRecord.EXCEPTION_TYPE_ID_OFFSET),
+                        buffer.getLong(offset + SpanRecord.START_NANOS_OFFSET),
+                        buffer.getLong(offset + SpanRecord.END_NANOS_OFFSET)));
+            }
+        }
+    }
+}
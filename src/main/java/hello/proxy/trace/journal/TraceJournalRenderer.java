@@ -0,0 +1,93 @@
+package hello.proxy.trace.journal;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * trace journal 을 {@link ThreadLocalLogTrace} 와 같은 트리 형식의 텍스트로 출력하는 명령행 도구
+ *
+ * 사용법: TraceJournalRenderer <journal 디렉토리> [traceId]
+ * 예) ./gradlew renderTraceJournal -PjournalArgs="trace-journal 1a2b3c4d"
+ *
+ * 레코드는 span 이 끝나는 순서(자식 -> 부모)로 기록되므로,
+ * traceId 별로 모은 뒤 시작 시간 순으로 정렬하고 depth 로 스택을 맞춰서 시작(-->), 종료(<--, <X-) 줄을 다시 만든다.
+ */
+public class TraceJournalRenderer {
+
+    private final MessageDictionary dictionary;
+    private final PrintStream out;
+
+    public TraceJournalRenderer(MessageDictionary dictionary, PrintStream out) {
+        this.dictionary = dictionary;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: TraceJournalRenderer <journal directory> [traceId]");
+            System.exit(1);
+        }
+        Path directory = Paths.get(args[0]);
+        String traceIdFilter = args.length > 1 ? args[1] : null;
+
+        List<SpanRecord> records = new TraceJournalReader(directory).readAll();
+        new TraceJournalRenderer(MessageDictionary.open(directory), System.out).render(records, traceIdFilter);
+    }
+
+    public void render(List<SpanRecord> records, String traceIdFilter) {
+        Map<Long, List<SpanRecord>> traces = new LinkedHashMap<>();
+        for (SpanRecord record : records) {
+            traces.computeIfAbsent(record.getTraceId(), key -> new ArrayList<>()).add(record);
+        }
+        for (Map.Entry<Long, List<SpanRecord>> entry : traces.entrySet()) {
+            String traceId = new TraceId(entry.getKey(), 0).getId();
+            if (traceIdFilter == null || traceIdFilter.equals(traceId)) {
+                renderTrace(traceId, entry.getValue());
+            }
+        }
+    }
+
+    private void renderTrace(String traceId, List<SpanRecord> spans) {
+        spans.sort(Comparator.comparingLong(SpanRecord::getStartNanos).thenComparingInt(SpanRecord::getDepth));
+        Deque<SpanRecord> stack = new ArrayDeque<>();
+        for (SpanRecord span : spans) {
+            while (!stack.isEmpty() && stack.peek().getDepth() >= span.getDepth()) {
+                printComplete(traceId, stack.pop());
+            }
+            out.println("[" + traceId + "] " + ThreadLocalLogTrace.addSpace(ThreadLocalLogTrace.START_PREFIX, span.getDepth()) + message(span.getMessageId()));
+            stack.push(span);
+        }
+        while (!stack.isEmpty()) {
+            printComplete(traceId, stack.pop());
+        }
+    }
+
+    private void printComplete(String traceId, SpanRecord span) {
+        long resultTimeMs = TimeUnit.NANOSECONDS.toMillis(span.getEndNanos() - span.getStartNanos());
+        if (span.isFailed()) {
+            out.println("[" + traceId + "] " + ThreadLocalLogTrace.addSpace(ThreadLocalLogTrace.EX_PREFIX, span.getDepth())
+                    + message(span.getMessageId()) + " time=" + resultTimeMs + "ms ex=" + message(span.getExceptionTypeId()));
+        } else {
+            out.println("[" + traceId + "] " + ThreadLocalLogTrace.addSpace(ThreadLocalLogTrace.COMPLETE_PREFIX, span.getDepth())
+                    + message(span.getMessageId()) + " time=" + resultTimeMs + "ms");
+        }
+    }
+
+    private String message(int id) {
+        String text = dictionary.get(id);
+        return text == null ? "#" + id : text;
+    }
+}
@@ -0,0 +1,149 @@
+package hello.proxy.trace.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메모리 맵 세그먼트 파일에 {@link SpanRecord} 를 기록한다.
+ * : 세그먼트 파일을 미리 정해진 크기로 만들고 mmap 한 뒤, 각 스레드는 CAS 로 레코드 위치를 선점해서 바로 버퍼에 쓴다.
+ *   포맷팅, 시스템 콜, 락이 없다. 디스크 반영은 OS 페이지 캐시에 맡긴다.
+ * : 세그먼트가 가득 차면 다음 세그먼트로 교체(rotate)하고, 세그먼트 개수가 maxSegments 를 넘으면 오래된 파일부터 지운다.
+ *
+ * 세그먼트 파일 구조: [header {@link #HEADER_SIZE} 바이트][record][record]...
+ */
+public class TraceJournalWriter implements AutoCloseable {
+
+    public static final int MAGIC = 0x54524a31;//"TRJ1"
+    public static final int HEADER_SIZE = 16;
+    public static final String SEGMENT_PREFIX = "trace-";
+    public static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Deque<Path> segmentFiles = new ArrayDeque<>();
+    private volatile Segment current;
+    private long nextSegmentIndex;
+
+    /**
+     * @param segmentSize 세그먼트 파일 하나의 바이트 크기
+     * @param maxSegments 디스크에 남겨둘 최대 세그먼트 수
+     */
+    public TraceJournalWriter(Path directory, int segmentSize, int maxSegments) {
+        if (segmentSize < HEADER_SIZE + SpanRecord.SIZE) {
+            throw new IllegalArgumentException("segmentSize 가 너무 작습니다. segmentSize=" + segmentSize);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("maxSegments 는 1 이상이어야 합니다. maxSegments=" + maxSegments);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+            for (Path existing : listSegments(directory)) {
+                segmentFiles.addLast(existing);
+                nextSegmentIndex = Math.max(nextSegmentIndex, segmentIndex(existing) + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.current = openNextSegment();
+    }
+
+    public void write(long traceId, int depth, int messageId, int exceptionTypeId, long startNanos, long endNanos) {
+        while (true) {
+            Segment segment = current;
+            int position = segment.position.getAndAdd(SpanRecord.SIZE);
+            if (position + SpanRecord.SIZE <= segmentSize) {
+                segment.write(position, traceId, depth, messageId, exceptionTypeId, startNanos, endNanos);
+                return;
+            }
+            rotate(segment);
+        }
+    }
+
+    private synchronized void rotate(Segment full) {
+        if (current != full) {
+            return;//다른 스레드가 이미 교체했다.
+        }
+        full.buffer.force();
+        current = openNextSegment();
+    }
+
+    private synchronized Segment openNextSegment() {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);//mapping 은 channel 을 닫아도 유지된다.
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, SpanRecord.SIZE);
+            segmentFiles.addLast(file);
+            deleteOldSegments();
+            return new Segment(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteOldSegments() throws IOException {
+        while (segmentFiles.size() > maxSegments) {
+            Files.deleteIfExists(segmentFiles.removeFirst());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        current.buffer.force();
+    }
+
+    /**
+     * 디렉토리의 세그먼트 파일을 생성 순서대로 반환한다.
+     */
+    public static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentIndex(a), segmentIndex(b)));
+        return segments;
+    }
+
+    private static long segmentIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static class Segment {
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger position = new AtomicInteger(HEADER_SIZE);
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * 절대 위치 put 만 사용하므로 스레드마다 서로 다른 영역에 동시에 써도 된다.
+         * type 을 마지막에 써서, 읽는 쪽은 type 이 0 인 레코드를 아직 쓰는 중인 것으로 본다.
+         */
+        private void write(int offset, long traceId, int depth, int messageId, int exceptionTypeId, long startNanos, long endNanos) {
+            buffer.putInt(offset + SpanRecord.DEPTH_OFFSET, depth);
+            buffer.putLong(offset + SpanRecord.TRACE_ID_OFFSET, traceId);
+            buffer.putInt(offset + SpanRecord.MESSAGE_ID_OFFSET, messageId);
+            buffer.putInt(offset + SpanRecord.EXCEPTION_TYPE_ID_OFFSET, exceptionTypeId);
+            buffer.putLong(offset + SpanRecord.START_NANOS_OFFSET, startNanos);
+            buffer.putLong(offset + SpanRecord.END_NANOS_OFFSET, endNanos);
+            buffer.putInt(offset + SpanRecord.TYPE_OFFSET, SpanRecord.TYPE_SPAN);
+        }
+    }
+}
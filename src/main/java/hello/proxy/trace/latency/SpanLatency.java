@@ -0,0 +1,54 @@
+package hello.proxy.trace.latency;
+
+/**
+ * {@link SpanLatencyRecorder} 의 span 메시지 하나에 대한 지연 시간 분포 스냅샷
+ * : 백분위 값은 히스토그램 버킷의 상한값이라 실제 값보다 최대 약 6% 크게 보일 수 있다.
+ */
+public class SpanLatency {
+
+    private final String message;
+    private final long count;
+    private final long errorCount;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p99Ms;
+    private final double p999Ms;
+
+    public SpanLatency(String message, long count, long errorCount, double p50Ms, double p90Ms, double p99Ms, double p999Ms) {
+        this.message = message;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.p999Ms = p999Ms;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getP999Ms() {
+        return p999Ms;
+    }
+}
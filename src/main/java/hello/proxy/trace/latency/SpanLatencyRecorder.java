@@ -0,0 +1,134 @@
+package hello.proxy.trace.latency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * span 메시지(예: OrderServiceV1.orderItem()) 별 지연 시간 히스토그램
+ * : 시간을 slotSeconds 단위 구간으로 나누고 구간마다 {@link LogHistogram} 을 하나씩 둔다.
+ *   조회할 때 최근 구간들을 합쳐서 슬라이딩 윈도우(예: 최근 1분, 5분)의 백분위를 계산한다.
+ * : 구간 배열은 링 버퍼처럼 재사용한다. 오래된 구간은 그 자리에 새 구간이 기록될 때 비운다.
+ */
+public class SpanLatencyRecorder {
+
+    public static final int DEFAULT_SLOT_SECONDS = 10;
+    public static final int DEFAULT_MAX_WINDOW_SECONDS = 300;
+
+    private final ConcurrentMap<String, WindowedHistogram> histograms = new ConcurrentHashMap<>();
+    private final long slotNanos;
+    private final int slotCount;
+
+    public SpanLatencyRecorder() {
+        this(DEFAULT_SLOT_SECONDS, DEFAULT_MAX_WINDOW_SECONDS);
+    }
+
+    /**
+     * @param slotSeconds      구간 하나의 길이, 윈도우는 이 단위로 잘린다.
+     * @param maxWindowSeconds 조회할 수 있는 가장 긴 윈도우
+     */
+    public SpanLatencyRecorder(int slotSeconds, int maxWindowSeconds) {
+        if (slotSeconds <= 0 || maxWindowSeconds < slotSeconds) {
+            throw new IllegalArgumentException("slotSeconds=" + slotSeconds + ", maxWindowSeconds=" + maxWindowSeconds);
+        }
+        this.slotNanos = TimeUnit.SECONDS.toNanos(slotSeconds);
+        this.slotCount = maxWindowSeconds / slotSeconds + 1;//진행 중인 구간 하나를 더 둔다.
+    }
+
+    public void record(String message, long wallTimeNs, boolean failed) {
+        WindowedHistogram histogram = histograms.get(message);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(message, key -> new WindowedHistogram(slotCount));
+        }
+        histogram.record(currentSlot(), wallTimeNs, failed);
+    }
+
+    /**
+     * 최근 windowSeconds 동안의 분포, p99 가 큰 순서로 정렬한다.
+     * : 진행 중인 구간을 포함하므로 실제로는 windowSeconds ~ windowSeconds + slotSeconds 구간이다.
+     */
+    public List<SpanLatency> snapshot(int windowSeconds) {
+        int windowSlots = (int) Math.min(slotCount - 1, Math.max(1, TimeUnit.SECONDS.toNanos(windowSeconds) / slotNanos));
+        long currentSlot = currentSlot();
+        List<SpanLatency> result = new ArrayList<>();
+        histograms.forEach((message, histogram) -> {
+            SpanLatency latency = histogram.snapshot(message, currentSlot, windowSlots);
+            if (latency.getCount() > 0) {
+                result.add(latency);
+            }
+        });
+        result.sort(Comparator.comparingDouble(SpanLatency::getP99Ms).reversed());
+        return result;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    private long currentSlot() {
+        return System.nanoTime() / slotNanos;
+    }
+
+    private static class WindowedHistogram {
+
+        private final Slot[] slots;
+
+        private WindowedHistogram(int slotCount) {
+            slots = new Slot[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        private void record(long slotNumber, long value, boolean failed) {
+            Slot slot = slots[(int) Math.floorMod(slotNumber, (long) slots.length)];
+            if (slot.slotNumber != slotNumber) {
+                slot.rotate(slotNumber);
+            }
+            slot.histogram.record(value, failed);
+        }
+
+        private SpanLatency snapshot(String message, long currentSlot, int windowSlots) {
+            long[] counts = new long[LogHistogram.BUCKET_COUNT];
+            long count = 0;
+            long errorCount = 0;
+            for (Slot slot : slots) {
+                long age = currentSlot - slot.slotNumber;
+                if (age < 0 || age > windowSlots) {
+                    continue;
+                }
+                slot.histogram.addTo(counts);
+                count += slot.histogram.getCount();
+                errorCount += slot.histogram.getErrorCount();
+            }
+            return new SpanLatency(message, count, errorCount,
+                    percentileMs(counts, count, 50),
+                    percentileMs(counts, count, 90),
+                    percentileMs(counts, count, 99),
+                    percentileMs(counts, count, 99.9));
+        }
+
+        private static double percentileMs(long[] counts, long count, double percentile) {
+            return LogHistogram.valueAtPercentile(counts, count, percentile) / 1_000_000.0;
+        }
+    }
+
+    private static class Slot {
+
+        private final LogHistogram histogram = new LogHistogram();
+        private volatile long slotNumber = Long.MIN_VALUE;
+
+        /**
+         * 구간이 바뀔 때(slotSeconds 마다 한번)만 락을 잡는다. 비우는 도중에 기록된 값 몇 개는 유실될 수 있다.
+         */
+        private synchronized void rotate(long newSlotNumber) {
+            if (slotNumber != newSlotNumber) {
+                histogram.reset();
+                slotNumber = newSlotNumber;
+            }
+        }
+    }
+}
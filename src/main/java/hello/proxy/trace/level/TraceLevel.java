@@ -0,0 +1,28 @@
+package hello.proxy.trace.level;
+
+import hello.proxy.trace.descriptor.SpanDescriptor;
+
+/**
+ * 어드바이스가 span 을 기록할 범위
+ */
+public enum TraceLevel {
+
+    /**
+     * 기록하지 않는다. 어드바이스는 바로 target 을 호출한다.
+     */
+    OFF,
+
+    /**
+     * 컨트롤러(@Controller, @RequestMapping 타입) 메서드만 기록한다. 요청당 span 하나
+     */
+    ENTRY,
+
+    /**
+     * 포인트컷에 맞는 모든 메서드를 기록한다.
+     */
+    ALL;
+
+    boolean traces(SpanDescriptor descriptor) {
+        return this == ALL || (this == ENTRY && descriptor.hasFlag(SpanDescriptor.FLAG_ENTRY_POINT));
+    }
+}
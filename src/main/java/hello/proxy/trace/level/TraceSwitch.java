@@ -0,0 +1,65 @@
+package hello.proxy.trace.level;
+
+import hello.proxy.trace.descriptor.SpanDescriptor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * 재시작, 프록시 재생성 없이 LogTraceAspect, LogTraceAdvice, v2 InvocationHandler 의 기록 범위를 바꾸는 스위치
+ * : 현재 레벨은 {@link MutableCallSite} 의 상수 MethodHandle 로 들고 있다.
+ *   static final 로 잡은 dynamicInvoker 는 JIT 가 상수로 접어서, 레벨 비교가 컴파일된 코드에서 분기 하나로 끝난다. (volatile 읽기도 없다.)
+ * : 레벨을 바꾸면 call site 에 의존하는 컴파일 코드를 deoptimize 하고 새 상수로 다시 컴파일한다.
+ *   자주 바꾸는 값이 아니므로 변경 비용은 크지만, 호출 경로 비용은 0 에 가깝다.
+ * : 프록시, 어드바이스 인스턴스와 상관없이 애플리케이션 전체에 적용된다. 변경은 POST /trace/level?level=OFF
+ */
+@Slf4j
+public final class TraceSwitch {
+
+    private static final MutableCallSite LEVEL = new MutableCallSite(constant(TraceLevel.ALL));
+    private static final MethodHandle LEVEL_INVOKER = LEVEL.dynamicInvoker();
+
+    private TraceSwitch() {
+    }
+
+    public static TraceLevel level() {
+        try {
+            return (TraceLevel) LEVEL_INVOKER.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);//상수 MethodHandle 은 예외를 던지지 않는다.
+        }
+    }
+
+    /**
+     * true 면 어드바이스는 SpanDescriptor 조회도 없이 바로 target 을 호출한다.
+     */
+    public static boolean isOff() {
+        return level() == TraceLevel.OFF;
+    }
+
+    /**
+     * 현재 레벨에서 이 span 을 기록하는지
+     */
+    public static boolean traces(SpanDescriptor descriptor) {
+        return level().traces(descriptor);
+    }
+
+    public static synchronized void setLevel(TraceLevel level) {
+        if (level == null) {
+            throw new IllegalArgumentException("level 은 null 일 수 없습니다.");
+        }
+        TraceLevel previous = level();
+        if (previous == level) {
+            return;
+        }
+        LEVEL.setTarget(constant(level));
+        MutableCallSite.syncAll(new MutableCallSite[]{LEVEL});//다른 스레드도 새 레벨을 보게 한다.
+        log.info("trace level changed {} -> {}", previous, level);
+    }
+
+    private static MethodHandle constant(TraceLevel level) {
+        return MethodHandles.constant(TraceLevel.class, level);
+    }
+}
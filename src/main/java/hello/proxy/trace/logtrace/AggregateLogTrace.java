@@ -0,0 +1,196 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.TraceStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 단위 집계 LogTrace
+ * : begin/end 마다 로그를 남기지 않고, 스레드별 span 트리에 모아두었다가
+ *   첫번째 level 의 TraceId 가 끝날 때 트리 전체를 JSON 한 줄로 한번만 출력한다.
+ * : v1~v3 요청 1건 기준 6줄 -> 1줄
+ *
+ * 출력 예)
+ * {"traceId":"1a2b3c4d","spans":1,"span":{"message":"OrderControllerV1.request()","time":1003,"children":[...]}}
+ */
+@Slf4j
+public class AggregateLogTrace implements LogTrace {
+
+    public static final int DEFAULT_MAX_SPANS = 1024;
+
+    private final ThreadLocal<SpanTree> spanTreeHolder = new ThreadLocal<>();
+    private final int maxSpans;
+
+    public AggregateLogTrace() {
+        this(DEFAULT_MAX_SPANS);
+    }
+
+    /**
+     * @param maxSpans 요청 하나에서 모아둘 최대 span 수, 넘는 span 은 개수만 센다.
+     */
+    public AggregateLogTrace(int maxSpans) {
+        if (maxSpans <= 0) {
+            throw new IllegalArgumentException("maxSpans 는 0 보다 커야 합니다. maxSpans=" + maxSpans);
+        }
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        SpanTree spanTree = spanTreeHolder.get();
+        if (spanTree == null) {
+            spanTree = new SpanTree(new TraceId(), maxSpans);
+            spanTreeHolder.set(spanTree);
+        } else {
+            spanTree.traceId.nextLevel();
+        }
+        long startTimeNs = System.nanoTime();
+        spanTree.open(message, startTimeNs);
+
+        return new TraceStatus(spanTree.traceId, startTimeNs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        SpanTree spanTree = spanTreeHolder.get();
+        spanTree.close(System.nanoTime(), e);
+
+        TraceId traceId = status.getTraceId();
+        if (traceId.isFirstLevel()) {
+            log.info("{}", spanTree.toJson());
+            spanTreeHolder.remove();//destroy
+        } else {
+            traceId.previousLevel();
+        }
+    }
+
+    /**
+     * 요청 하나의 span 들을 begin 순서대로 담는 배열 기반 트리
+     * : depth 와 begin 순서만으로 부모 - 자식 관계를 알 수 있으므로 노드 객체를 따로 만들지 않는다.
+     */
+    private static class SpanTree {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final TraceId traceId;
+        private final int maxSpans;
+        private String[] messages = new String[INITIAL_CAPACITY];
+        private int[] depths = new int[INITIAL_CAPACITY];
+        private long[] startTimes = new long[INITIAL_CAPACITY];
+        private long[] endTimes = new long[INITIAL_CAPACITY];
+        private Exception[] exceptions = new Exception[INITIAL_CAPACITY];
+        private int[] openStack = new int[INITIAL_CAPACITY];
+        private int size;
+        private int openCount;
+        private int droppedSpans;
+
+        private SpanTree(TraceId traceId, int maxSpans) {
+            this.traceId = traceId;
+            this.maxSpans = maxSpans;
+        }
+
+        private void open(String message, long startTimeNs) {
+            int index = -1;
+            if (size < maxSpans) {
+                ensureCapacity(size + 1);
+                index = size++;
+                messages[index] = message;
+                depths[index] = traceId.getLevel();
+                startTimes[index] = startTimeNs;
+            } else {
+                droppedSpans++;
+            }
+            if (openCount == openStack.length) {
+                openStack = Arrays.copyOf(openStack, openCount * 2);
+            }
+            openStack[openCount++] = index;
+        }
+
+        private void close(long endTimeNs, Exception e) {
+            int index = openStack[--openCount];
+            if (index < 0) {
+                return;//maxSpans 를 넘어서 기록하지 않은 span
+            }
+            endTimes[index] = endTimeNs;
+            exceptions[index] = e;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= messages.length) {
+                return;
+            }
+            int newCapacity = Math.min(Math.max(messages.length * 2, capacity), maxSpans);
+            messages = Arrays.copyOf(messages, newCapacity);
+            depths = Arrays.copyOf(depths, newCapacity);
+            startTimes = Arrays.copyOf(startTimes, newCapacity);
+            endTimes = Arrays.copyOf(endTimes, newCapacity);
+            exceptions = Arrays.copyOf(exceptions, newCapacity);
+        }
+
+        private String toJson() {
+            StringBuilder sb = new StringBuilder(128 + size * 96);
+            sb.append("{\"traceId\":\"").append(traceId.getId()).append("\",\"spans\":").append(size);
+            if (droppedSpans > 0) {
+                sb.append(",\"droppedSpans\":").append(droppedSpans);
+            }
+            sb.append(",\"span\":");
+            appendSpan(sb, 0);
+            return sb.append('}').toString();
+        }
+
+        /**
+         * index 의 span 과 자식들을 출력하고, 다음 형제 span 의 index 를 반환한다.
+         */
+        private int appendSpan(StringBuilder sb, int index) {
+            sb.append("{\"message\":");
+            appendString(sb, messages[index]);
+            sb.append(",\"time\":").append(TimeUnit.NANOSECONDS.toMillis(endTimes[index] - startTimes[index]));
+            if (exceptions[index] != null) {
+                sb.append(",\"ex\":");
+                appendString(sb, exceptions[index].toString());
+            }
+            int next = index + 1;
+            if (next < size && depths[next] > depths[index]) {
+                sb.append(",\"children\":[");
+                boolean first = true;
+                while (next < size && depths[next] > depths[index]) {
+                    if (!first) {
+                        sb.append(',');
+                    }
+                    first = false;
+                    next = appendSpan(sb, next);
+                }
+                sb.append(']');
+            }
+            sb.append('}');
+            return next;
+        }
+
+        private static void appendString(StringBuilder sb, String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
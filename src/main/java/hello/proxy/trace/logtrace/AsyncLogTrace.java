@@ -0,0 +1,220 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.async.BackPressurePolicy;
+import hello.proxy.trace.async.SpanEvent;
+import hello.proxy.trace.async.SpanEventHandler;
+import hello.proxy.trace.async.SpanEventRingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 LogTrace
+ * : begin/end/exception 은 링 버퍼에 span 이벤트만 기록하고 바로 돌아간다.
+ * : addSpace 문자열 조립과 log.info 호출은 백그라운드 consumer 스레드가 처리한다.
+ * : 스프링 빈으로 등록하면 컨텍스트 종료 시점에 {@link #close()} 가 호출되어 남은 이벤트를 모두 출력한다.
+ */
+@Slf4j
+public class AsyncLogTrace implements LogTrace, AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final String START_PREFIX = "-->";
+    private static final String COMPLETE_PREFIX = "<--";
+    private static final String EX_PREFIX = "<X-";
+
+    private static final int IDLE_SPIN_COUNT = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+
+    private final SpanEventRingBuffer ringBuffer;
+    private final BackPressurePolicy policy;
+    private final SpanEventHandler writer = this::write;
+    private final LongAdder droppedCount = new LongAdder();
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    public AsyncLogTrace() {
+        this(DEFAULT_BUFFER_SIZE, BackPressurePolicy.BLOCK);
+    }
+
+    public AsyncLogTrace(int bufferSize, BackPressurePolicy policy) {
+        this.ringBuffer = new SpanEventRingBuffer(bufferSize);
+        this.policy = policy;
+        this.consumer = new Thread(this::consume, "async-log-trace");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceId traceId = syncTraceId();
+        long startTimeNs = System.nanoTime();
+        record(SpanEvent.BEGIN, traceId, message, 0, null);
+
+        return new TraceStatus(traceId, startTimeNs, message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        long resultTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - status.getStartTimeNs());
+        byte type = e == null ? SpanEvent.COMPLETE : SpanEvent.EXCEPTION;
+        record(type, status.getTraceId(), status.getMessage(), resultTimeMs, e);
+
+        releaseTraceId(status.getTraceId());
+    }
+
+    private void record(byte type, TraceId traceId, String message, long resultTimeMs, Exception e) {
+        if (!running) {
+            //종료 이후 들어온 이벤트는 유실되지 않도록 요청 스레드에서 바로 출력한다.
+            write(type, traceId.getId(), traceId.getLevel(), message, resultTimeMs, e);
+            return;
+        }
+
+        long sequence = ringBuffer.tryClaim();
+        while (sequence < 0) {
+            if (policy == BackPressurePolicy.DROP_NEWEST) {
+                return;
+            }
+            if (policy == BackPressurePolicy.DROP_AND_COUNT) {
+                droppedCount.increment();
+                return;
+            }
+            if (!running) {
+                //BLOCK 대기 중 종료되면 consumer 가 슬롯을 비워주지 않으므로 직접 출력한다.
+                write(type, traceId.getId(), traceId.getLevel(), message, resultTimeMs, e);
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);//BLOCK: consumer 가 슬롯을 비울 때까지 대기
+            sequence = ringBuffer.tryClaim();
+        }
+        ringBuffer.get(sequence).set(type, traceId.getId(), traceId.getLevel(), message, resultTimeMs, e);
+        ringBuffer.publish(sequence);
+        if (!running && !consumer.isAlive()) {
+            //running 확인 직후 종료되어 consumer 의 마지막 flush 이후에 공개한 이벤트
+            flush();
+        }
+    }
+
+    private void consume() {
+        int idleCount = 0;
+        while (running) {
+            if (ringBuffer.drain(writer) > 0) {
+                idleCount = 0;
+                continue;
+            }
+            //idle: 잠깐 spin 후에도 이벤트가 없으면 park 해서 CPU 를 양보한다.
+            if (++idleCount < IDLE_SPIN_COUNT) {
+                Thread.onSpinWait();
+            } else {
+                reportDropped();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * 선점되었지만 아직 공개되지 않은 이벤트까지 모두 출력한다.
+     * : consumer 종료 이후에는 close(), 늦게 공개한 요청 스레드도 호출하므로 동기화한다.
+     */
+    private synchronized void flush() {
+        while (ringBuffer.hasPending()) {
+            if (ringBuffer.drain(writer) == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        reportDropped();
+    }
+
+    private void write(SpanEvent event) {
+        write(event.getType(), event.getTraceId(), event.getLevel(), event.getMessage(), event.getResultTimeMs(), event.getException());
+    }
+
+    private void write(byte type, String traceId, int level, String message, long resultTimeMs, Exception e) {
+        if (type == SpanEvent.BEGIN) {
+            log.info("[{}] {}{}", traceId, addSpace(START_PREFIX, level), message);
+        } else if (type == SpanEvent.COMPLETE) {
+            log.info("[{}] {}{} time={}ms", traceId, addSpace(COMPLETE_PREFIX, level), message, resultTimeMs);
+        } else {
+            log.info("[{}] {}{} time={}ms ex={}", traceId, addSpace(EX_PREFIX, level), message, resultTimeMs, e.toString());
+        }
+    }
+
+    private void reportDropped() {
+        long dropped = droppedCount.sumThenReset();
+        if (dropped > 0) {
+            log.warn("AsyncLogTrace 버퍼가 가득 차서 span 이벤트를 버렸습니다. dropped={}", dropped);
+        }
+    }
+
+    /**
+     * consumer 스레드를 멈추고 버퍼에 남은 이벤트를 모두 출력한다.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            consumer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!consumer.isAlive()) {
+            flush();//consumer 의 마지막 flush 와 종료 사이에 공개된 이벤트
+        }
+    }
+
+    public BackPressurePolicy getPolicy() {
+        return policy;
+    }
+
+    public int getBufferSize() {
+        return ringBuffer.getCapacity();
+    }
+
+    private TraceId syncTraceId() {
+        TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            traceId = new TraceId();
+            traceIdHolder.set(traceId);
+        } else {
+            traceId.nextLevel();//같은 TraceId 의 깊이만 올린다. 새 객체를 만들지 않는다.
+        }
+        return traceId;
+    }
+
+    private void releaseTraceId(TraceId traceId) {
+        if (traceId.isFirstLevel()) {
+            traceIdHolder.remove();//destroy
+        } else {
+            traceId.previousLevel();
+        }
+    }
+
+    private static String addSpace(String prefix, int level) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            sb.append( (i == level - 1) ? "|" + prefix : "|   ");
+        }
+        return sb.toString();
+    }
+}
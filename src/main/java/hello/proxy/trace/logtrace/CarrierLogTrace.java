@@ -0,0 +1,102 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.context.TraceContext;
+import hello.proxy.trace.context.TraceScope;
+import hello.proxy.trace.cost.SpanCostAggregator;
+import hello.proxy.trace.latency.SpanLatencyRecorder;
+import hello.proxy.trace.sampling.TraceSampler;
+
+/**
+ * carrier LogTrace
+ * : 출력 형식, 샘플링, 비용, 지연 시간 기록은 {@link ThreadLocalLogTrace} 를 그대로 사용하고, trace 상태를 찾는 방법만 다르다.
+ * : 스레드마다 {@link Carrier} 를 하나 만들어 두고 재사용한다. ThreadLocal 에는 carrier 를 처음 한번만 set 하고, remove 하지 않는다.
+ *   요청이 끝나면 carrier 의 TraceId 만 비운다. 스레드 풀의 스레드에 이전 요청의 trace 상태가 남지 않는다.
+ * : 루트 TraceId 가 자기 carrier 를 가지고 있어서 end/exception 은 ThreadLocal 에 접근하지 않는다.
+ *
+ * 프록시는 begin 전에 isSampledOut() 을 확인하므로 span 마다 get 이 한번 더 있다.
+ * ThreadLocalLogTrace: 루트 span = get 2번 + set, 끝날 때 get + remove / 하위 span = get 2번
+ * CarrierLogTrace: 모든 span = get 2번 (isSampledOut, begin), 끝날 때 ThreadLocal 접근 없음
+ * 차이는 루트 span 의 set, get, remove 뿐이다. 하위 span 은 두 방식이 같다.
+ * LogTraceContextBenchmark(로그 출력 OFF, 3단계 중첩) 에서 두 방식의 차이는 측정 오차 범위 안이다.
+ */
+public class CarrierLogTrace extends ThreadLocalLogTrace {
+
+    private final ThreadLocal<Carrier> carrierHolder = ThreadLocal.withInitial(Carrier::new);
+
+    public CarrierLogTrace() {
+        this(null, null, null);
+    }
+
+    public CarrierLogTrace(SpanCostAggregator costAggregator, TraceSampler sampler, SpanLatencyRecorder latencyRecorder) {
+        super(costAggregator, sampler, latencyRecorder);
+    }
+
+    @Override
+    protected TraceId syncTraceId() {
+        Carrier carrier = carrierHolder.get();//begin 의 ThreadLocal 접근, 프록시가 먼저 호출한 isSampledOut() 에서 한번 더 get 한다.
+        TraceId traceId = carrier.traceId;
+        if (traceId == null) {
+            traceId = new CarrierTraceId(carrier, sampleNewTrace());
+            carrier.traceId = traceId;
+        } else {
+            traceId.nextLevel();
+        }
+        return traceId;
+    }
+
+    @Override
+    protected void releaseTraceId(TraceId traceId) {
+        if (!traceId.isFirstLevel()) {
+            traceId.previousLevel();
+            return;
+        }
+        //detach 한 복사본은 CarrierTraceId 가 아니다. 다른 스레드의 carrier 를 건드리지 않는다.
+        if (traceId instanceof CarrierTraceId) {
+            Carrier carrier = ((CarrierTraceId) traceId).carrier;
+            if (carrier.traceId == traceId) {
+                carrier.traceId = null;//destroy
+            }
+        }
+    }
+
+    @Override
+    public boolean isSampledOut() {
+        TraceId traceId = carrierHolder.get().traceId;
+        return traceId != null && !traceId.isSampled();
+    }
+
+    @Override
+    public TraceContext capture() {
+        TraceId traceId = carrierHolder.get().traceId;
+        return traceId == null ? null : TraceContext.of(traceId);
+    }
+
+    @Override
+    public TraceScope attach(TraceContext context) {
+        Carrier carrier = carrierHolder.get();
+        TraceId previous = carrier.traceId;
+        carrier.traceId = context == null ? null : context.toTraceId();
+        return () -> carrier.traceId = previous;
+    }
+
+    /**
+     * 스레드별 trace 상태, 진행 중인 요청이 없으면 traceId 는 null 이다.
+     */
+    private static class Carrier {
+        private TraceId traceId;
+    }
+
+    /**
+     * 루트 TraceId, 요청이 끝날 때 비울 carrier 를 가지고 있다.
+     */
+    private static class CarrierTraceId extends TraceId {
+
+        private final Carrier carrier;
+
+        private CarrierTraceId(Carrier carrier, boolean sampled) {
+            super(sampled);
+            this.carrier = carrier;
+        }
+    }
+}
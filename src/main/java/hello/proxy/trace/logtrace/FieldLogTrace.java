@@ -4,6 +4,8 @@ import hello.proxy.trace.TraceId;
 import hello.proxy.trace.TraceStatus;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 public class FieldLogTrace implements LogTrace {
 
@@ -17,10 +19,10 @@ public class FieldLogTrace implements LogTrace {
     public TraceStatus begin(String message) {
         syncTraceId();
         TraceId traceId = traceIdHolder;
-        Long startTimeMs = System.currentTimeMillis();
+        long startTimeNs = System.nanoTime();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
 
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, startTimeNs, message);
     }
 
     @Override
@@ -34,8 +36,7 @@ public class FieldLogTrace implements LogTrace {
     }
 
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        long resultTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - status.getStartTimeNs());
         TraceId traceId = status.getTraceId();
         if (e == null) {
             log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
@@ -50,7 +51,7 @@ public class FieldLogTrace implements LogTrace {
         if (traceIdHolder == null) {
             traceIdHolder = new TraceId();
         } else {
-            traceIdHolder = traceIdHolder.createNextId();
+            traceIdHolder.nextLevel();
         }
     }
 
@@ -58,7 +59,7 @@ public class FieldLogTrace implements LogTrace {
         if (traceIdHolder.isFirstLevel()) {
             traceIdHolder = null; //destroy
         } else {
-            traceIdHolder = traceIdHolder.createPreviousId();
+            traceIdHolder.previousLevel();
         }
     }
 
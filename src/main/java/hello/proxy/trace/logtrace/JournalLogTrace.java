@@ -0,0 +1,86 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.journal.MessageDictionary;
+import hello.proxy.trace.journal.TraceJournalRenderer;
+import hello.proxy.trace.journal.TraceJournalWriter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 바이너리 저널 LogTrace
+ * : 텍스트 로그 대신 span 이 끝날 때 고정 길이 레코드 1건을 메모리 맵 파일에 기록한다.
+ *   (traceId, depth, 메시지 id, 시작/종료 nanos, 예외 타입 id)
+ * : 문자열 포맷팅과 로깅 파이프라인을 거치지 않는다. 트리 형식 출력은 {@link TraceJournalRenderer} 로 나중에 만든다.
+ */
+public class JournalLogTrace implements LogTrace, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_MAX_SEGMENTS = 16;
+
+    private final ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+
+    private final TraceJournalWriter writer;
+    private final MessageDictionary dictionary;
+
+    public JournalLogTrace(String directory) {
+        this(Paths.get(directory), DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+    }
+
+    public JournalLogTrace(Path directory, int segmentSize, int maxSegments) {
+        this.writer = new TraceJournalWriter(directory, segmentSize, maxSegments);
+        this.dictionary = MessageDictionary.open(directory);
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        TraceId traceId = syncTraceId();
+        return new TraceStatus(traceId, System.nanoTime(), message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        long endNanos = System.nanoTime();
+        TraceId traceId = status.getTraceId();
+        int exceptionTypeId = e == null ? MessageDictionary.NONE : dictionary.intern(e.getClass().getName());
+        writer.write(traceId.getIdValue(), traceId.getLevel(), dictionary.intern(status.getMessage()), exceptionTypeId,
+                status.getStartTimeNs(), endNanos);
+
+        releaseTraceId(traceId);
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+    }
+
+    private TraceId syncTraceId() {
+        TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            traceId = new TraceId();
+            traceIdHolder.set(traceId);
+        } else {
+            traceId.nextLevel();
+        }
+        return traceId;
+    }
+
+    private void releaseTraceId(TraceId traceId) {
+        if (traceId.isFirstLevel()) {
+            traceIdHolder.remove();//destroy
+        } else {
+            traceId.previousLevel();
+        }
+    }
+}
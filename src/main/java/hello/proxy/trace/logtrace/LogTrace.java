@@ -7,4 +7,20 @@ public interface LogTrace {
     TraceStatus begin(String message);
     void end(TraceStatus status);
     void exception(TraceStatus status, Exception e);
+
+    /**
+     * 현재 스레드의 요청이 샘플링에서 빠졌으면 true, 어드바이스는 begin/end 없이 바로 target 을 호출해도 된다.
+     */
+    default boolean isSampledOut() {
+        return false;
+    }
+
+    /**
+     * 다른 스레드에서 끝낼 span 을 현재 스레드에서 떼어낸다. (CompletableFuture 를 리턴하는 비동기 메서드)
+     * : 현재 스레드는 바로 부모 level 로 돌아가고, 반환된 status 로 나중에 end/exception 을 호출한다.
+     * : null 이면 지원하지 않는다는 뜻이다. 호출한 쪽은 지금 end 한다.
+     */
+    default TraceStatus detach(TraceStatus status) {
+        return null;
+    }
 }
@@ -0,0 +1,165 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.trace.TraceId;
+import hello.proxy.trace.TraceStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static hello.proxy.trace.logtrace.ThreadLocalLogTrace.COMPLETE_PREFIX;
+import static hello.proxy.trace.logtrace.ThreadLocalLogTrace.EX_PREFIX;
+import static hello.proxy.trace.logtrace.ThreadLocalLogTrace.START_PREFIX;
+import static hello.proxy.trace.logtrace.ThreadLocalLogTrace.addSpace;
+
+/**
+ * tail 기반 LogTrace
+ * : 요청 하나의 span 이벤트를 스레드별 버퍼에 모아두고, 루트 span 이 끝났을 때만 출력 여부를 정한다.
+ * : 루트 span 이 latencyThresholdMs 이상 걸렸거나, 한 번이라도 exception 이 호출된 요청만 ThreadLocalLogTrace 와 같은 형식으로 출력한다.
+ * : 빠르게 정상 종료된 요청은 문자열 조립, 로그 호출 없이 버린다.
+ * : 버퍼는 스레드마다 하나를 만들어 재사용한다.
+ */
+@Slf4j
+public class TailSamplingLogTrace implements LogTrace {
+
+    public static final int DEFAULT_MAX_SPANS = 1024;
+
+    private static final byte BEGIN = 0;
+    private static final byte COMPLETE = 1;
+    private static final byte EXCEPTION = 2;
+
+    private final ThreadLocal<SpanBuffer> spanBufferHolder;
+    private final long latencyThresholdNs;
+
+    public TailSamplingLogTrace(long latencyThresholdMs) {
+        this(latencyThresholdMs, DEFAULT_MAX_SPANS);
+    }
+
+    /**
+     * @param latencyThresholdMs 루트 span 이 이 시간 이상 걸리면 출력한다.
+     * @param maxSpans           요청 하나에서 모아둘 최대 span 수, 넘는 span 은 개수만 센다.
+     */
+    public TailSamplingLogTrace(long latencyThresholdMs, int maxSpans) {
+        if (latencyThresholdMs < 0) {
+            throw new IllegalArgumentException("latencyThresholdMs 는 0 이상이어야 합니다. latencyThresholdMs=" + latencyThresholdMs);
+        }
+        if (maxSpans <= 0) {
+            throw new IllegalArgumentException("maxSpans 는 0 보다 커야 합니다. maxSpans=" + maxSpans);
+        }
+        this.latencyThresholdNs = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.spanBufferHolder = ThreadLocal.withInitial(() -> new SpanBuffer(maxSpans * 2));
+    }
+
+    @Override
+    public TraceStatus begin(String message) {
+        SpanBuffer buffer = spanBufferHolder.get();
+        TraceId traceId = buffer.traceId;
+        if (traceId == null) {
+            traceId = new TraceId();
+            buffer.traceId = traceId;
+        } else {
+            traceId.nextLevel();
+        }
+        buffer.add(BEGIN, traceId.getLevel(), message, 0, null);
+
+        return new TraceStatus(traceId, System.nanoTime(), message);
+    }
+
+    @Override
+    public void end(TraceStatus status) {
+        complete(status, null);
+    }
+
+    @Override
+    public void exception(TraceStatus status, Exception e) {
+        complete(status, e);
+    }
+
+    private void complete(TraceStatus status, Exception e) {
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
+        SpanBuffer buffer = spanBufferHolder.get();
+        TraceId traceId = status.getTraceId();
+        buffer.add(e == null ? COMPLETE : EXCEPTION, traceId.getLevel(), status.getMessage(), resultTimeNs, e);
+
+        if (!traceId.isFirstLevel()) {
+            traceId.previousLevel();
+            return;
+        }
+        if (buffer.failed || resultTimeNs >= latencyThresholdNs) {
+            buffer.flush(traceId.getId());
+        }
+        buffer.clear();//destroy
+    }
+
+    /**
+     * 요청 하나의 begin/end 이벤트를 발생 순서대로 담는 배열
+     */
+    private static class SpanBuffer {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int maxEvents;
+        private TraceId traceId;
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private int[] levels = new int[INITIAL_CAPACITY];
+        private String[] messages = new String[INITIAL_CAPACITY];
+        private long[] timesNs = new long[INITIAL_CAPACITY];
+        private Exception[] exceptions = new Exception[INITIAL_CAPACITY];
+        private int size;
+        private int droppedEvents;
+        private boolean failed;
+
+        private SpanBuffer(int maxEvents) {
+            this.maxEvents = maxEvents;
+        }
+
+        private void add(byte type, int level, String message, long timeNs, Exception e) {
+            if (type == EXCEPTION) {
+                failed = true;
+            }
+            if (size == maxEvents) {
+                droppedEvents++;
+                return;
+            }
+            if (size == types.length) {
+                int newCapacity = Math.min(size * 2, maxEvents);
+                types = Arrays.copyOf(types, newCapacity);
+                levels = Arrays.copyOf(levels, newCapacity);
+                messages = Arrays.copyOf(messages, newCapacity);
+                timesNs = Arrays.copyOf(timesNs, newCapacity);
+                exceptions = Arrays.copyOf(exceptions, newCapacity);
+            }
+            types[size] = type;
+            levels[size] = level;
+            messages[size] = message;
+            timesNs[size] = timeNs;
+            exceptions[size] = e;
+            size++;
+        }
+
+        private void flush(String id) {
+            for (int i = 0; i < size; i++) {
+                long resultTimeMs = TimeUnit.NANOSECONDS.toMillis(timesNs[i]);
+                if (types[i] == BEGIN) {
+                    log.info("[{}] {}{}", id, addSpace(START_PREFIX, levels[i]), messages[i]);
+                } else if (types[i] == COMPLETE) {
+                    log.info("[{}] {}{} time={}ms", id, addSpace(COMPLETE_PREFIX, levels[i]), messages[i], resultTimeMs);
+                } else {
+                    log.info("[{}] {}{} time={}ms ex={}", id, addSpace(EX_PREFIX, levels[i]), messages[i], resultTimeMs, exceptions[i].toString());
+                }
+            }
+            if (droppedEvents > 0) {
+                log.warn("[{}] span 이벤트가 너무 많아 일부를 버렸습니다. dropped={}", id, droppedEvents);
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(messages, 0, size, null);//다음 요청까지 객체를 붙잡고 있지 않도록 참조를 지운다.
+            Arrays.fill(exceptions, 0, size, null);
+            traceId = null;
+            size = 0;
+            droppedEvents = 0;
+            failed = false;
+        }
+    }
+}
@@ -1,26 +1,69 @@
 package hello.proxy.trace.logtrace;
 
 import hello.proxy.trace.TraceId;
+import hello.proxy.trace.ThreadResourceUsage;
 import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.context.TraceContext;
+import hello.proxy.trace.context.TraceContextSupport;
+import hello.proxy.trace.context.TraceScope;
+import hello.proxy.trace.cost.SpanCostAggregator;
+import hello.proxy.trace.latency.SpanLatencyRecorder;
+import hello.proxy.trace.sampling.TraceSampler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
-public class ThreadLocalLogTrace implements LogTrace {
+public class ThreadLocalLogTrace implements LogTrace, TraceContextSupport {
 
-    private static final String START_PREFIX = "-->";
-    private static final String COMPLETE_PREFIX = "<--";
-    private static final String EX_PREFIX = "<X-";
+    public static final String START_PREFIX = "-->";
+    public static final String COMPLETE_PREFIX = "<--";
+    public static final String EX_PREFIX = "<X-";
 
     private ThreadLocal<TraceId> traceIdHolder = new ThreadLocal<>();
+    private final SpanCostAggregator costAggregator;
+    private final TraceSampler sampler;
+    private final SpanLatencyRecorder latencyRecorder;
+
+    public ThreadLocalLogTrace() {
+        this(null);
+    }
+
+    /**
+     * @param costAggregator span 별 시간, CPU, 할당 바이트를 누적할 집계기, null 이면 집계하지 않는다.
+     */
+    public ThreadLocalLogTrace(SpanCostAggregator costAggregator) {
+        this(costAggregator, null);
+    }
+
+    /**
+     * @param sampler 루트 span 마다 요청 전체를 기록할지 정하는 샘플러, null 이면 모두 기록한다.
+     */
+    public ThreadLocalLogTrace(SpanCostAggregator costAggregator, TraceSampler sampler) {
+        this(costAggregator, sampler, null);
+    }
+
+    /**
+     * @param latencyRecorder span 별 지연 시간 히스토그램, null 이면 기록하지 않는다.
+     */
+    public ThreadLocalLogTrace(SpanCostAggregator costAggregator, TraceSampler sampler, SpanLatencyRecorder latencyRecorder) {
+        this.costAggregator = costAggregator;
+        this.sampler = sampler;
+        this.latencyRecorder = latencyRecorder;
+    }
 
     @Override
     public TraceStatus begin(String message) {
-        syncTraceId();
-        TraceId traceId = traceIdHolder.get();
-        Long startTimeMs = System.currentTimeMillis();
+        TraceId traceId = syncTraceId();
+        if (!traceId.isSampled()) {
+            return new TraceStatus(traceId, 0, message);//시간 측정, 로그 출력 생략
+        }
+        long startTimeNs = System.nanoTime();
+        long startCpuTimeNs = ThreadResourceUsage.currentCpuTimeNs();
+        long startAllocatedBytes = ThreadResourceUsage.currentAllocatedBytes();
         log.info("[{}] {}{}", traceId.getId(), addSpace(START_PREFIX, traceId.getLevel()), message);
 
-        return new TraceStatus(traceId, startTimeMs, message);
+        return new TraceStatus(traceId, startTimeNs, startCpuTimeNs, startAllocatedBytes, message);
     }
 
     @Override
@@ -34,37 +77,113 @@ public class ThreadLocalLogTrace implements LogTrace {
     }
 
     private void complete(TraceStatus status, Exception e) {
-        Long stopTimeMs = System.currentTimeMillis();
-        long resultTimeMs = stopTimeMs - status.getStartTimeMs();
+        if (!status.getTraceId().isSampled()) {
+            releaseTraceId(status.getTraceId());
+            return;
+        }
+        long resultTimeNs = System.nanoTime() - status.getStartTimeNs();
+        long cpuTimeNs = ThreadResourceUsage.elapsed(status.getStartCpuTimeNs(), ThreadResourceUsage.currentCpuTimeNs());
+        long allocatedBytes = ThreadResourceUsage.elapsed(status.getStartAllocatedBytes(), ThreadResourceUsage.currentAllocatedBytes());
+        long resultTimeMs = TimeUnit.NANOSECONDS.toMillis(resultTimeNs);
+        long cpuTimeUs = cpuTimeNs < 0 ? cpuTimeNs : TimeUnit.NANOSECONDS.toMicros(cpuTimeNs);
         TraceId traceId = status.getTraceId();
         if (e == null) {
-            log.info("[{}] {}{} time={}ms", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs);
+            log.info("[{}] {}{} time={}ms cpu={}us alloc={}B", traceId.getId(), addSpace(COMPLETE_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, cpuTimeUs, allocatedBytes);
         } else {
-            log.info("[{}] {}{} time={}ms ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, e.toString());
+            log.info("[{}] {}{} time={}ms cpu={}us alloc={}B ex={}", traceId.getId(), addSpace(EX_PREFIX, traceId.getLevel()), status.getMessage(), resultTimeMs, cpuTimeUs, allocatedBytes, e.toString());
+        }
+        if (costAggregator != null) {
+            costAggregator.record(status.getMessage(), resultTimeNs, cpuTimeNs, allocatedBytes, e != null);
         }
+        if (latencyRecorder != null) {
+            latencyRecorder.record(status.getMessage(), resultTimeNs, e != null);
+        }
+
+        releaseTraceId(traceId);
+    }
+
+    /**
+     * 같은 id, level 의 TraceId 복사본으로 span 을 옮기고 현재 스레드의 level 을 되돌린다.
+     * : 원본 TraceId 는 호출 스레드에서 계속 가변으로 사용하므로 다른 스레드와 공유하지 않는다.
+     * : CPU, 할당 바이트는 스레드별 값이라 다른 스레드에서 끝내는 span 은 측정하지 않는다.
+     */
+    @Override
+    public TraceStatus detach(TraceStatus status) {
+        TraceId traceId = status.getTraceId();
+        TraceId detached = new TraceId(traceId.getIdValue(), traceId.getLevel(), traceId.isSampled());
+        releaseTraceId(traceId);
+        return new TraceStatus(detached, status.getStartTimeNs(), status.getMessage());
+    }
 
-        releaseTraceId();
+    /**
+     * 샘플링에서 빠진 요청을 처리 중이면 true
+     * : 이미 루트에서 기록하지 않기로 정했으므로 하위 span 은 begin/end 를 호출하지 않아도 된다.
+     */
+    @Override
+    public boolean isSampledOut() {
+        TraceId traceId = traceIdHolder.get();
+        return traceId != null && !traceId.isSampled();
     }
 
-    private void syncTraceId() {
+    @Override
+    public TraceContext capture() {
         TraceId traceId = traceIdHolder.get();
-        if (traceId == null) {
-            traceIdHolder.set(new TraceId());
+        return traceId == null ? null : TraceContext.of(traceId);
+    }
+
+    @Override
+    public TraceScope attach(TraceContext context) {
+        TraceId previous = traceIdHolder.get();
+        if (context == null) {
+            traceIdHolder.remove();
         } else {
-            traceIdHolder.set(traceId.createNextId());
+            traceIdHolder.set(context.toTraceId());//부모와 같은 id, level 에서 이어서 기록한다.
         }
+        return () -> {
+            if (previous == null) {
+                traceIdHolder.remove();//destroy
+            } else {
+                traceIdHolder.set(previous);
+            }
+        };
     }
 
-    private void releaseTraceId() {
+    /**
+     * 현재 스레드의 TraceId 를 찾아서 깊이를 올리거나, 없으면 루트 TraceId 를 만든다.
+     * : 하위 클래스는 trace 상태를 찾는 방법만 바꾸고 출력, 비용, 지연 시간 기록은 그대로 사용한다. ({@link CarrierLogTrace})
+     */
+    protected TraceId syncTraceId() {
         TraceId traceId = traceIdHolder.get();
+        if (traceId == null) {
+            traceId = new TraceId(sampleNewTrace());
+            traceIdHolder.set(traceId);
+        } else {
+            traceId.nextLevel();//같은 TraceId 의 깊이만 올린다. 새 객체를 만들지 않는다.
+        }
+        return traceId;
+    }
+
+    /**
+     * 요청 하나당 한번만 샘플링 여부를 정한다.
+     */
+    protected boolean sampleNewTrace() {
+        return sampler == null || sampler.sample();
+    }
+
+    protected void releaseTraceId(TraceId traceId) {
         if (traceId.isFirstLevel()) {
-            traceIdHolder.remove();//destroy
+            if (traceIdHolder.get() == traceId) {
+                traceIdHolder.remove();//destroy, detach 한 span 을 다른 스레드에서 끝낼 때는 그 스레드의 trace 를 건드리지 않는다.
+            }
         } else {
-            traceIdHolder.set(traceId.createPreviousId());
+            traceId.previousLevel();
         }
     }
 
-    private static String addSpace(String prefix, int level) {
+    /**
+     * level 0: "", level 1: "|-->", level 2: "|   |-->"
+     */
+    public static String addSpace(String prefix, int level) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < level; i++) {
             sb.append( (i == level - 1) ? "|" + prefix : "|   ");
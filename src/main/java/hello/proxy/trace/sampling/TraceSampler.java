@@ -0,0 +1,109 @@
+package hello.proxy.trace.sampling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * head 기반 샘플링
+ * : 루트 TraceId 를 만들 때 한번만 호출해서 그 요청 전체를 기록할지 결정한다.
+ * : 확률(rate)로 먼저 거르고, 통과한 요청은 초당 최대 개수(maxPerSecond) 안에서만 기록한다.
+ * : rate, maxPerSecond 는 volatile 이라 실행 중에 바꿀 수 있다.
+ */
+public class TraceSampler {
+
+    public static final int UNLIMITED = 0;
+
+    private volatile double rate;
+    private volatile int maxPerSecond;
+
+    //상위 32bit: 초 단위 윈도우, 하위 32bit: 윈도우 안에서 샘플링한 수
+    private final AtomicLong window = new AtomicLong();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder unsampledCount = new LongAdder();
+
+    public TraceSampler(double rate, int maxPerSecond) {
+        setRate(rate);
+        setMaxPerSecond(maxPerSecond);
+    }
+
+    public static TraceSampler always() {
+        return new TraceSampler(1.0, UNLIMITED);
+    }
+
+    public boolean sample() {
+        boolean sampled = passRate() && passLimit();
+        if (sampled) {
+            sampledCount.increment();
+        } else {
+            unsampledCount.increment();
+        }
+        return sampled;
+    }
+
+    private boolean passRate() {
+        double currentRate = rate;
+        if (currentRate >= 1.0) {
+            return true;
+        }
+        return currentRate > 0 && ThreadLocalRandom.current().nextDouble() < currentRate;
+    }
+
+    private boolean passLimit() {
+        int limit = maxPerSecond;
+        if (limit == UNLIMITED) {
+            return true;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        while (true) {
+            long current = window.get();
+            long currentSecond = current >>> 32;
+            long count = current & 0xFFFFFFFFL;
+            long next;
+            if (currentSecond != (second & 0xFFFFFFFFL)) {
+                next = (second << 32) | 1;//새 윈도우
+            } else if (count < limit) {
+                next = current + 1;
+            } else {
+                return false;
+            }
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("rate 는 0 ~ 1 사이여야 합니다. rate=" + rate);
+        }
+        this.rate = rate;
+    }
+
+    public int getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    /**
+     * @param maxPerSecond 초당 최대 샘플 수, {@link #UNLIMITED}(0) 이면 제한하지 않는다.
+     */
+    public void setMaxPerSecond(int maxPerSecond) {
+        if (maxPerSecond < 0) {
+            throw new IllegalArgumentException("maxPerSecond 는 0 이상이어야 합니다. maxPerSecond=" + maxPerSecond);
+        }
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    public long getUnsampledCount() {
+        return unsampledCount.sum();
+    }
+}
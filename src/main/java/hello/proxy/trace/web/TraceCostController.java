@@ -0,0 +1,36 @@
+package hello.proxy.trace.web;
+
+import hello.proxy.trace.cost.SpanCost;
+import hello.proxy.trace.cost.SpanCostAggregator;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * span 별 누적 비용(wall-clock, CPU, 할당 바이트) 조회
+ * : hello.proxy.app 패키지 밖에 두어 LogTrace 프록시 적용 대상이 되지 않게 한다.
+ *   컴포넌트 스캔 대상도 아니므로 {@code @Bean} 으로 수동 등록한다.
+ */
+@RequestMapping("/trace/cost")
+@ResponseBody
+public class TraceCostController {
+
+    private final SpanCostAggregator costAggregator;
+
+    public TraceCostController(SpanCostAggregator costAggregator) {
+        this.costAggregator = costAggregator;
+    }
+
+    @GetMapping
+    public List<SpanCost> costs() {
+        return costAggregator.snapshot();
+    }
+
+    @DeleteMapping
+    public void reset() {
+        costAggregator.reset();
+    }
+}
@@ -0,0 +1,37 @@
+package hello.proxy.trace.web;
+
+import hello.proxy.trace.latency.SpanLatency;
+import hello.proxy.trace.latency.SpanLatencyRecorder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * span 별 지연 시간 백분위(p50/p90/p99/p999) 조회
+ * : 예) GET /trace/latency?window=300 -> 최근 5분
+ * : {@link TraceCostController} 와 같이 {@code @Bean} 으로 수동 등록한다.
+ */
+@RequestMapping("/trace/latency")
+@ResponseBody
+public class TraceLatencyController {
+
+    private final SpanLatencyRecorder latencyRecorder;
+
+    public TraceLatencyController(SpanLatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    @GetMapping
+    public List<SpanLatency> latencies(@RequestParam(defaultValue = "60") int window) {
+        return latencyRecorder.snapshot(window);
+    }
+
+    @DeleteMapping
+    public void reset() {
+        latencyRecorder.reset();
+    }
+}
@@ -0,0 +1,35 @@
+package hello.proxy.trace.web;
+
+import hello.proxy.trace.level.TraceLevel;
+import hello.proxy.trace.level.TraceSwitch;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그 추적 레벨 조회/변경
+ * : 재배포, 재시작 없이 추적을 끄거나 줄인다. 예) POST /trace/level?level=OFF, POST /trace/level?level=ENTRY
+ * : {@link TraceSamplingController} 와 같이 {@code @Bean} 으로 수동 등록한다.
+ */
+@RequestMapping("/trace/level")
+@ResponseBody
+public class TraceLevelController {
+
+    @GetMapping
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("level", TraceSwitch.level());
+        return status;
+    }
+
+    @PostMapping
+    public Map<String, Object> update(@RequestParam TraceLevel level) {
+        TraceSwitch.setLevel(level);
+        return status();
+    }
+}
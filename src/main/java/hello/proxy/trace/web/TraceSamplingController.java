@@ -0,0 +1,49 @@
+package hello.proxy.trace.web;
+
+import hello.proxy.trace.sampling.TraceSampler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 샘플링 비율 조회/변경
+ * : 재시작 없이 비율을 바꾼다. 예) POST /trace/sampling?rate=0.01&maxPerSecond=100
+ * : {@link TraceCostController} 와 같이 {@code @Bean} 으로 수동 등록한다.
+ */
+@RequestMapping("/trace/sampling")
+@ResponseBody
+public class TraceSamplingController {
+
+    private final TraceSampler sampler;
+
+    public TraceSamplingController(TraceSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @GetMapping
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("rate", sampler.getRate());
+        status.put("maxPerSecond", sampler.getMaxPerSecond());
+        status.put("sampled", sampler.getSampledCount());
+        status.put("unsampled", sampler.getUnsampledCount());
+        return status;
+    }
+
+    @PostMapping
+    public Map<String, Object> update(@RequestParam(required = false) Double rate,
+                                      @RequestParam(required = false) Integer maxPerSecond) {
+        if (rate != null) {
+            sampler.setRate(rate);
+        }
+        if (maxPerSecond != null) {
+            sampler.setMaxPerSecond(maxPerSecond);
+        }
+        return status();
+    }
+}
@@ -7,19 +7,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 public class OrderControllerV2Test extends LogAppenders {
 
     public static final String REQ_URL = "/v2/request";
+    public static final String REQ_ASYNC_URL = "/v2/request-async";
     public static final String NO_LOG_URL = "/v2/no-log";
 
     @Autowired
@@ -50,6 +54,34 @@ public class OrderControllerV2Test extends LogAppenders {
         assertRequestLog(2, true);
     }
 
+    @Test
+    @DisplayName("비동기 요청 API 를 호출하여 ok 를 리턴받고, span 은 future 가 완료될 때 끝난다.")
+    void requestAsyncTest() throws Exception {
+        //when
+        MvcResult result = mvc.perform(get(REQ_ASYNC_URL)
+                        .param("itemId", "itemId"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(content().string("ok"));
+        assertRequestLog(2, false);
+    }
+
+    @Test
+    @DisplayName("비동기 요청 API 호출을 실패한다.")
+    void requestAsyncFailTest() throws Exception {
+        //when
+        MvcResult result = mvc.perform(get(REQ_ASYNC_URL)
+                        .param("itemId", "ex"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        assertThat(result.getAsyncResult()).isInstanceOf(IllegalArgumentException.class);
+        assertRequestLog(2, true);
+    }
+
     @Test
     @DisplayName("No Log API 를 호출하여 ok 를 리턴받는다.")
     void noLogTest() throws Exception {
@@ -0,0 +1,89 @@
+package hello.proxy.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GroupCommitWriterTest {
+
+    private GroupCommitWriter writer;
+
+    @AfterEach
+    void close() {
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("window 안에 들어온 항목을 한번에 기록하고, 기록이 끝나면 모든 호출자를 완료한다.")
+    void windowTest() {
+        writer = new GroupCommitWriter(500, 100, 10);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(writer.submit("item" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(writer.getCommitCount()).isEqualTo(1);
+        assertThat(writer.getItemCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("maxBatchSize 개가 모이면 window 를 기다리지 않고 배치를 닫는다.")
+    void maxBatchSizeTest() {
+        writer = new GroupCommitWriter(10_000, 2, 100);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(writer.submit("item" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(writer.getCommitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("동기 write 는 배치가 기록될 때까지 기다린다.")
+    void writeTest() throws Exception {
+        writer = new GroupCommitWriter(50, 100, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String itemId = "item" + i;
+                results.add(pool.submit(() -> writer.write(itemId)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(writer.getItemCount()).isEqualTo(8);
+        assertThat(writer.getCommitCount()).isLessThan(8);
+    }
+
+    @Test
+    @DisplayName("종료하면 모으던 배치를 바로 기록하고, 이후 항목은 실패한다.")
+    void closeTest() {
+        writer = new GroupCommitWriter(10_000, 100, 10);
+
+        CompletableFuture<Void> pending = writer.submit("item");
+        writer.close();
+
+        assertThat(pending.join()).isNull();
+        assertThatThrownBy(() -> writer.submit("item").join()).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> writer.write("item")).isInstanceOf(IllegalStateException.class);
+    }
+}
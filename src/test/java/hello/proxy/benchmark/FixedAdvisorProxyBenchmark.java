@@ -0,0 +1,102 @@
+package hello.proxy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.sun.management.ThreadMXBean;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.config.v3_proxyfactory.fixed.FixedAdvisorAopProxyFactory;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기본 프록시(JdkDynamicAopProxy, CglibAopProxy) vs FixedAdvisorAopProxyFactory 전용 프록시
+ * : controller -> service -> repository 처럼 LogTraceAdvice advisor 하나가 적용된 프록시 3개를 중첩 호출한다.
+ * : 로그 출력과 CPU 시간, 할당 바이트 측정은 끈다. 호출당 할당량은 -prof gc 의 gc.alloc.rate.norm 으로 비교한다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="FixedAdvisorProxyBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FixedAdvisorProxyBenchmark {
+
+    @Param({"default", "fixed"})
+    public String factory;
+
+    @Param({"jdk", "cglib"})
+    public String proxyType;
+
+    private Call request;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadCpuTimeEnabled(false);
+        threadMXBean.setThreadAllocatedMemoryEnabled(false);
+
+        LogTrace trace = new ThreadLocalLogTrace();
+        Call repository = proxy(new Step(null), trace);
+        Call service = proxy(new Step(repository), trace);
+        request = proxy(new Step(service), trace);
+    }
+
+    @Benchmark
+    public void request() {
+        request.call();
+    }
+
+    private Call proxy(Step target, LogTrace trace) {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("call");
+
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, new LogTraceAdvice(trace)));
+        proxyFactory.setProxyTargetClass("cglib".equals(proxyType));//jdk 면 Call 인터페이스로 JDK 동적 프록시
+        if ("fixed".equals(factory)) {
+            FixedAdvisorAopProxyFactory.apply(proxyFactory);
+        }
+        return (Call) proxyFactory.getProxy();
+    }
+
+    public interface Call {
+        void call();
+    }
+
+    public static class Step implements Call {
+        private final Call next;
+
+        public Step(Call next) {
+            this.next = next;
+        }
+
+        @Override
+        public void call() {
+            if (next != null) {
+                next.call();
+            }
+        }
+    }
+}
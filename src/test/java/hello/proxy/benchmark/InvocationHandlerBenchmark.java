@@ -0,0 +1,125 @@
+package hello.proxy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.sun.management.ThreadMXBean;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceMethodHandleHandler;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * v2 InvocationHandler 비교: basic(DynamicProxyBasicConfig), filter(DynamicProxyFilterConfig), methodHandle(DynamicProxyMethodHandleConfig)
+ * : JDK 동적 프록시 3개를 중첩 호출한다. 로그 출력과 CPU 시간, 할당 바이트 측정은 끈다.
+ * : noLog 는 패턴에 맞지 않아 로그 없이 target 만 호출하는 경로다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="InvocationHandlerBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InvocationHandlerBenchmark {
+
+    private static final String[] PATTERNS = {"request*", "orderItem*", "save*"};
+
+    @Param({"basic", "filter", "methodHandle"})
+    public String handler;
+
+    private Step request;
+    private Step noLog;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadCpuTimeEnabled(false);
+        threadMXBean.setThreadAllocatedMemoryEnabled(false);
+
+        LogTrace trace = new ThreadLocalLogTrace();
+        Step repository = proxy(new Repository(), trace);
+        Step service = proxy(new Delegate(repository), trace);
+        request = proxy(new Delegate(service), trace);
+        noLog = proxy(new Repository(), trace);
+    }
+
+    @Benchmark
+    public String request() {
+        return request.request("itemId");
+    }
+
+    @Benchmark
+    public String noLog() {
+        return noLog.noLog();
+    }
+
+    private Step proxy(Step target, LogTrace trace) {
+        InvocationHandler invocationHandler;
+        if ("basic".equals(handler)) {
+            invocationHandler = new LogTraceBasicHandler(target, trace);
+        } else if ("filter".equals(handler)) {
+            invocationHandler = new LogTraceFilterHandler(target, trace, PATTERNS);
+        } else {
+            invocationHandler = new LogTraceMethodHandleHandler(target, trace, PATTERNS);
+        }
+        return (Step) Proxy.newProxyInstance(Step.class.getClassLoader(), new Class[]{Step.class}, invocationHandler);
+    }
+
+    public interface Step {
+        String request(String itemId);
+        String noLog();
+    }
+
+    public static class Delegate implements Step {
+
+        private final Step next;
+
+        public Delegate(Step next) {
+            this.next = next;
+        }
+
+        @Override
+        public String request(String itemId) {
+            return next.request(itemId);
+        }
+
+        @Override
+        public String noLog() {
+            return "ok";
+        }
+    }
+
+    public static class Repository implements Step {
+
+        @Override
+        public String request(String itemId) {
+            return itemId;
+        }
+
+        @Override
+        public String noLog() {
+            return "ok";
+        }
+    }
+}
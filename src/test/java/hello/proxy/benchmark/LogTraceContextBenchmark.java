@@ -0,0 +1,77 @@
+package hello.proxy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.sun.management.ThreadMXBean;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.logtrace.CarrierLogTrace;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ThreadLocalLogTrace vs CarrierLogTrace
+ * : controller -> service -> repository 처럼 LogTraceAdvice 가 적용된 프록시 3개를 중첩 호출한다.
+ * : trace 상태를 찾는 비용만 비교하기 위해 로그 출력과 CPU 시간, 할당 바이트 측정은 끈다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="LogTraceContextBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogTraceContextBenchmark {
+
+    @Param({"threadLocal", "carrier"})
+    public String mode;
+
+    private Step request;
+
+    @Setup
+    public void setUp() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadMXBean.setThreadCpuTimeEnabled(false);
+        threadMXBean.setThreadAllocatedMemoryEnabled(false);
+
+        LogTrace trace = "carrier".equals(mode) ? new CarrierLogTrace() : new ThreadLocalLogTrace();
+        Step repository = proxy(() -> {
+        }, trace);
+        Step service = proxy(repository::call, trace);
+        request = proxy(service::call, trace);
+    }
+
+    @Benchmark
+    public void request() {
+        request.call();
+    }
+
+    private static Step proxy(Step target, LogTrace trace) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Step.class);
+        proxyFactory.addAdvice(new LogTraceAdvice(trace));
+        return (Step) proxyFactory.getProxy();
+    }
+
+    public interface Step {
+        void call();
+    }
+}
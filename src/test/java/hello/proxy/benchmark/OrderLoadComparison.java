@@ -0,0 +1,139 @@
+package hello.proxy.benchmark;
+
+import hello.proxy.ProxyApplication;
+import hello.proxy.batch.GroupCommitWriter;
+import hello.proxy.config.batch.GroupCommitConfig;
+import hello.proxy.config.thread.VirtualThreadConfig;
+import hello.proxy.config.thread.VirtualThreads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 플랫폼 스레드(기본 톰캣 풀) vs group commit(GroupCommitConfig) vs 가상 스레드(VirtualThreadConfig) 부하 비교
+ * : 같은 애플리케이션을 모드별로 임의 포트에 띄우고, 동시 요청 concurrency 개를 유지하면서 requests 개를 보낸다.
+ * : /v3/request 는 repository 에서 sleep(1000) 하므로 플랫폼 스레드 모드의 처리량은 톰캣 maxThreads(200) 개/초 근처에서 막힌다.
+ * : writes 는 측정 구간의 쓰기(I/O) 횟수다. group commit 이 아니면 save 한번에 한번 기록한다.
+ * : 로그 출력 비용이 결과에 섞이지 않도록 로그 레벨은 WARN 으로 올린다.
+ *
+ * 실행: ./gradlew orderLoadComparison -PjavaVersion=21 -PloadArgs="2000 1000 /v3/request?itemId=item"
+ */
+public class OrderLoadComparison {
+
+    public static void main(String[] args) throws InterruptedException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        String path = args.length > 2 ? args[2] : "/v3/request?itemId=item";
+
+        Result platform = run("platform", new Class<?>[]{ProxyApplication.class}, requests, concurrency, path);
+        Result groupCommit = run("group", new Class<?>[]{ProxyApplication.class, GroupCommitConfig.class}, requests, concurrency, path);
+        Result virtual = VirtualThreads.isSupported()
+                ? run("virtual", new Class<?>[]{ProxyApplication.class, VirtualThreadConfig.class}, requests, concurrency, path)
+                : null;
+
+        System.out.printf("%nrequests=%d, concurrency=%d, path=%s%n", requests, concurrency, path);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s %8s%n", "mode", "throughput", "p50(ms)", "p99(ms)", "max(ms)", "errors", "writes");
+        platform.print();
+        groupCommit.print();
+        if (virtual == null) {
+            System.out.println("virtual    가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. -PjavaVersion=21 로 실행하세요.");
+        } else {
+            virtual.print();
+        }
+    }
+
+    private static Result run(String mode, Class<?>[] sources, int requests, int concurrency, String path) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(sources)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + path);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            load(client, uri, Math.min(concurrency, 200), Math.min(concurrency, 200));//warmup
+            GroupCommitWriter writer = context.getBeanProvider(GroupCommitWriter.class).getIfAvailable();
+            long commitCount = writer == null ? 0 : writer.getCommitCount();
+            Load load = load(client, uri, requests, concurrency);
+            long writes = writer == null ? requests : writer.getCommitCount() - commitCount;
+            return new Result(mode, load, writes);
+        }
+    }
+
+    private static Load load(HttpClient client, URI uri, int requests, int concurrency) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        Semaphore permits = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        long startNs = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            permits.acquire();
+            int index = i;
+            long sentNs = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        latencies[index] = System.nanoTime() - sentNs;
+                        if (ex != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        permits.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        long elapsedNs = System.nanoTime() - startNs;
+        Arrays.sort(latencies);
+        return new Load(requests, elapsedNs, latencies, errors.get());
+    }
+
+    private static class Load {
+        private final int requests;
+        private final long elapsedNs;
+        private final long[] sortedLatencies;
+        private final int errors;
+
+        private Load(int requests, long elapsedNs, long[] sortedLatencies, int errors) {
+            this.requests = requests;
+            this.elapsedNs = elapsedNs;
+            this.sortedLatencies = sortedLatencies;
+            this.errors = errors;
+        }
+
+        private double percentileMs(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    private static class Result {
+        private final String mode;
+        private final Load load;
+        private final long writes;
+
+        private Result(String mode, Load load, long writes) {
+            this.mode = mode;
+            this.load = load;
+            this.writes = writes;
+        }
+
+        private void print() {
+            double throughput = load.requests / (load.elapsedNs / (double) TimeUnit.SECONDS.toNanos(1));
+            System.out.printf("%-10s %8.1f/s %10.1f %10.1f %10.1f %8d %8d%n", mode, throughput,
+                    load.percentileMs(0.5), load.percentileMs(0.99), load.percentileMs(1.0), load.errors, writes);
+        }
+    }
+}
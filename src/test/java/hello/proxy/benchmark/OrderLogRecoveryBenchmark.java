@@ -0,0 +1,83 @@
+package hello.proxy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import hello.proxy.orderlog.FsyncPolicy;
+import hello.proxy.orderlog.OrderLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderLog 시작 시 복구 시간 (세그먼트 전체를 읽어 CRC 검사, itemId 인덱스 생성)
+ * : setUp 에서 logSizeMb 크기의 로그를 itemCount 개의 itemId 로 기록한다. 압축은 하지 않는다.
+ * : 측정은 로그를 열고 닫는 시간이다. setUp 직후라 세그먼트가 page cache 에 있는 상태의 복구 시간이다.
+ *   디스크에서 읽는 시간까지 보려면 측정 전에 page cache 를 비워야 한다. (Linux: echo 3 > /proc/sys/vm/drop_caches)
+ * : 기록할 디렉토리는 java.io.tmpdir 아래에 만들고 끝나면 지운다. logSizeMb 만큼의 디스크 공간이 필요하다.
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="OrderLogRecoveryBenchmark"
+ *      ./gradlew jmh -PjmhArgs="OrderLogRecoveryBenchmark -p logSizeMb=8192"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class OrderLogRecoveryBenchmark {
+
+    @Param({"1024", "4096"})
+    public int logSizeMb;
+
+    @Param({"1000000"})
+    public int itemCount;
+
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        directory = Files.createTempDirectory("order-log-benchmark");
+        String[] itemIds = new String[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemIds[i] = String.format("item-%07d", i);
+        }
+        long targetSegments = (long) logSizeMb * 1024 * 1024 / OrderLog.DEFAULT_SEGMENT_SIZE;
+        try (OrderLog orderLog = new OrderLog(directory, OrderLog.DEFAULT_SEGMENT_SIZE, FsyncPolicy.OS, 1000, 0)) {
+            for (int i = 0; orderLog.getSegmentCount() <= targetSegments; i++) {
+                orderLog.append(itemIds[i % itemCount]);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Path segment : OrderLog.listSegments(directory)) {
+            Files.delete(segment);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public long recover() {
+        try (OrderLog orderLog = new OrderLog(directory, OrderLog.DEFAULT_SEGMENT_SIZE, FsyncPolicy.OS, 1000, 0)) {
+            return orderLog.getRecoveredRecords();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hello.proxy.benchmark;
+
+import hello.proxy.app.v1.OrderControllerV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v1.OrderServiceV1Impl;
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.app.v2.OrderServiceV2;
+import hello.proxy.app.v3.OrderControllerV3;
+import hello.proxy.app.v3.OrderRepositoryV3;
+import hello.proxy.app.v3.OrderServiceV3;
+import hello.proxy.config.pointcut.CompiledExecutionPointcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AutoProxyConfig.advisor3(AspectJ) 와 advisor4(CompiledExecutionPointcut) 의 포인트컷 비교
+ * : startup - 포인트컷을 새로 만들고 빈 클래스마다 자동 프록시 생성기처럼 AopUtils.canApply 로 모든 메서드를 매칭한다.
+ *   (AspectJ 는 표현식 파싱, 메서드별 shadow matching 결과 캐시 생성이 포함된다.)
+ * : matches - 만들어진 포인트컷으로 (메서드, 클래스) 쌍을 매칭한다. 프록시가 호출된 메서드의 어드바이스 체인을 만들 때의 비용이다.
+ * : 빈 클래스는 app 패키지의 9개와 프록시 대상이 아닌 스프링 클래스 2개
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="PointcutMatchBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointcutMatchBenchmark {
+
+    private static final String EXPRESSION = "execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))";
+    private static final Class<?>[] BEAN_CLASSES = {
+            OrderControllerV1Impl.class, OrderServiceV1Impl.class, OrderRepositoryV1Impl.class,
+            OrderControllerV2.class, OrderServiceV2.class, OrderRepositoryV2.class,
+            OrderControllerV3.class, OrderServiceV3.class, OrderRepositoryV3.class,
+            DispatcherServlet.class, GenericApplicationContext.class
+    };
+
+    @Param({"aspectj", "compiled"})
+    public String pointcut;
+
+    private Pointcut warmPointcut;
+    private Method[] methods;
+    private Class<?>[] targetClasses;
+
+    @Setup
+    public void setUp() {
+        warmPointcut = newPointcut();
+        List<Method> methodList = new ArrayList<>();
+        List<Class<?>> classList = new ArrayList<>();
+        for (Class<?> beanClass : BEAN_CLASSES) {
+            for (Method method : beanClass.getMethods()) {
+                methodList.add(method);
+                classList.add(beanClass);
+                warmPointcut.getMethodMatcher().matches(method, beanClass);//AspectJ shadow matching 캐시를 채운다.
+            }
+        }
+        methods = methodList.toArray(new Method[0]);
+        targetClasses = classList.toArray(new Class[0]);
+    }
+
+    @Benchmark
+    public int startup() {
+        Pointcut newPointcut = newPointcut();
+        int proxied = 0;
+        for (Class<?> beanClass : BEAN_CLASSES) {
+            if (AopUtils.canApply(newPointcut, beanClass)) {
+                proxied++;
+            }
+        }
+        return proxied;
+    }
+
+    @Benchmark
+    public int matches() {
+        int matched = 0;
+        for (int i = 0; i < methods.length; i++) {
+            if (warmPointcut.getMethodMatcher().matches(methods[i], targetClasses[i])) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private Pointcut newPointcut() {
+        if ("aspectj".equals(pointcut)) {
+            AspectJExpressionPointcut aspectJ = new AspectJExpressionPointcut();
+            aspectJ.setExpression(EXPRESSION);
+            return aspectJ;
+        }
+        return CompiledExecutionPointcut.compile(EXPRESSION);
+    }
+}
@@ -0,0 +1,100 @@
+package hello.proxy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import hello.proxy.config.thread.VirtualThreads;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드당 ThreadLocalLogTrace 메모리 비용
+ * : threads 개의 가상 스레드를 요청 처리 중인 상태(controller -> service -> repository 3단계 begin 후 대기)로 멈춰 두고 GC 후 힙 사용량을 잰다.
+ * : trace 없이 같은 수의 가상 스레드를 멈춰 둔 경우와의 차이를 스레드 수로 나눈 값이 스레드당 trace 비용이다. (TraceId, TraceStatus, ThreadLocalMap)
+ * : 멈춰 둔 가상 스레드 자체 비용(Thread 객체, 스택 청크)도 같이 출력한다.
+ *
+ * 실행: ./gradlew virtualThreadFootprint -PjavaVersion=21 -PfootprintArgs="100000"
+ */
+public class VirtualThreadTraceFootprint {
+
+    private static final int DEFAULT_THREADS = 100_000;
+    private static final String[] SPANS = {"OrderControllerV1.request()", "OrderServiceV1.orderItem()", "OrderRepositoryV1.save()"};
+
+    public static void main(String[] args) throws InterruptedException {
+        if (!VirtualThreads.isSupported()) {
+            System.out.println("가상 스레드는 JDK 21 이상에서 사용할 수 있습니다. -PjavaVersion=21 로 실행하세요.");
+            return;
+        }
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+
+        measure(threads, false);//warmup
+        measure(threads, true);
+
+        long baseline = usedHeap();
+        long parked = measure(threads, false);
+        long traced = measure(threads, true);
+        System.out.printf("threads=%d%n", threads);
+        System.out.printf("virtual thread (parked, no trace) = %d B/thread%n", (parked - baseline) / threads);
+        System.out.printf("ThreadLocalLogTrace (3 spans)      = %d B/thread%n", (traced - parked) / threads);
+    }
+
+    /**
+     * 가상 스레드를 모두 멈춰 둔 상태의 힙 사용량
+     */
+    private static long measure(int threads, boolean traced) throws InterruptedException {
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+        ThreadFactory factory = VirtualThreads.factory("footprint-");
+        CountDownLatch parked = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> started = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = factory.newThread(() -> run(trace, traced, parked, release));
+            thread.start();
+            started.add(thread);
+        }
+        parked.await();
+        long used = usedHeap();
+        release.countDown();
+        for (Thread thread : started) {
+            thread.join();
+        }
+        return used;
+    }
+
+    private static void run(ThreadLocalLogTrace trace, boolean traced, CountDownLatch parked, CountDownLatch release) {
+        TraceStatus[] statuses = new TraceStatus[SPANS.length];
+        if (traced) {
+            for (int i = 0; i < SPANS.length; i++) {
+                statuses[i] = trace.begin(SPANS[i]);
+            }
+        }
+        parked.countDown();
+        try {
+            release.await();//repository 의 sleep(1000) 처럼 요청 처리 중에 멈춘 상태
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (traced) {
+            for (int i = SPANS.length - 1; i >= 0; i--) {
+                trace.end(statuses[i]);
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
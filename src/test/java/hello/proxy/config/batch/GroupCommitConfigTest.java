@@ -0,0 +1,80 @@
+package hello.proxy.config.batch;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v3.OrderControllerV3;
+import hello.proxy.app.v3.OrderRepositoryV3;
+import hello.proxy.app.v3.OrderServiceV3;
+import hello.proxy.batch.GroupCommitWriter;
+import hello.proxy.config.v6_aop.AopConfig;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GroupCommitConfigTest {
+
+    @Test
+    @DisplayName("\"ex\" 는 repository 에서 바로 실패하고 배치에 들어가지 않는다.")
+    void exTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(GroupCommitTestConfig.class)) {
+            GroupCommitWriter writer = context.getBean(GroupCommitWriter.class);
+
+            assertThatThrownBy(() -> context.getBean(OrderControllerV1.class).request("ex"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> context.getBean(OrderControllerV2.class).request("ex"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            CompletableFuture<String> async = context.getBean(OrderControllerV3.class).requestAsync("ex");
+            assertThat(async).isCompletedExceptionally();//기록(1초)을 기다리지 않는다.
+            assertThatThrownBy(async::join).hasCauseInstanceOf(IllegalArgumentException.class);
+
+            assertThat(writer.getItemCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("V1, V2, V3 가 같은 writer 를 사용하고, 동시에 들어온 save 를 묶어서 기록한다.")
+    void batchTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(GroupCommitTestConfig.class)) {
+            GroupCommitWriter writer = context.getBean(GroupCommitWriter.class);
+            OrderControllerV3 controllerV3 = context.getBean(OrderControllerV3.class);
+
+            assertThat(context.getBean(OrderControllerV1.class).request("itemA")).isEqualTo("ok");
+            assertThat(context.getBean(OrderControllerV2.class).request("itemB")).isEqualTo("ok");
+            assertThat(controllerV3.requestAsync("itemC").join()).isEqualTo("ok");
+            assertThat(writer.getItemCount()).isEqualTo(3);
+
+            long commitCount = writer.getCommitCount();
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(controllerV3.requestAsync("item" + i));
+            }
+            futures.forEach(future -> assertThat(future.join()).isEqualTo("ok"));
+
+            assertThat(writer.getItemCount()).isEqualTo(13);
+            assertThat(writer.getCommitCount() - commitCount).isLessThan(10);
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)//스프링 부트 AopAutoConfiguration 과 같은 설정
+    @Import({AopConfig.class, GroupCommitConfig.class, OrderControllerV3.class, OrderServiceV3.class, OrderRepositoryV3.class})
+    static class GroupCommitTestConfig {
+        @Bean
+        public LogTrace logTrace() {
+            return new ThreadLocalLogTrace();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hello.proxy.config.flatten;
+
+import hello.proxy.common.service.ServiceImpl;
+import hello.proxy.common.service.ServiceInterface;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdvisedBeansTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    @DisplayName("이미 프록시인 빈은 감싸지 않고 체인 앞에 advisor 를 넣는다. 감쌌을 때와 호출 순서가 같다.")
+    void mergeTest() {
+        //client -> proxy1(advisor2, advisor1) -> target
+        DefaultPointcutAdvisor advisor1 = advisor("advice1");
+        DefaultPointcutAdvisor advisor2 = advisor("advice2");
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.addAdvisor(advisor1);
+        ServiceInterface proxy1 = (ServiceInterface) proxyFactory.getProxy();
+
+        assertThat(AdvisedBeans.canMerge(proxy1)).isTrue();
+        assertThat(AdvisedBeans.targetClass(proxy1)).isEqualTo(ServiceImpl.class);
+        assertThat(AdvisedBeans.merge(proxy1, List.of(advisor2))).containsExactly(advisor2);
+
+        proxy1.find();
+        assertThat(calls).containsExactly("advice2", "advice1");
+        assertThat(((Advised) proxy1).getAdvisors()).containsExactly(advisor2, advisor1);
+    }
+
+    @Test
+    @DisplayName("이미 체인에 있는 advisor 는 다시 넣지 않는다.")
+    void duplicateTest() {
+        DefaultPointcutAdvisor advisor1 = advisor("advice1");
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.addAdvisor(advisor1);
+        Object proxy = proxyFactory.getProxy();
+
+        assertThat(AdvisedBeans.merge(proxy, List.of(advisor1))).isEmpty();
+        assertThat(((Advised) proxy).getAdvisors()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("프록시가 아니거나 frozen 프록시는 합칠 수 없다.")
+    void canMergeTest() {
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.setFrozen(true);
+
+        assertThat(AdvisedBeans.canMerge(new ServiceImpl())).isFalse();
+        assertThat(AdvisedBeans.canMerge(proxyFactory.getProxy())).isFalse();
+    }
+
+    private DefaultPointcutAdvisor advisor(String name) {
+        MethodInterceptor advice = invocation -> {
+            calls.add(name);
+            return invocation.proceed();
+        };
+        return new DefaultPointcutAdvisor(Pointcut.TRUE, advice);
+    }
+}
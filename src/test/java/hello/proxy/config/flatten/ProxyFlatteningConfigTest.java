@@ -0,0 +1,103 @@
+package hello.proxy.config.flatten;
+
+import hello.proxy.common.service.ServiceImpl;
+import hello.proxy.common.service.ServiceInterface;
+import hello.proxy.config.startup.EnableProxyStartupReport;
+import hello.proxy.config.startup.TimedAspectJAutoProxyCreator;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyFlatteningConfigTest {
+
+    @Test
+    @DisplayName("@EnableProxyFlattening 만 붙여도 이미 프록시인 빈에 advisor 를 합친다.")
+    void flattenTest() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FlatteningConfig.class)) {
+            assertThat(context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isExactlyInstanceOf(FlatteningAspectJAutoProxyCreator.class);
+            assertFlattened(context.getBean("service"));
+        }
+    }
+
+    @Test
+    @DisplayName("@EnableProxyStartupReport 만 붙이면 합치지 않고 기존 프록시를 한번 더 감싼다.")
+    void startupReportOnlyTest() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(StartupReportConfig.class)) {
+            assertThat(context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isExactlyInstanceOf(TimedAspectJAutoProxyCreator.class);
+
+            Object service = context.getBean("service");
+            assertThat(((Advised) service).getAdvisors()).hasSize(1);
+            assertThat(AopUtils.isAopProxy(((Advised) service).getTargetSource().getTarget())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("@EnableProxyStartupReport 와 함께 붙이면 시간을 기록하는 생성기가 advisor 를 합친다.")
+    void startupReportAndFlattenTest() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(StartupReportConfig.class, FlatteningConfig.class)) {
+            assertThat(context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isExactlyInstanceOf(TimedAspectJAutoProxyCreator.class);
+            assertFlattened(context.getBean("service"));
+        }
+    }
+
+    private void assertFlattened(Object service) throws Exception {
+        assertThat(((Advised) service).getAdvisors()).hasSize(2);
+        assertThat(((Advised) service).getTargetSource().getTarget()).isExactlyInstanceOf(ServiceImpl.class);
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)//스프링 부트 AopAutoConfiguration 과 같은 설정
+    static class ServiceConfig {
+
+        @Bean
+        public ServiceInterface service() {
+            ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+            proxyFactory.addAdvisor(advisor());
+            return (ServiceInterface) proxyFactory.getProxy();
+        }
+
+        @Bean
+        public Advisor findAdvisor() {
+            return advisor();
+        }
+
+        private static DefaultPointcutAdvisor advisor() {
+            NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+            pointcut.setMappedNames("find");
+            MethodInterceptor advice = new MethodInterceptor() {//호출마다 다른 advice (같은 advisor 로 보고 합치지 않는 것을 피한다.)
+                @Override
+                public Object invoke(MethodInvocation invocation) throws Throwable {
+                    return invocation.proceed();
+                }
+            };
+            return new DefaultPointcutAdvisor(pointcut, advice);
+        }
+    }
+
+    @Configuration
+    @EnableProxyFlattening
+    @Import(ServiceConfig.class)
+    static class FlatteningConfig {
+    }
+
+    @Configuration
+    @EnableProxyStartupReport
+    @Import(ServiceConfig.class)
+    static class StartupReportConfig {
+    }
+}
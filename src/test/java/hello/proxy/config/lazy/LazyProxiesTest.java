@@ -0,0 +1,130 @@
+package hello.proxy.config.lazy;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.config.v3_proxyfactory.pregenerated.CglibProxyClasses;
+import hello.proxy.config.v5_autoproxy.LazyAutoProxyConfig;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyConfig;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LazyProxiesTest {
+
+    private final AtomicInteger matchCount = new AtomicInteger();
+    private final AtomicInteger adviceCount = new AtomicInteger();
+
+    @Test
+    @DisplayName("placeholder 는 첫 호출 전까지 포인트컷 매칭, 프록시 생성을 하지 않는다.")
+    void lazyTest() {
+        OrderRepositoryV1 placeholder = LazyProxies.proxy(new OrderRepositoryV1Impl(), advisor());
+
+        assertThat(AopUtils.isAopProxy(placeholder)).isFalse();
+        assertThat(LazyProxies.isResolved(placeholder)).isFalse();
+        assertThat(matchCount.get()).isZero();
+
+        placeholder.save("itemA");
+
+        assertThat(LazyProxies.isResolved(placeholder)).isTrue();
+        assertThat(matchCount.get()).isPositive();
+        assertThat(adviceCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("toString, equals, hashCode 는 실제 프록시를 만들지 않는다.")
+    void objectMethodTest() {
+        OrderRepositoryV1 placeholder = LazyProxies.proxy(new OrderRepositoryV1Impl(), advisor());
+
+        assertThat(placeholder.toString()).isNotNull();
+        assertThat(placeholder).isEqualTo(placeholder);
+        assertThat(placeholder.hashCode()).isEqualTo(System.identityHashCode(placeholder));
+        assertThat(LazyProxies.isResolved(placeholder)).isFalse();
+    }
+
+    @Test
+    @DisplayName("인터페이스가 없으면 고정 이름의 CGLIB 프록시 클래스를 placeholder 로 사용하고, target 의 예외를 그대로 던진다.")
+    void pregeneratedTest() {
+        OrderRepositoryV2 placeholder = LazyProxies.proxy(new OrderRepositoryV2(), advisor());
+
+        assertThat(placeholder.getClass().getName()).isEqualTo(CglibProxyClasses.proxyClassName(OrderRepositoryV2.class));
+        assertThat(LazyProxies.isResolved(placeholder)).isFalse();
+
+        assertThatThrownBy(() -> placeholder.save("ex"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(LazyProxies.isResolved(placeholder)).isTrue();
+        assertThat(adviceCount.get()).isEqualTo(1);
+        assertThat(((Advised) placeholder).getAdvisors()).hasSize(1);//실제 프록시의 설정 정보
+    }
+
+    @Test
+    @DisplayName("proxyTargetClass 면 인터페이스가 있어도 CGLIB placeholder 를 사용하고, 실제 프록시도 CGLIB 으로 만든다.")
+    void proxyTargetClassTest() {
+        ProxyConfig config = new ProxyConfig();
+        config.setProxyTargetClass(true);
+        OrderRepositoryV1 placeholder = LazyProxies.proxy(config, new OrderRepositoryV1Impl(), advisor());
+
+        assertThat(placeholder).isInstanceOf(OrderRepositoryV1Impl.class);
+        assertThat(LazyProxies.isResolved(placeholder)).isFalse();
+
+        placeholder.save("itemA");
+
+        assertThat(LazyProxies.isResolved(placeholder)).isTrue();
+        assertThat(adviceCount.get()).isEqualTo(1);
+        assertThat(((Advised) placeholder).isProxyTargetClass()).isTrue();
+    }
+
+    @Test
+    @DisplayName("LazyAutoProxyConfig 는 스프링 부트 기본값(proxyTargetClass=true)을 따르므로 구현 클래스 타입으로 조회할 수 있다.")
+    void lazyAutoProxyConfigTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(LazyAutoProxyTestConfig.class)) {
+            OrderRepositoryV1Impl repository = context.getBean("orderRepositoryV1", OrderRepositoryV1Impl.class);
+
+            assertThat(LazyProxies.isResolved(repository)).isFalse();
+            assertThat(context.getBean(OrderControllerV1.class).request("itemA")).isEqualTo("ok");
+            assertThat(LazyProxies.isResolved(repository)).isTrue();
+        }
+    }
+
+    @Configuration
+    @Import(LazyAutoProxyConfig.class)
+    static class LazyAutoProxyTestConfig {
+        @Bean
+        public LogTrace logTrace() {
+            return new ThreadLocalLogTrace();
+        }
+    }
+
+    private DefaultPointcutAdvisor advisor() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                matchCount.incrementAndGet();
+                return super.matches(method, targetClass);
+            }
+        };
+        pointcut.setMappedNames("save*");
+        MethodInterceptor advice = invocation -> {
+            adviceCount.incrementAndGet();
+            return invocation.proceed();
+        };
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
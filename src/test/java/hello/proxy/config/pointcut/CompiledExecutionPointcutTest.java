@@ -0,0 +1,78 @@
+package hello.proxy.config.pointcut;
+
+import hello.proxy.ProxyApplication;
+import hello.proxy.app.v1.OrderControllerV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v1.OrderServiceV1Impl;
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.app.v3.OrderServiceV3;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompiledExecutionPointcutTest {
+
+    private static final String[] EXPRESSIONS = {
+            "execution(* hello.proxy.app..*(..)) && !execution(* hello.proxy.app..noLog(..))",
+            "execution(* hello.proxy.app..*(..))",
+            "execution(* hello.proxy.app.v1.*.request(..))",
+            "execution(public * *..Order*V2.*())",
+            "execution(* *(..)) && !execution(* hello.proxy..*(..))",
+            "execution(* save*(..))",
+    };
+
+    private static final Class<?>[] CLASSES = {
+            OrderControllerV1Impl.class, OrderServiceV1Impl.class, OrderRepositoryV1Impl.class,
+            OrderControllerV2.class, OrderServiceV3.class, ProxyApplication.class, String.class
+    };
+
+    @Test
+    @DisplayName("지원하는 표현식은 AspectJExpressionPointcut 과 같은 메서드에 매칭된다.")
+    void sameAsAspectJTest() {
+        for (String expression : EXPRESSIONS) {
+            CompiledExecutionPointcut compiled = CompiledExecutionPointcut.compile(expression);
+            AspectJExpressionPointcut aspectJ = new AspectJExpressionPointcut();
+            aspectJ.setExpression(expression);
+
+            for (Class<?> targetClass : CLASSES) {
+                assertThat(AopUtils.canApply(compiled, targetClass))
+                        .as("%s %s", expression, targetClass.getSimpleName())
+                        .isEqualTo(AopUtils.canApply(aspectJ, targetClass));
+                for (Method method : targetClass.getMethods()) {
+                    assertThat(compiled.matches(method, targetClass))
+                            .as("%s %s.%s", expression, targetClass.getSimpleName(), method.getName())
+                            .isEqualTo(aspectJ.matches(method, targetClass));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("noLog 는 제외된다.")
+    void excludeTest() throws NoSuchMethodException {
+        CompiledExecutionPointcut pointcut = CompiledExecutionPointcut.compile(EXPRESSIONS[0]);
+
+        assertThat(pointcut.matches(OrderControllerV2.class.getMethod("request", String.class), OrderControllerV2.class)).isTrue();
+        assertThat(pointcut.matches(OrderControllerV2.class.getMethod("noLog"), OrderControllerV2.class)).isFalse();
+        assertThat(pointcut.matches(String.class)).isFalse();//ClassFilter
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 표현식은 컴파일하지 않고 AspectJ 포인트컷을 사용한다.")
+    void fallbackTest() {
+        String expression = "execution(String hello.proxy.app..*(..)) || within(hello.proxy.app..*)";
+        assertThatThrownBy(() -> CompiledExecutionPointcut.compile(expression))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Pointcut pointcut = ExecutionPointcuts.of(expression);
+        assertThat(pointcut).isInstanceOf(AspectJExpressionPointcut.class);
+        assertThat(ExecutionPointcuts.of(EXPRESSIONS[0])).isInstanceOf(CompiledExecutionPointcut.class);
+    }
+}
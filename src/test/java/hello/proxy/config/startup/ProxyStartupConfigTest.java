@@ -0,0 +1,60 @@
+package hello.proxy.config.startup;
+
+import hello.proxy.config.v6_aop.AopConfig;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyStartupConfigTest {
+
+    @Test
+    @DisplayName("@EnableProxyStartupReport 를 붙이면 자동 프록시 생성기가 바뀌고, 프록시를 적용한 빈이 리포트에 기록된다.")
+    void reportTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ReportConfig.class)) {
+            assertThat(context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isExactlyInstanceOf(TimedAspectJAutoProxyCreator.class);
+
+            ProxyStartupReport report = context.getBean(ProxyStartupRecorder.class).report();
+            assertThat(report.getProxiedCount()).isPositive();
+            BeanProxyTiming timing = report.getBeans().stream()
+                    .filter(o -> o.getBeanName().equals("orderControllerV1"))
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(timing.getProxyType()).isEqualTo(ProxyType.CGLIB);
+            assertThat(timing.getAdvisors()).contains("logTraceAspect.execute");
+        }
+    }
+
+    @Test
+    @DisplayName("@EnableProxyStartupReport 가 없으면 기본 자동 프록시 생성기를 그대로 사용한다.")
+    void defaultTest() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(DefaultConfig.class)) {
+            assertThat(context.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isNotInstanceOf(TimedAspectJAutoProxyCreator.class);
+            assertThat(context.getBeansOfType(ProxyStartupRecorder.class)).isEmpty();
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)//스프링 부트 AopAutoConfiguration 과 같은 설정
+    @Import(AopConfig.class)
+    static class DefaultConfig {
+        @Bean
+        public LogTrace logTrace() {
+            return new ThreadLocalLogTrace();
+        }
+    }
+
+    @Configuration
+    @EnableProxyStartupReport
+    @Import(DefaultConfig.class)
+    static class ReportConfig {
+    }
+}
@@ -0,0 +1,91 @@
+package hello.proxy.config.startup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyStartupRecorderTest {
+
+    private final ProxyStartupRecorder recorder = new ProxyStartupRecorder();
+
+    @Test
+    @DisplayName("빈 생성 시간에서 중첩해서 생성된 의존 빈의 시간을 뺀다.")
+    void nestedCreationTest() throws InterruptedException {
+        long startNs = System.nanoTime();
+        recorder.creationStarted("orderService");
+        Thread.sleep(30);
+        recorder.creationStarted("orderRepository");
+        Thread.sleep(30);
+        recorder.creationFinished("orderRepository", Object.class);
+        recorder.creationFinished("orderService", Object.class);
+        long elapsedNs = System.nanoTime() - startNs;
+
+        BeanProxyTiming service = timing("orderService");
+        BeanProxyTiming repository = timing("orderRepository");
+        assertThat(repository.getCreateMs()).isGreaterThanOrEqualTo(30);
+        assertThat(service.getCreateMs()).isGreaterThanOrEqualTo(30);
+        //의존 빈의 시간을 빼지 않으면 두 빈의 합이 전체 시간보다 커진다.
+        assertThat(service.getCreateNs() + repository.getCreateNs()).isLessThanOrEqualTo(elapsedNs);
+    }
+
+    @Test
+    @DisplayName("시작 기록이 없는 빈은 생성 시간을 기록하지 않는다.")
+    void notStartedTest() {
+        recorder.creationFinished("unknown", Object.class);
+        assertThat(recorder.timings()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("빈 후처리기 여러 개의 기록은 합치고, 프록시 종류는 프록시를 만든 결과를 사용한다.")
+    void mergeTest() {
+        recorder.recordProxy("orderController", Object.class, 1_000_000, 0, List.of(), ProxyType.NONE);
+        recorder.recordProxy("orderController", Object.class, 2_000_000, 3_000_000, List.of("LogTraceAdvice"), ProxyType.CGLIB);
+        recorder.recordProxy("other", Object.class, 1_000_000, 0, List.of(), ProxyType.NONE);
+
+        BeanProxyTiming timing = timing("orderController");
+        assertThat(timing.getMatchMs()).isEqualTo(3.0);
+        assertThat(timing.getProxyMs()).isEqualTo(3.0);
+        assertThat(timing.getAdvisors()).containsExactly("LogTraceAdvice");
+        assertThat(timing.getProxyType()).isEqualTo(ProxyType.CGLIB);
+
+        ProxyStartupReport report = recorder.report();
+        assertThat(report.getBeanCount()).isEqualTo(2);
+        assertThat(report.getProxiedCount()).isEqualTo(1);
+        assertThat(report.getBeans().get(0).getBeanName()).isEqualTo("orderController");//전체 시간이 큰 순서
+    }
+
+    @Test
+    @DisplayName("기존 프록시에 advisor 를 합친 빈은 프록시 생성 시간 없이 flattened 로 기록한다.")
+    void flattenedTest() {
+        recorder.recordFlattened("orderController", Object.class, 1_000_000, List.of("LogTraceAdvice"), ProxyType.CGLIB);
+
+        BeanProxyTiming timing = timing("orderController");
+        assertThat(timing.isFlattened()).isTrue();
+        assertThat(timing.getProxyMs()).isZero();
+        assertThat(timing.getProxyType()).isEqualTo(ProxyType.CGLIB);
+        assertThat(recorder.report().getFlattenedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JDK 동적 프록시, CGLIB 프록시를 구분한다.")
+    void proxyTypeTest() {
+        Object bean = new Object();
+        Runnable jdkProxy = (Runnable) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{Runnable.class}, (proxy, method, args) -> null);
+
+        assertThat(ProxyType.of(bean, bean)).isEqualTo(ProxyType.NONE);
+        assertThat(ProxyType.of(bean, jdkProxy)).isEqualTo(ProxyType.JDK);
+        assertThat(ProxyType.of(bean, "other")).isEqualTo(ProxyType.OTHER);
+    }
+
+    private BeanProxyTiming timing(String beanName) {
+        return recorder.timings().stream()
+                .filter(timing -> timing.getBeanName().equals(beanName))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,59 @@
+package hello.proxy.config.thread;
+
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("가상 스레드마다 ThreadLocalLogTrace 의 level 을 따로 관리하고, 루트 span 이 끝나면 trace 를 비운다.")
+    void threadLocalLogTraceTest() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "JDK 21 이상");
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-vt-");
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> {
+                    TraceStatus controller = trace.begin("controller");
+                    int controllerLevel = controller.getTraceId().getLevel();
+                    TraceStatus service = trace.begin("service");
+                    int serviceLevel = service.getTraceId().getLevel();
+                    Thread.sleep(10);//가상 스레드가 캐리어 스레드를 놓아준다.
+                    int[] levels = {controllerLevel, serviceLevel, VirtualThreads.isVirtual(Thread.currentThread()) ? 1 : 0};
+                    trace.end(service);
+                    trace.end(controller);
+                    assertThat(trace.capture()).isNull();
+                    return levels;
+                }));
+            }
+            for (Future<int[]> result : results) {
+                assertThat(result.get()).containsExactly(0, 1, 1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("JDK 21 미만에서는 가상 스레드 executor 를 만들 수 없다.")
+    void unsupportedTest() {
+        assumeFalse(VirtualThreads.isSupported());
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+        assertThatThrownBy(() -> VirtualThreads.newThreadPerTaskExecutor("test-vt-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JDK 21");
+    }
+}
@@ -0,0 +1,42 @@
+package hello.proxy.config.v1_proxy;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderControllerV1Impl;
+import hello.proxy.app.v1.OrderControllerV1LogTraceProxy;
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1LogTraceProxy;
+import hello.proxy.app.v1.OrderServiceV1;
+import hello.proxy.app.v1.OrderServiceV1Impl;
+import hello.proxy.app.v1.OrderServiceV1LogTraceProxy;
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GeneratedProxyV1Test extends LogAppenders {
+
+    private final LogTrace trace = new ThreadLocalLogTrace();
+    private final OrderRepositoryV1 repository = new OrderRepositoryV1LogTraceProxy(new OrderRepositoryV1Impl(), trace);
+    private final OrderServiceV1 service = new OrderServiceV1LogTraceProxy(new OrderServiceV1Impl(repository), trace);
+    private final OrderControllerV1 controller = new OrderControllerV1LogTraceProxy(new OrderControllerV1Impl(service), trace);
+
+    @Test
+    @DisplayName("생성된 프록시는 직접 작성한 프록시와 같은 로그를 남기고, target 의 예외를 그대로 던진다.")
+    void requestFailTest() {
+        assertThatThrownBy(() -> controller.request("ex"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertRequestLog(1, true);
+    }
+
+    @Test
+    @DisplayName("noLog 는 로그 없이 target 만 호출한다.")
+    void noLogTest() {
+        assertThat(controller.noLog()).isEqualTo("ok");
+        assertThat(getOrderedLogs()).isNull();
+    }
+}
@@ -0,0 +1,60 @@
+package hello.proxy.config.v2_dynamicproxy.handler;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.config.v2_dynamicproxy.DynamicProxyMethodHandleConfig;
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MethodHandleProxyV1Test extends LogAppenders {
+
+    private final LogTrace trace = new ThreadLocalLogTrace();
+    private final OrderControllerV1 controller = new DynamicProxyMethodHandleConfig().orderControllerV1(trace);
+
+    @Test
+    @DisplayName("요청 API 를 호출하여 ok 를 리턴받는다.")
+    void requestTest() {
+        assertThat(controller.request("itemId")).isEqualTo("ok");
+        assertRequestLog(1, false);
+    }
+
+    @Test
+    @DisplayName("target 의 예외를 InvocationTargetException 으로 감싸지 않고 원래 예외를 로그에 남기고 그대로 던진다.")
+    void requestFailTest() {
+        assertThatThrownBy(() -> controller.request("ex"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("예외 발생");
+        assertRequestLog(1, true);
+        assertThat(getOrderedLogs().get(3)).contains("ex=java.lang.IllegalArgumentException: 예외 발생");
+    }
+
+    @Test
+    @DisplayName("패턴에 맞지 않는 noLog 는 로그 없이 target 만 호출한다.")
+    void noLogTest() {
+        assertThat(controller.noLog()).isEqualTo("ok");
+        assertThat(getOrderedLogs()).isNull();
+    }
+
+    @Test
+    @DisplayName("패턴 매칭 결과와 MethodHandle 은 메서드별로 한번만 만들어 재사용한다.")
+    void invokerCacheTest() throws NoSuchMethodException {
+        LogTraceMethodHandleHandler handler = new LogTraceMethodHandleHandler(new OrderRepositoryV1Impl(), trace, new String[]{"save"});
+        Method save = OrderRepositoryV1.class.getMethod("save", String.class);
+        Method saveAsync = OrderRepositoryV1.class.getMethod("saveAsync", String.class);
+
+        LogTraceMethodHandleHandler.Invoker invoker = handler.invoker(save);
+
+        assertThat(handler.invoker(save)).isSameAs(invoker);
+        assertThat(invoker.isTraced()).isTrue();
+        assertThat(handler.invoker(saveAsync).isTraced()).isFalse();
+    }
+}
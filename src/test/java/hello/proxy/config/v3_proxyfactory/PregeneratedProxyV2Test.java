@@ -0,0 +1,89 @@
+package hello.proxy.config.v3_proxyfactory;
+
+import hello.proxy.app.v2.OrderControllerV2;
+import hello.proxy.config.v3_proxyfactory.pregenerated.CglibProxyClasses;
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PregeneratedProxyV2Test extends LogAppenders {
+
+    private final OrderControllerV2 controller = new PregeneratedProxyConfigV2().orderControllerV2(new ThreadLocalLogTrace());
+
+    @Test
+    @DisplayName("고정 이름의 프록시 클래스를 사용한다. 빌드 시점에 생성한 클래스가 없으면 같은 이름으로 런타임에 생성한다.")
+    void proxyClassTest() {
+        assertThat(controller.getClass().getName()).isEqualTo(OrderControllerV2.class.getName() + CglibProxyClasses.SUFFIX);
+        assertThat(controller.getClass().getSuperclass()).isEqualTo(OrderControllerV2.class);
+    }
+
+    @Test
+    @DisplayName("ProxyFactory 프록시처럼 AopUtils, Advised 로 조회할 수 있다.")
+    void advisedTest() {
+        assertThat(AopUtils.isAopProxy(controller)).isTrue();
+        assertThat(AopUtils.isCglibProxy(controller)).isTrue();
+        assertThat(AopUtils.getTargetClass(controller)).isEqualTo(OrderControllerV2.class);
+        assertThat(AopProxyUtils.getSingletonTarget(controller)).isExactlyInstanceOf(OrderControllerV2.class);
+
+        Advised advised = (Advised) controller;
+        assertThat(advised.getAdvisors()).hasSize(1);
+        assertThat(advised.isFrozen()).isTrue();
+        assertThat(getOrderedLogs()).isNull();
+    }
+
+    @Test
+    @DisplayName("ProxyFactory 프록시와 같은 로그를 남기고, target 의 예외를 그대로 던진다.")
+    void requestFailTest() {
+        assertThatThrownBy(() -> controller.request("ex"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertRequestLog(2, true);
+    }
+
+    @Test
+    @DisplayName("포인트컷에 맞지 않는 noLog 는 로그 없이 target 만 호출한다.")
+    void noLogTest() {
+        assertThat(controller.noLog()).isEqualTo("ok");
+        assertThat(getOrderedLogs()).isNull();
+    }
+
+    @Test
+    @DisplayName("equals, hashCode 는 프록시 자신을 기준으로 한다.")
+    void equalsHashCodeTest() {
+        assertThat(controller.equals(controller)).isTrue();
+        assertThat(controller.equals(AopProxyUtils.getSingletonTarget(controller))).isFalse();
+        assertThat(controller.hashCode()).isEqualTo(System.identityHashCode(controller));
+    }
+
+    @Test
+    @DisplayName("target 자신을 반환하면 프록시를 반환한다. 포인트컷에 맞는 메서드, 맞지 않는 메서드 모두 같다.")
+    void returnThisTest() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("advised");
+        MethodInterceptor advice = MethodInvocation::proceed;
+        SelfReturning proxy = CglibProxyClasses.createProxy(new SelfReturning(), new DefaultPointcutAdvisor(pointcut, advice));
+
+        assertThat(proxy.advised()).isSameAs(proxy);
+        assertThat(proxy.plain()).isSameAs(proxy);
+    }
+
+    public static class SelfReturning {
+        public SelfReturning advised() {
+            return this;
+        }
+
+        public SelfReturning plain() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package hello.proxy.config.v3_proxyfactory.fixed;
+
+import hello.proxy.common.service.ConcreteService;
+import hello.proxy.common.service.ServiceImpl;
+import hello.proxy.common.service.ServiceInterface;
+import hello.proxy.config.flatten.FlatteningAspectJAutoProxyCreator;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.config.AopConfigUtils;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cglib.proxy.Factory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FixedAdvisorAopProxyFactoryTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    @DisplayName("인터페이스가 있으면 전용 JDK 동적 프록시, 포인트컷에 맞는 메서드에만 어드바이스를 적용한다.")
+    void jdkTest() {
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.addAdvisor(advisor("advice", "save"));
+        ServiceInterface proxy = (ServiceInterface) FixedAdvisorAopProxyFactory.apply(proxyFactory).getProxy();
+
+        assertThat(AopUtils.isJdkDynamicProxy(proxy)).isTrue();
+        assertThat(Proxy.getInvocationHandler(proxy)).isInstanceOf(FixedAdvisorJdkAopProxy.class);
+        assertThat(((Advised) proxy).getAdvisors()).hasSize(1);
+
+        proxy.save();
+        proxy.find();
+        assertThat(calls).containsExactly("advice");
+    }
+
+    @Test
+    @DisplayName("구체 클래스면 전용 CGLIB 프록시, 여러 advisor 는 등록 순서대로 실행된다.")
+    void cglibTest() {
+        ProxyFactory proxyFactory = new ProxyFactory(new ConcreteService());
+        proxyFactory.addAdvisor(advisor("advice1", "call"));
+        proxyFactory.addAdvisor(advisor("advice2", "call"));
+        ConcreteService proxy = (ConcreteService) FixedAdvisorAopProxyFactory.apply(proxyFactory).getProxy();
+
+        assertThat(AopUtils.isCglibProxy(proxy)).isTrue();
+        assertThat(((Factory) proxy).getCallback(0)).isInstanceOf(FixedAdvisorCglibAopProxy.class);
+
+        proxy.call();
+        proxy.call();
+        assertThat(calls).containsExactly("advice1", "advice2", "advice1", "advice2");
+        assertThat(proxy).isEqualTo(proxy);
+    }
+
+    @Test
+    @DisplayName("frozen 이 아니면 기본 프록시를 만든다.")
+    void fallbackTest() {
+        ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.addAdvisor(advisor("advice", "save"));
+        proxyFactory.setAopProxyFactory(new FixedAdvisorAopProxyFactory());
+        ServiceInterface proxy = (ServiceInterface) proxyFactory.getProxy();
+
+        assertThat(Proxy.getInvocationHandler(proxy)).isNotInstanceOf(FixedAdvisorJdkAopProxy.class);
+        proxy.save();
+        assertThat(calls).containsExactly("advice");
+    }
+
+    @Test
+    @DisplayName("어드바이스 안에서 다시 프록시를 호출해도 MethodInvocation 을 섞어 쓰지 않고, target 의 예외를 그대로 던진다.")
+    void nestedTest() {
+        ProxyFactory innerFactory = new ProxyFactory(new ServiceImpl());
+        innerFactory.addAdvisor(advisor("inner", "find"));
+        ServiceInterface inner = (ServiceInterface) FixedAdvisorAopProxyFactory.apply(innerFactory).getProxy();
+
+        ProxyFactory outerFactory = new ProxyFactory(new ServiceImpl());
+        MethodInterceptor callsInner = invocation -> {
+            inner.find();
+            calls.add("outer " + invocation.getMethod().getName());
+            throw new IllegalStateException("ex");
+        };
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("save");
+        outerFactory.addAdvisor(new DefaultPointcutAdvisor(pointcut, callsInner));
+        ServiceInterface outer = (ServiceInterface) FixedAdvisorAopProxyFactory.apply(outerFactory).getProxy();
+
+        assertThatThrownBy(outer::save).isInstanceOf(IllegalStateException.class);
+        assertThat(calls).containsExactly("inner", "outer save");
+    }
+
+    @Test
+    @DisplayName("registrar 는 스프링 부트의 기본 생성기를 바꾸고 frozen 전용 프록시 설정을 넣는다.")
+    void registrarTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AopConfigUtils.registerAspectJAnnotationAutoProxyCreatorIfNecessary(beanFactory);
+
+        new FixedAdvisorAutoProxyRegistrar().postProcessBeanFactory(beanFactory);
+
+        BeanDefinition definition = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        assertThat(definition.getBeanClassName()).isEqualTo(FlatteningAspectJAutoProxyCreator.class.getName());
+        assertThat(definition.getPropertyValues().contains("aopProxyFactory")).isTrue();
+        assertThat(beanFactory.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isInstanceOf(FlatteningAspectJAutoProxyCreator.class);
+    }
+
+    @Test
+    @DisplayName("aopProxyFactory 속성이 없는 다른 생성기는 그대로 둔다.")
+    void registrarOtherCreatorTest() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AopConfigUtils.registerAutoProxyCreatorIfNecessary(beanFactory);//InfrastructureAdvisorAutoProxyCreator
+
+        new FixedAdvisorAutoProxyRegistrar().postProcessBeanFactory(beanFactory);
+
+        BeanDefinition definition = beanFactory.getBeanDefinition(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        assertThat(definition.getBeanClassName()).isEqualTo(InfrastructureAdvisorAutoProxyCreator.class.getName());
+        assertThat(definition.getPropertyValues().contains("aopProxyFactory")).isFalse();
+        assertThat(beanFactory.getBean(AopConfigUtils.AUTO_PROXY_CREATOR_BEAN_NAME)).isInstanceOf(InfrastructureAdvisorAutoProxyCreator.class);
+    }
+
+    private DefaultPointcutAdvisor advisor(String name, String mappedName) {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName(mappedName);
+        MethodInterceptor advice = invocation -> {
+            calls.add(name);
+            return invocation.proceed();
+        };
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+}
@@ -0,0 +1,66 @@
+package hello.proxy.config.v3_proxyfactory.pregenerated;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.cglib.proxy.Factory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CglibProxyClassGeneratorTest {
+
+    @Test
+    @DisplayName("고정 이름의 프록시 클래스 파일을 만들고, 그 클래스는 target 을 상속하고 SpringProxy, Advised 를 구현한다.")
+    void generateTest(@TempDir Path outputDirectory) throws Exception {
+        String proxyClassName = CglibProxyClasses.proxyClassName(GeneratorTarget.class);
+
+        CglibProxyClassGenerator.main(new String[]{outputDirectory.toString(), GeneratorTarget.class.getName()});
+
+        Path classFile = outputDirectory.resolve(proxyClassName.replace('.', '/') + ".class");
+        assertThat(classFile).exists();
+        Class<?> proxyClass = new ClassFileLoader().define(proxyClassName, Files.readAllBytes(classFile));
+        assertThat(proxyClass.getSuperclass()).isEqualTo(GeneratorTarget.class);
+        assertThat(proxyClass.getInterfaces()).contains(SpringProxy.class, Advised.class, Factory.class);
+    }
+
+    @Test
+    @DisplayName("이미 로딩된 프록시 클래스는 다시 생성하지 않으므로 실패한다.")
+    void alreadyLoadedTest() {
+        CglibProxyClasses.proxyClass(LoadedTarget.class);
+
+        assertThatThrownBy(() -> CglibProxyClassGenerator.generate(LoadedTarget.class))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    public static class GeneratorTarget {
+        public String call() {
+            return "ok";
+        }
+    }
+
+    public static class LoadedTarget {
+        public String call() {
+            return "ok";
+        }
+    }
+
+    /**
+     * 생성한 클래스 파일을 읽어서 정의한다. target, 인터페이스는 부모 클래스로더에서 찾는다.
+     */
+    private static class ClassFileLoader extends ClassLoader {
+
+        private ClassFileLoader() {
+            super(CglibProxyClassGeneratorTest.class.getClassLoader());
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
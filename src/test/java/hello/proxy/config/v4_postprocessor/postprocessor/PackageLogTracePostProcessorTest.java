@@ -0,0 +1,102 @@
+package hello.proxy.config.v4_postprocessor.postprocessor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackageLogTracePostProcessorTest {
+
+    private final AtomicInteger adviceCount = new AtomicInteger();
+    private final PackageLogTracePostProcessor postProcessor = new PackageLogTracePostProcessor(advisor(), "hello.proxy.config.v4_postprocessor");
+
+    @Test
+    @DisplayName("포인트컷에 맞는 메서드가 없는 빈은 프록시를 만들지 않고 skipped 로 남긴다.")
+    void skipTest() {
+        NoMatch bean = new NoMatch();
+        Object result = postProcessor.postProcessAfterInitialization(bean, "noMatch");
+
+        assertThat(result).isSameAs(bean);
+        assertThat(postProcessor.getSkippedBeans()).containsExactly("noMatch");
+    }
+
+    @Test
+    @DisplayName("basePackage 밖의 빈은 skipped 로 세지 않는다.")
+    void notTargetTest() {
+        String bean = "other";
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "other")).isSameAs(bean);
+        assertThat(postProcessor.getSkippedBeans()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 클래스의 빈은 프록시 설정을 공유하지만 target 은 빈마다 따로 가진다.")
+    void templateTest() {
+        Match proxy1 = (Match) postProcessor.postProcessAfterInitialization(new Match("a"), "match1");
+        Match proxy2 = (Match) postProcessor.postProcessAfterInitialization(new Match("b"), "match2");
+
+        assertThat(AopUtils.isAopProxy(proxy1)).isTrue();
+        assertThat(proxy1.request()).isEqualTo("a");
+        assertThat(proxy2.request()).isEqualTo("b");
+        assertThat(proxy1.noLog()).isEqualTo("ok");
+        assertThat(adviceCount.get()).isEqualTo(2);//noLog 는 어드바이스를 적용하지 않는다.
+    }
+
+    @Test
+    @DisplayName("이미 프록시인 빈은 다시 감싸지 않고 advisor 를 기존 체인에 합친다.")
+    void flattenTest() {
+        ProxyFactory proxyFactory = new ProxyFactory(new Match("a"));
+        proxyFactory.setProxyTargetClass(true);
+        Match manualProxy = (Match) proxyFactory.getProxy();
+
+        Object result = postProcessor.postProcessAfterInitialization(manualProxy, "match");
+
+        assertThat(result).isSameAs(manualProxy);
+        assertThat(((Advised) result).getAdvisors()).hasSize(1);
+        assertThat(postProcessor.getFlattenedBeans()).containsExactly("match");
+        assertThat(manualProxy.request()).isEqualTo("a");
+        assertThat(adviceCount.get()).isEqualTo(1);
+
+        postProcessor.postProcessAfterInitialization(manualProxy, "match");
+        assertThat(((Advised) result).getAdvisors()).hasSize(1);//같은 advisor 는 한번만
+    }
+
+    private DefaultPointcutAdvisor advisor() {
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedNames("request*");
+        MethodInterceptor advice = invocation -> {
+            adviceCount.incrementAndGet();
+            return invocation.proceed();
+        };
+        return new DefaultPointcutAdvisor(pointcut, advice);
+    }
+
+    static class NoMatch {
+        public String hello() {
+            return "hello";
+        }
+    }
+
+    static class Match {
+        private final String value;
+
+        Match(String value) {
+            this.value = value;
+        }
+
+        public String request() {
+            return value;
+        }
+
+        public String noLog() {
+            return "ok";
+        }
+    }
+}
@@ -55,7 +55,7 @@ public class JdkDynamicProxyTest extends LogAppenders {
         assertThat(getContainsLog("TimeProxy 종료 resultTime=")).isPresent();
         assertThat(getContainsLog("call() A")).isPresent();
         assertThat(getContainsLog("targetClass=class hello.proxy.jdkdynamic.code.AImpl")).isPresent();
-        assertThat(getContainsLog("proxyClass=class com.sun.proxy.$Proxy")).isPresent();
+        assertThat(getContainsLog("proxyClass=class ")).hasValueSatisfying(o -> assertThat(o.getFormattedMessage()).contains(".$Proxy"));//JDK 16 부터 com.sun.proxy 대신 jdk.proxyN 패키지
         assertThat(result).isEqualTo("a");
     }
 
@@ -79,7 +79,7 @@ public class JdkDynamicProxyTest extends LogAppenders {
         assertThat(getContainsLog("call() B")).isPresent();
         assertThat(getContainsLog("TimeProxy 종료 resultTime=")).isPresent();
         assertThat(getContainsLog("targetClass=class hello.proxy.jdkdynamic.code.BImpl")).isPresent();
-        assertThat(getContainsLog("proxyClass=class com.sun.proxy.$Proxy")).isPresent();
+        assertThat(getContainsLog("proxyClass=class ")).hasValueSatisfying(o -> assertThat(o.getFormattedMessage()).contains(".$Proxy"));//JDK 16 부터 com.sun.proxy 대신 jdk.proxyN 패키지
         assertThat(result).isEqualTo("b");
     }
 }
@@ -20,6 +20,9 @@ import hello.proxy.pureproxy.decorator.code.RealComponent;
 import hello.proxy.pureproxy.decorator.code.TimeDecorator;
 import hello.proxy.pureproxy.proxy.code.CacheProxy;
 import hello.proxy.pureproxy.proxy.code.RealSubject;
+import hello.proxy.trace.logtrace.AggregateLogTrace;
+import hello.proxy.trace.logtrace.AsyncLogTrace;
+import hello.proxy.trace.logtrace.TailSamplingLogTrace;
 import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
@@ -96,6 +99,24 @@ public class LogAppenders {
             loggers.add(loggerContext.getLogger(TimeAdvice.class));
             loggers.add(loggerContext.getLogger(ServiceImpl.class));
         }
+        if (className.contains("AsyncLogTraceTest")) {
+            loggers.add(loggerContext.getLogger(AsyncLogTrace.class));
+        }
+        if (className.contains("AggregateLogTraceTest")) {
+            loggers.add(loggerContext.getLogger(AggregateLogTrace.class));
+        }
+        if (className.contains("CarrierLogTraceTest")) {
+            loggers.add(loggerContext.getLogger(ThreadLocalLogTrace.class));//출력은 ThreadLocalLogTrace 가 한다.
+        }
+        if (className.contains("TraceFuturesTest")) {
+            loggers.add(loggerContext.getLogger(ThreadLocalLogTrace.class));
+        }
+        if (className.contains("TraceContextPropagationTest")) {
+            loggers.add(loggerContext.getLogger(ThreadLocalLogTrace.class));
+        }
+        if (className.contains("TailSamplingLogTraceTest")) {
+            loggers.add(loggerContext.getLogger(TailSamplingLogTrace.class));
+        }
         if (loggers.size() == 0) {
             throw new IllegalArgumentException("LogAppenders 에서 지원되지 않는 클래스입니다.");
         }
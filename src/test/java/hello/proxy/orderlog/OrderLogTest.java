@@ -0,0 +1,143 @@
+package hello.proxy.orderlog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 세그먼트를 읽어 itemId 별 최신 주문 인덱스를 복구하고 sequence 를 이어서 사용한다.")
+    void recoverTest() {
+        try (OrderLog orderLog = open(FsyncPolicy.EVERY_WRITE)) {
+            orderLog.append("itemA");
+            orderLog.append("itemB");
+            orderLog.append("itemA");
+            assertThat(orderLog.find("itemA").orElseThrow().getSequence()).isEqualTo(2);
+        }
+
+        try (OrderLog orderLog = open(FsyncPolicy.OS)) {
+            assertThat(orderLog.getRecoveredRecords()).isEqualTo(3);
+            assertThat(orderLog.size()).isEqualTo(2);
+            assertThat(orderLog.find("itemA").orElseThrow().getSequence()).isEqualTo(2);
+            assertThat(orderLog.find("itemB").orElseThrow().getSequence()).isEqualTo(1);
+            assertThat(orderLog.find("itemC")).isEmpty();
+            assertThat(orderLog.append("itemC").getSequence()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("CRC 가 맞지 않는 엔트리부터는 버리고, 그 자리에 이어서 기록한다.")
+    void corruptedEntryTest() throws Exception {
+        try (OrderLog orderLog = open(FsyncPolicy.EVERY_WRITE)) {
+            orderLog.append("itemA");
+            orderLog.append("itemB");
+        }
+        //두번째 엔트리(itemB)의 itemId 를 변경
+        int secondEntry = OrderLog.HEADER_SIZE + OrderRecord.entrySize(5);
+        corrupt(OrderLog.listSegments(directory).get(0), secondEntry + OrderRecord.ITEM_ID_OFFSET);
+
+        try (OrderLog orderLog = open(FsyncPolicy.EVERY_WRITE)) {
+            assertThat(orderLog.find("itemA")).isPresent();
+            assertThat(orderLog.find("itemB")).isEmpty();
+            orderLog.append("itemC");
+        }
+        try (OrderLog orderLog = open(FsyncPolicy.OS)) {
+            assertThat(orderLog.size()).isEqualTo(2);
+            assertThat(orderLog.find("itemC").orElseThrow().getSequence()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 압축하면 itemId 별 최신 주문만 남긴다.")
+    void rollAndCompactTest() throws Exception {
+        try (OrderLog orderLog = open(FsyncPolicy.OS)) {
+            for (int i = 0; i < 1000; i++) {
+                orderLog.append("item" + (i % 10));
+            }
+            orderLog.append("only-once");
+            for (int i = 0; i < 500; i++) {
+                orderLog.append("item" + (i % 10));
+            }
+            int segments = orderLog.getSegmentCount();
+            assertThat(segments).isGreaterThan(10);
+
+            assertThat(orderLog.compact()).isEqualTo(segments - 1);
+            assertThat(orderLog.getSegmentCount()).isLessThanOrEqualTo(3);
+            assertThat(orderLog.find("only-once").orElseThrow().getSequence()).isEqualTo(1000);
+            assertThat(orderLog.find("item9").orElseThrow().getSequence()).isEqualTo(1500);
+        }
+
+        List<Path> files = OrderLog.listSegments(directory);
+        assertThat(files).hasSizeLessThanOrEqualTo(3);
+        try (OrderLog orderLog = open(FsyncPolicy.OS)) {
+            assertThat(orderLog.size()).isEqualTo(11);
+            assertThat(orderLog.find("only-once").orElseThrow().getSequence()).isEqualTo(1000);
+            assertThat(orderLog.append("item0").getSequence()).isEqualTo(1501);
+        }
+    }
+
+    @Test
+    @DisplayName("직접 호출한 압축이 진행 중이면 close 는 압축이 끝난 뒤 닫고, 닫힌 뒤에는 압축하지 않는다.")
+    void closeDuringCompactTest() throws Exception {
+        OrderLog orderLog = open(FsyncPolicy.OS);
+        for (int i = 0; i < 1500; i++) {
+            orderLog.append("item" + (i % 10));
+        }
+        CompletableFuture<Integer> compaction = CompletableFuture.supplyAsync(orderLog::compact);
+        orderLog.close();
+
+        Boolean completedOrRejected = compaction
+                .handle((count, ex) -> ex == null || ex.getCause() instanceof IllegalStateException)
+                .join();
+        assertThat(completedOrRejected).isTrue();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).allMatch(file -> file.getFileName().toString().endsWith(OrderLog.SEGMENT_SUFFIX));
+        }
+        try (OrderLog reopened = open(FsyncPolicy.OS)) {
+            assertThat(reopened.size()).isEqualTo(10);
+            assertThat(reopened.find("item9").orElseThrow().getSequence()).isEqualTo(1499);
+        }
+    }
+
+    @Test
+    @DisplayName("itemId 가 비었거나 너무 길면 기록하지 않는다.")
+    void itemIdLengthTest() {
+        try (OrderLog orderLog = open(FsyncPolicy.OS)) {
+            assertThatThrownBy(() -> orderLog.append(""))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> orderLog.append("a".repeat(OrderRecord.MAX_ITEM_ID_BYTES + 1)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(orderLog.size()).isZero();
+        }
+    }
+
+    private OrderLog open(FsyncPolicy fsyncPolicy) {
+        return new OrderLog(directory, SEGMENT_SIZE, fsyncPolicy, 1000, 0);
+    }
+
+    private static void corrupt(Path segment, int position) throws Exception {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            buffer.put(position, (byte) (buffer.get(position) + 1));
+            buffer.force();
+        }
+    }
+}
@@ -42,7 +42,7 @@ public class ProxyFactoryTest extends LogAppenders {
         log.info("proxyClass={}", proxy.getClass());
         proxy.save();
         assertThat(getContainsLog("targetClass=class hello.proxy.common.service.ServiceImpl")).isPresent();
-        assertThat(getContainsLog("proxyClass=class com.sun.proxy.$Proxy")).isPresent();
+        assertThat(getContainsLog("proxyClass=class ")).hasValueSatisfying(o -> assertThat(o.getFormattedMessage()).contains(".$Proxy"));//JDK 16 부터 com.sun.proxy 대신 jdk.proxyN 패키지
         assertThat(getContainsLog("TimeProxy 실행")).isPresent();
         assertThat(getContainsLog("save 호출")).isPresent();
         assertThat(getContainsLog("TimeProxy 종료 resultTime=")).isPresent();
@@ -0,0 +1,35 @@
+package hello.proxy.trace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceIdTest {
+
+    @Test
+    @DisplayName("트랜잭션 ID 는 8자리 16진수 문자열로 출력된다.")
+    void idTextTest() {
+        TraceId traceId = new TraceId();
+
+        assertThat(traceId.getId()).matches("[0-9a-f]{8}");
+        assertThat(new TraceId(0x1aL, 0).getId()).isEqualTo("0000001a");
+    }
+
+    @Test
+    @DisplayName("깊이가 바뀌어도 같은 TraceId 인스턴스와 ID 를 유지한다.")
+    void levelTest() {
+        TraceId traceId = new TraceId();
+        String id = traceId.getId();
+
+        traceId.nextLevel();
+        traceId.nextLevel();
+        assertThat(traceId.getLevel()).isEqualTo(2);
+        assertThat(traceId.isFirstLevel()).isFalse();
+
+        traceId.previousLevel();
+        traceId.previousLevel();
+        assertThat(traceId.isFirstLevel()).isTrue();
+        assertThat(traceId.getId()).isSameAs(id);
+    }
+}
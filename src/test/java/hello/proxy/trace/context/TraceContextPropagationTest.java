@@ -0,0 +1,75 @@
+package hello.proxy.trace.context;
+
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceContextPropagationTest extends LogAppenders {
+
+    private final ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    private final TraceContextPropagation propagation = new TraceContextPropagation(trace);
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("다른 스레드의 작업이 부모 trace 의 하위 level 로 기록되고, 작업이 끝나면 스레드의 trace 상태를 비운다.")
+    void executorServiceTest() throws Exception {
+        ExecutorService executor = propagation.executorService(pool);
+
+        TraceStatus root = trace.begin("hello1");
+        executor.submit(() -> trace.end(trace.begin("hello2"))).get();
+        trace.end(root);
+
+        String traceId = root.getTraceId().getId();
+        assertThat(getOrderedLogs()).hasSize(4);
+        assertThat(getOrderedLogs().get(1)).contains("[" + traceId + "] |-->hello2");
+        assertThat(getOrderedLogs().get(2)).contains("[" + traceId + "] |<--hello2");
+        assertThat(pool.submit(trace::capture).get()).isNull();
+    }
+
+    @Test
+    @DisplayName("CompletableFuture 의 각 단계가 같은 trace 에 붙는다.")
+    void completableFutureTest() {
+        TraceStatus root = trace.begin("hello1");
+        Executor executor = propagation.contextExecutor(pool);
+        CompletableFuture.supplyAsync(() -> {
+                    trace.end(trace.begin("hello2"));
+                    return 1;
+                }, executor)
+                .thenApplyAsync(value -> {
+                    trace.end(trace.begin("hello3"));
+                    return value + 1;
+                }, executor)
+                .join();
+        trace.end(root);
+
+        String traceId = root.getTraceId().getId();
+        assertThat(getOrderedLogs()).hasSize(6);
+        assertThat(getOrderedLogs().get(3)).contains("[" + traceId + "] |-->hello3");
+    }
+
+    @Test
+    @DisplayName("같은 스레드에서 실행되어도 scope 를 닫으면 원래 TraceId 로 돌아간다.")
+    void sameThreadTest() {
+        TraceStatus root = trace.begin("hello1");
+        propagation.runnable(() -> trace.end(trace.begin("hello2"))).run();
+
+        assertThat(trace.capture().getLevel()).isZero();
+        trace.end(root);
+        assertThat(trace.capture()).isNull();
+    }
+}
@@ -0,0 +1,49 @@
+package hello.proxy.trace.cost;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpanCostAggregatorTest {
+
+    @Test
+    @DisplayName("span 메시지 별로 시간, CPU, 할당 바이트를 누적하고 총 시간이 큰 순서로 보여준다.")
+    void snapshotTest() {
+        SpanCostAggregator aggregator = new SpanCostAggregator();
+        aggregator.record("OrderRepositoryV1.save()", 1_000_000_000L, 1_000_000L, 1024, false);
+        aggregator.record("OrderRepositoryV1.save()", 1_000_000_000L, 3_000_000L, 3072, true);
+        aggregator.record("OrderControllerV1.noLog()", 1_000L, -1, -1, false);
+
+        List<SpanCost> costs = aggregator.snapshot();
+
+        assertThat(costs).extracting(SpanCost::getMessage)
+                .containsExactly("OrderRepositoryV1.save()", "OrderControllerV1.noLog()");
+        SpanCost save = costs.get(0);
+        assertThat(save.getCount()).isEqualTo(2);
+        assertThat(save.getErrorCount()).isEqualTo(1);
+        assertThat(save.getAvgWallTimeMs()).isEqualTo(1000.0);
+        assertThat(save.getAvgCpuTimeMs()).isEqualTo(2.0);
+        assertThat(save.getAvgAllocatedBytes()).isEqualTo(2048.0);
+        assertThat(costs.get(1).getTotalCpuTimeNs()).isZero();//지원되지 않는 값(-1)은 누적하지 않는다.
+    }
+
+    @Test
+    @DisplayName("CPU 시간, 할당 바이트를 측정할 수 없었던 호출은 평균에서 뺀다.")
+    void unsupportedSampleTest() {
+        SpanCostAggregator aggregator = new SpanCostAggregator();
+        aggregator.record("OrderRepositoryV1.save()", 4_000_000L, 2_000_000L, 1024, false);
+        aggregator.record("OrderRepositoryV1.save()", 4_000_000L, -1, -1, false);//가상 스레드 등
+
+        SpanCost save = aggregator.snapshot().get(0);
+
+        assertThat(save.getCount()).isEqualTo(2);
+        assertThat(save.getCpuSamples()).isEqualTo(1);
+        assertThat(save.getAllocSamples()).isEqualTo(1);
+        assertThat(save.getAvgCpuTimeMs()).isEqualTo(2.0);
+        assertThat(save.getAvgAllocatedBytes()).isEqualTo(1024.0);
+        assertThat(save.getCpuRatio()).isEqualTo(0.5);
+    }
+}
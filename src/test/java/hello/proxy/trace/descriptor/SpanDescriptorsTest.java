@@ -0,0 +1,41 @@
+package hello.proxy.trace.descriptor;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderServiceV1;
+import hello.proxy.app.v1.OrderServiceV1Impl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpanDescriptorsTest {
+
+    @Test
+    @DisplayName("메서드별로 한번만 만들고, 기존 span 이름 형식을 그대로 사용한다.")
+    void descriptorTest() throws NoSuchMethodException {
+        Method request = OrderControllerV1.class.getMethod("request", String.class);
+        SpanDescriptor descriptor = SpanDescriptors.of(request);
+
+        assertThat(SpanDescriptors.of(request)).isSameAs(descriptor);
+        assertThat(descriptor.getName()).isEqualTo("OrderControllerV1.request()");
+        assertThat(descriptor.getSignatureName()).isEqualTo("OrderControllerV1.request(..)");
+        assertThat(descriptor.hasFlag(SpanDescriptor.FLAG_NO_ARGS)).isFalse();
+        assertThat(SpanDescriptors.of(OrderControllerV1.class.getMethod("noLog")).getSignatureName()).isEqualTo("OrderControllerV1.noLog()");
+        assertThat(SpanDescriptors.of(Object.class.getMethod("toString")).hasFlag(SpanDescriptor.FLAG_OBJECT_METHOD)).isTrue();
+        assertThat(descriptor.hasFlag(SpanDescriptor.FLAG_ENTRY_POINT)).isTrue();//인터페이스의 @RequestMapping
+    }
+
+    @Test
+    @DisplayName("span 이름이 다르면 다른 id 를 사용한다.")
+    void idTest() throws NoSuchMethodException {
+        SpanDescriptor orderItem = SpanDescriptors.of(OrderServiceV1.class.getMethod("orderItem", String.class));
+        SpanDescriptor impl = SpanDescriptors.of(OrderServiceV1Impl.class.getMethod("orderItem", String.class));
+
+        assertThat(orderItem.hasFlag(SpanDescriptor.FLAG_VOID)).isTrue();
+        assertThat(orderItem.hasFlag(SpanDescriptor.FLAG_ENTRY_POINT)).isFalse();
+        assertThat(impl.getName()).isEqualTo("OrderServiceV1Impl.orderItem()");
+        assertThat(impl.getId()).isNotEqualTo(orderItem.getId());
+    }
+}
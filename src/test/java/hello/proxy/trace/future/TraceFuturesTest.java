@@ -0,0 +1,92 @@
+package hello.proxy.trace.future;
+
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TraceFuturesTest extends LogAppenders {
+
+    private final ThreadLocalLogTrace trace = new ThreadLocalLogTrace();
+    private final CompletableFuture<Void> saveGate = new CompletableFuture<>();//완료하기 전까지 save 가 실행되지 않는다.
+
+    @Test
+    @DisplayName("future 가 완료될 때 자식 -> 부모 순서로 span 을 끝내고, 호출 스레드는 리턴 즉시 trace 를 비운다.")
+    void nestedTest() {
+        CompletableFuture<String> future = request("itemId");
+
+        assertThat(trace.capture()).isNull();
+        assertThat(getOrderedLogs()).hasSize(3);
+
+        saveGate.complete(null);
+        assertThat(future.join()).isEqualTo("ok");
+        assertThat(getOrderedLogs()).hasSize(6);
+        assertThat(getOrderedLogs().get(2)).contains("|   |-->save");
+        assertThat(getOrderedLogs().get(3)).contains("|   |<--save").contains("time=");
+        assertThat(getOrderedLogs().get(4)).contains("|<--orderItem").contains("time=");
+        assertThat(getOrderedLogs().get(5)).contains("] request").contains("time=");
+    }
+
+    @Test
+    @DisplayName("future 가 예외로 완료되면 원래 예외로 exception 을 기록한다.")
+    void exceptionTest() {
+        CompletableFuture<String> future = request("ex");
+        saveGate.complete(null);
+
+        assertThatThrownBy(future::join).hasRootCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(getOrderedLogs().get(3)).contains("|   |<X-save").contains("ex=java.lang.IllegalArgumentException");
+        assertThat(getOrderedLogs().get(5)).contains("] request").contains("ex=java.lang.IllegalArgumentException");
+    }
+
+    @Test
+    @DisplayName("이미 완료된 future, future 가 아닌 결과는 바로 span 을 끝낸다.")
+    void completedTest() {
+        TraceStatus root = trace.begin("root");
+        TraceFutures.endOnCompletion(trace, trace.begin("done"), CompletableFuture.completedFuture("ok"));
+        TraceFutures.endOnCompletion(trace, trace.begin("value"), (Object) "ok");
+        trace.end(root);
+
+        assertThat(getOrderedLogs()).hasSize(6);
+        assertThat(getOrderedLogs().get(2)).contains("|<--done");
+        assertThat(getOrderedLogs().get(4)).contains("|<--value");
+        assertThat(trace.capture()).isNull();
+    }
+
+    @Test
+    @DisplayName("리턴받은 future 를 취소하면 원래 future 도 취소되고, span 은 CancellationException 으로 끝난다.")
+    void cancelTest() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> future = TraceFutures.endOnCompletion(trace, trace.begin("async"), source);
+
+        assertThat(future.cancel(true)).isTrue();
+
+        assertThat(source.isCancelled()).isTrue();
+        assertThat(getOrderedLogs()).hasSize(2);
+        assertThat(getOrderedLogs().get(1)).contains("async").contains("ex=java.util.concurrent.CancellationException");
+    }
+
+    private CompletableFuture<String> request(String itemId) {
+        TraceStatus status = trace.begin("request");
+        return TraceFutures.endOnCompletion(trace, status, orderItem(itemId).thenApply(ignored -> "ok"));
+    }
+
+    private CompletableFuture<Void> orderItem(String itemId) {
+        TraceStatus status = trace.begin("orderItem");
+        return TraceFutures.endOnCompletion(trace, status, save(itemId));
+    }
+
+    private CompletableFuture<Void> save(String itemId) {
+        TraceStatus status = trace.begin("save");
+        return TraceFutures.endOnCompletion(trace, status, saveGate.thenRunAsync(() -> {
+            if ("ex".equals(itemId)) {
+                throw new IllegalArgumentException("예외 발생");
+            }
+        }));
+    }
+}
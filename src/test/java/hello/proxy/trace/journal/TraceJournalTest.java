@@ -0,0 +1,63 @@
+package hello.proxy.trace.journal;
+
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.JournalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TraceJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("저널에 기록한 span 을 로그와 같은 트리 형식으로 다시 출력한다.")
+    void renderTest() throws Exception {
+        JournalLogTrace trace = new JournalLogTrace(directory, 1024, 4);
+        TraceStatus status1 = trace.begin("OrderControllerV1.request()");
+        TraceStatus status2 = trace.begin("OrderServiceV1.orderItem()");
+        TraceStatus status3 = trace.begin("OrderRepositoryV1.save()");
+        trace.exception(status3, new IllegalArgumentException("예외 발생"));
+        trace.exception(status2, new IllegalArgumentException("예외 발생"));
+        trace.exception(status1, new IllegalArgumentException("예외 발생"));
+        trace.close();
+
+        List<SpanRecord> records = new TraceJournalReader(directory).readAll();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TraceJournalRenderer(MessageDictionary.open(directory), new PrintStream(out, true, StandardCharsets.UTF_8))
+                .render(records, null);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+
+        assertThat(records).hasSize(3);
+        assertThat(lines).hasSize(6);
+        assertThat(lines[0]).endsWith("] OrderControllerV1.request()");
+        assertThat(lines[1]).contains("|-->OrderServiceV1.orderItem()");
+        assertThat(lines[2]).contains("|   |-->OrderRepositoryV1.save()");
+        assertThat(lines[3]).contains("|   |<X-OrderRepositoryV1.save()").contains("ex=java.lang.IllegalArgumentException");
+        assertThat(lines[4]).contains("|<X-OrderServiceV1.orderItem()");
+        assertThat(lines[5]).contains("OrderControllerV1.request() time=");
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 다음 세그먼트로 넘어가고, 오래된 세그먼트는 지운다.")
+    void rotateTest() throws Exception {
+        int segmentSize = TraceJournalWriter.HEADER_SIZE + SpanRecord.SIZE * 2;
+        JournalLogTrace trace = new JournalLogTrace(directory, segmentSize, 2);
+        for (int i = 0; i < 10; i++) {
+            trace.end(trace.begin("hello" + i));
+        }
+        trace.close();
+
+        assertThat(TraceJournalWriter.listSegments(directory)).hasSize(2);
+        assertThat(new TraceJournalReader(directory).readAll()).hasSize(4);
+    }
+}
@@ -0,0 +1,44 @@
+package hello.proxy.trace.latency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class SpanLatencyRecorderTest {
+
+    @Test
+    @DisplayName("버킷 상한값은 기록한 값보다 작지 않고, 상대 오차는 1/16 이내다.")
+    void bucketTest() {
+        long[] values = {0, 15, 16, 17, 1_000, 1_000_000, 1_003_000_000L, Long.MAX_VALUE};
+        for (long value : values) {
+            long highest = LogHistogram.highestValue(LogHistogram.bucketIndex(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat((double) (highest - value)).isLessThanOrEqualTo(value / 16.0);
+        }
+    }
+
+    @Test
+    @DisplayName("span 메시지 별로 백분위, 호출 수, 예외 수를 보여준다.")
+    void snapshotTest() {
+        SpanLatencyRecorder recorder = new SpanLatencyRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record("OrderServiceV1.orderItem()", i * 1_000_000L, i % 100 == 0);
+        }
+        recorder.record("OrderControllerV1.noLog()", 1_000L, false);
+
+        List<SpanLatency> latencies = recorder.snapshot(60);
+
+        assertThat(latencies).extracting(SpanLatency::getMessage)
+                .containsExactly("OrderServiceV1.orderItem()", "OrderControllerV1.noLog()");
+        SpanLatency orderItem = latencies.get(0);
+        assertThat(orderItem.getCount()).isEqualTo(1000);
+        assertThat(orderItem.getErrorCount()).isEqualTo(10);
+        assertThat(orderItem.getP50Ms()).isCloseTo(500, within(500 / 16.0));
+        assertThat(orderItem.getP99Ms()).isCloseTo(990, within(990 / 16.0));
+        assertThat(orderItem.getP999Ms()).isCloseTo(999, within(999 / 16.0));
+    }
+}
@@ -0,0 +1,89 @@
+package hello.proxy.trace.level;
+
+import hello.proxy.app.v1.OrderControllerV1;
+import hello.proxy.app.v1.OrderControllerV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.proxy.config.v3_proxyfactory.advice.LogTraceAdvice;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.LogTrace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TraceSwitchTest {
+
+    private final RecordingTrace trace = new RecordingTrace();
+
+    @AfterEach
+    void tearDown() {
+        TraceSwitch.setLevel(TraceLevel.ALL);
+    }
+
+    @Test
+    @DisplayName("OFF 면 같은 프록시가 begin 없이 target 만 호출하고, 다시 켜면 기록한다.")
+    void offTest() {
+        OrderRepositoryV1 repository = adviceProxy(new OrderRepositoryV1Impl());
+
+        TraceSwitch.setLevel(TraceLevel.OFF);
+        assertThatThrownBy(() -> repository.save("ex")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(trace.messages).isEmpty();
+
+        TraceSwitch.setLevel(TraceLevel.ALL);
+        assertThatThrownBy(() -> repository.save("ex")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(trace.messages).containsExactly("OrderRepositoryV1.save()");
+    }
+
+    @Test
+    @DisplayName("ENTRY 면 컨트롤러 메서드만 기록한다.")
+    void entryTest() {
+        TraceSwitch.setLevel(TraceLevel.ENTRY);
+        OrderControllerV1 controller = adviceProxy(new OrderControllerV1Impl(null));
+        OrderRepositoryV1 repository = handlerProxy(new OrderRepositoryV1Impl());
+
+        assertThat(controller.noLog()).isEqualTo("ok");
+        assertThatThrownBy(() -> repository.save("ex")).hasRootCauseInstanceOf(IllegalArgumentException.class);//method.invoke 예외
+
+        assertThat(trace.messages).containsExactly("OrderControllerV1.noLog()");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T adviceProxy(T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new LogTraceAdvice(trace));
+        return (T) proxyFactory.getProxy();
+    }
+
+    private OrderRepositoryV1 handlerProxy(OrderRepositoryV1 target) {
+        return (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class}, new LogTraceBasicHandler(target, trace));
+    }
+
+    private static class RecordingTrace implements LogTrace {
+
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public TraceStatus begin(String message) {
+            messages.add(message);
+            return null;
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+        }
+    }
+}
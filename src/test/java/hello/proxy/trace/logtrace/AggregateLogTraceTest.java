@@ -0,0 +1,60 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AggregateLogTraceTest extends LogAppenders {
+
+    @Test
+    @DisplayName("요청 하나의 span 트리를 첫번째 level 이 끝날 때 한 줄로 출력한다.")
+    void aggregateTest() {
+        AggregateLogTrace trace = new AggregateLogTrace();
+
+        TraceStatus status1 = trace.begin("OrderControllerV1.request()");
+        TraceStatus status2 = trace.begin("OrderServiceV1.orderItem()");
+        TraceStatus status3 = trace.begin("OrderRepositoryV1.save()");
+        trace.end(status3);
+        trace.end(status2);
+        assertThat(getOrderedLogs()).isNull();//루트가 끝나기 전에는 출력하지 않는다.
+        trace.end(status1);
+
+        assertThat(getOrderedLogs()).hasSize(1);
+        assertThat(getOrderedLogs().get(0))
+                .contains("\"spans\":3")
+                .contains("{\"message\":\"OrderControllerV1.request()\",\"time\":")
+                .contains("\"children\":[{\"message\":\"OrderServiceV1.orderItem()\"")
+                .contains("\"children\":[{\"message\":\"OrderRepositoryV1.save()\"");
+    }
+
+    @Test
+    @DisplayName("예외가 발생한 span 은 ex 를 함께 출력한다.")
+    void exceptionTest() {
+        AggregateLogTrace trace = new AggregateLogTrace();
+
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalArgumentException("예외 발생"));
+        trace.exception(status1, new IllegalArgumentException("예외 발생"));
+
+        assertThat(getOrderedLogs()).hasSize(1);
+        assertThat(getOrderedLogs().get(0)).contains("\"message\":\"hello2\"").contains("\"ex\":\"java.lang.IllegalArgumentException: 예외 발생\"");
+    }
+
+    @Test
+    @DisplayName("maxSpans 를 넘는 span 은 기록하지 않고 개수만 센다.")
+    void maxSpansTest() {
+        AggregateLogTrace trace = new AggregateLogTrace(2);
+
+        TraceStatus root = trace.begin("root");
+        for (int i = 0; i < 3; i++) {
+            trace.end(trace.begin("child" + i));
+        }
+        trace.end(root);
+
+        assertThat(getOrderedLogs().get(0)).contains("\"spans\":2").contains("\"droppedSpans\":2").doesNotContain("child1");
+    }
+}
@@ -0,0 +1,125 @@
+package hello.proxy.trace.logtrace;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.async.BackPressurePolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncLogTraceTest extends LogAppenders {
+
+    @Test
+    @DisplayName("close() 시점에 버퍼에 남은 span 이벤트를 순서대로 모두 출력한다.")
+    void flushOnCloseTest() {
+        AsyncLogTrace trace = new AsyncLogTrace(16, BackPressurePolicy.BLOCK);
+
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalStateException());
+        trace.end(status1);
+        trace.close();
+
+        assertThat(getOrderedLogs()).hasSize(4);
+        assertThat(getOrderedLogs().get(0)).contains("hello1");
+        assertThat(getOrderedLogs().get(1)).contains("|-->hello2");
+        assertThat(getOrderedLogs().get(2)).contains("|<X-hello2").contains("time=").contains("ex=java.lang.IllegalStateException");
+        assertThat(getOrderedLogs().get(3)).contains("hello1").contains("time=");
+    }
+
+    @Test
+    @DisplayName("버퍼가 가득 차도 BLOCK 정책이면 이벤트를 버리지 않는다.")
+    void blockPolicyTest() {
+        AsyncLogTrace trace = new AsyncLogTrace(2, BackPressurePolicy.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            TraceStatus status = trace.begin("hello");
+            trace.end(status);
+        }
+        trace.close();
+
+        assertThat(getOrderedLogs()).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("BLOCK 정책으로 대기 중에 종료해도 요청 스레드가 멈추지 않고, 종료 전후의 이벤트를 모두 출력한다.")
+    void closeWhileBlockedTest() throws InterruptedException {
+        AsyncLogTrace trace = new AsyncLogTrace(2, BackPressurePolicy.BLOCK);
+        //consumer 가 첫 이벤트를 출력하는 중에 멈춰서 버퍼가 가득 찬 상태를 만든다.
+        CountDownLatch release = new CountDownLatch(1);
+        GateAppender gate = new GateAppender(release);
+        Logger logger = (Logger) LoggerFactory.getLogger(AsyncLogTrace.class);
+        gate.start();
+        logger.addAppender(gate);
+        try {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 3; i++) {
+                    TraceStatus status = trace.begin("hello" + i);
+                    trace.end(status);
+                }
+            });
+            producer.start();
+            awaitState(producer, Thread.State.TIMED_WAITING);//세번째 이벤트에서 BLOCK 대기
+
+            Thread closer = new Thread(trace::close);
+            closer.start();
+            awaitState(closer, Thread.State.TIMED_WAITING);//running = false 이후 consumer 종료 대기
+
+            producer.join(5000);
+            assertThat(producer.isAlive()).isFalse();
+            release.countDown();
+            closer.join(5000);
+            assertThat(closer.isAlive()).isFalse();
+        } finally {
+            release.countDown();
+            logger.detachAppender(gate);
+        }
+        assertThat(getOrderedLogs()).hasSize(6);
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        while (thread.getState() != state) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * consumer 스레드의 출력을 release 될 때까지 막는다. 요청 스레드의 출력은 막지 않도록 동기화하지 않는 appender
+     */
+    private static class GateAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch release;
+
+        private GateAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (!"async-log-trace".equals(Thread.currentThread().getName())) {
+                return;
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼 크기는 2의 제곱수로 올림한다.")
+    void bufferSizeTest() {
+        AsyncLogTrace trace = new AsyncLogTrace(1000, BackPressurePolicy.DROP_NEWEST);
+        trace.close();
+
+        assertThat(trace.getBufferSize()).isEqualTo(1024);
+    }
+}
@@ -0,0 +1,56 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.cost.SpanCostAggregator;
+import hello.proxy.trace.sampling.TraceSampler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CarrierLogTraceTest extends LogAppenders {
+
+    @Test
+    @DisplayName("ThreadLocalLogTrace 와 같은 형식으로 출력하고, 요청이 끝나면 다음 요청은 새 TraceId 로 시작한다.")
+    void carrierTest() {
+        CarrierLogTrace trace = new CarrierLogTrace();
+
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.exception(status2, new IllegalStateException());
+        trace.end(status1);
+        assertThat(trace.capture()).isNull();
+
+        TraceStatus status3 = trace.begin("hello3");
+        trace.end(status3);
+
+        assertThat(getOrderedLogs()).hasSize(6);
+        assertThat(getOrderedLogs().get(1)).contains("[" + status1.getTraceId().getId() + "] |-->hello2");
+        assertThat(getOrderedLogs().get(2)).contains("|<X-hello2").contains("time=").contains("ex=java.lang.IllegalStateException");
+        assertThat(getOrderedLogs().get(3)).contains("hello1").contains("time=");
+        assertThat(status3.getTraceId().getId()).isNotEqualTo(status1.getTraceId().getId());
+        assertThat(status3.getTraceId().getLevel()).isZero();
+    }
+
+    @Test
+    @DisplayName("샘플링, 비용 집계는 ThreadLocalLogTrace 와 같이 동작한다.")
+    void hooksTest() {
+        SpanCostAggregator costAggregator = new SpanCostAggregator();
+        TraceSampler sampler = new TraceSampler(0, TraceSampler.UNLIMITED);
+        CarrierLogTrace trace = new CarrierLogTrace(costAggregator, sampler, null);
+
+        TraceStatus unsampled = trace.begin("hello1");
+        assertThat(trace.isSampledOut()).isTrue();
+        trace.end(unsampled);
+        assertThat(trace.isSampledOut()).isFalse();
+
+        sampler.setRate(1.0);
+        TraceStatus sampled = trace.begin("hello2");
+        trace.end(sampled);
+
+        assertThat(getOrderedLogs()).hasSize(2);
+        assertThat(costAggregator.snapshot()).extracting(cost -> cost.getMessage()).containsExactly("hello2");
+        assertThat(trace.capture()).isNull();
+    }
+}
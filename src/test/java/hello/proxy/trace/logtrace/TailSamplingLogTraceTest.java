@@ -0,0 +1,59 @@
+package hello.proxy.trace.logtrace;
+
+import hello.proxy.log.LogAppenders;
+import hello.proxy.trace.TraceStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TailSamplingLogTraceTest extends LogAppenders {
+
+    @Test
+    @DisplayName("빠르게 정상 종료된 요청은 출력하지 않는다.")
+    void discardTest() {
+        TailSamplingLogTrace trace = new TailSamplingLogTrace(10_000);
+
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        trace.end(status2);
+        trace.end(status1);
+
+        assertThat(getOrderedLogs()).isNull();
+    }
+
+    @Test
+    @DisplayName("하위 span 에서 예외가 발생한 요청은 루트가 정상 종료되어도 전체를 출력한다.")
+    void exceptionTest() {
+        TailSamplingLogTrace trace = new TailSamplingLogTrace(10_000);
+
+        TraceStatus status1 = trace.begin("hello1");
+        TraceStatus status2 = trace.begin("hello2");
+        assertThat(getOrderedLogs()).isNull();//루트가 끝나기 전에는 출력하지 않는다.
+        trace.exception(status2, new IllegalArgumentException("예외 발생"));
+        trace.end(status1);
+
+        assertThat(getOrderedLogs()).hasSize(4);
+        assertThat(getOrderedLogs().get(0)).contains("hello1");
+        assertThat(getOrderedLogs().get(1)).contains("|-->hello2");
+        assertThat(getOrderedLogs().get(2)).contains("|<X-hello2").contains("time=").contains("ex=java.lang.IllegalArgumentException: 예외 발생");
+        assertThat(getOrderedLogs().get(3)).contains("hello1").contains("time=");
+    }
+
+    @Test
+    @DisplayName("루트 span 이 기준 시간 이상 걸린 요청은 출력한다.")
+    void slowTest() throws InterruptedException {
+        TailSamplingLogTrace trace = new TailSamplingLogTrace(10);
+
+        TraceStatus status = trace.begin("hello1");
+        Thread.sleep(20);
+        trace.end(status);
+
+        assertThat(getOrderedLogs()).hasSize(2);
+        assertThat(getOrderedLogs().get(1)).contains("hello1").contains("time=");
+
+        //다음 요청은 새로 판단한다.
+        trace.end(trace.begin("hello2"));
+        assertThat(getOrderedLogs()).hasSize(2);
+    }
+}
@@ -0,0 +1,135 @@
+package hello.proxy.trace.sampling;
+
+import hello.proxy.app.v1.OrderRepositoryV1;
+import hello.proxy.app.v1.OrderRepositoryV1Impl;
+import hello.proxy.app.v1.OrderRepositoryV1LogTraceProxy;
+import hello.proxy.app.v2.OrderRepositoryV2;
+import hello.proxy.config.v1_proxy.concrete_proxy.OrderRepositoryConcreteProxy;
+import hello.proxy.config.v1_proxy.interface_proxy.OrderRepositoryInterfaceProxy;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceBasicHandler;
+import hello.proxy.config.v2_dynamicproxy.handler.LogTraceFilterHandler;
+import hello.proxy.trace.TraceStatus;
+import hello.proxy.trace.logtrace.LogTrace;
+import hello.proxy.trace.logtrace.ThreadLocalLogTrace;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TraceSamplerTest {
+
+    @Test
+    @DisplayName("rate 1 은 모두, rate 0 은 하나도 샘플링하지 않는다.")
+    void rateTest() {
+        TraceSampler sampler = TraceSampler.always();
+        assertThat(sampler.sample()).isTrue();
+
+        sampler.setRate(0);//실행 중 변경
+        assertThat(sampler.sample()).isFalse();
+        assertThat(sampler.getSampledCount()).isEqualTo(1);
+        assertThat(sampler.getUnsampledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("초당 최대 개수를 넘으면 샘플링하지 않는다.")
+    void maxPerSecondTest() {
+        TraceSampler sampler = new TraceSampler(1.0, 3);
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) {
+            if (sampler.sample()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(3, 6);//초 경계를 넘으면 한 번 더 채워질 수 있다.
+    }
+
+    @Test
+    void invalidRate() {
+        assertThatThrownBy(() -> new TraceSampler(1.5, TraceSampler.UNLIMITED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("샘플링되지 않은 요청은 하위 span 까지 모두 기록하지 않고, 요청이 끝나면 다시 샘플링한다.")
+    void unsampledTrace() {
+        TraceSampler sampler = new TraceSampler(0, TraceSampler.UNLIMITED);
+        ThreadLocalLogTrace trace = new ThreadLocalLogTrace(null, sampler);
+
+        TraceStatus status1 = trace.begin("hello1");
+        assertThat(trace.isSampledOut()).isTrue();
+        TraceStatus status2 = trace.begin("hello2");
+        assertThat(status2.getTraceId().isSampled()).isFalse();
+        trace.end(status2);
+        trace.end(status1);
+        assertThat(trace.isSampledOut()).isFalse();
+
+        sampler.setRate(1.0);
+        TraceStatus status3 = trace.begin("hello3");
+        assertThat(status3.getTraceId().isSampled()).isTrue();
+        assertThat(trace.isSampledOut()).isFalse();
+        trace.end(status3);
+        assertThat(sampler.getSampledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("샘플링되지 않은 요청은 v1 프록시, 동적 프록시 핸들러에서도 span 을 시작하지 않는다.")
+    void sampledOutProxiesTest() {
+        LogTrace trace = new SampledOutLogTrace();
+        OrderRepositoryV1 target = new OrderRepositoryV1Impl() {
+            @Override
+            public void save(String itemId) {
+            }
+        };
+
+        List<OrderRepositoryV1> proxies = List.of(
+                new OrderRepositoryInterfaceProxy(target, trace),
+                new OrderRepositoryV1LogTraceProxy(target, trace),
+                jdkProxy(new LogTraceBasicHandler(target, trace)),
+                jdkProxy(new LogTraceFilterHandler(target, trace, new String[]{"save*"})));
+        for (OrderRepositoryV1 proxy : proxies) {
+            proxy.save("item");
+            proxy.saveAsync("item").cancel(false);
+        }
+        new OrderRepositoryConcreteProxy(new OrderRepositoryV2() {
+            @Override
+            public void save(String itemId) {
+            }
+        }, trace).save("item");
+    }
+
+    private static OrderRepositoryV1 jdkProxy(InvocationHandler handler) {
+        return (OrderRepositoryV1) Proxy.newProxyInstance(OrderRepositoryV1.class.getClassLoader(),
+                new Class[]{OrderRepositoryV1.class}, handler);
+    }
+
+    /**
+     * 항상 샘플링되지 않은 요청, span 을 시작하면 실패한다.
+     */
+    private static class SampledOutLogTrace implements LogTrace {
+
+        @Override
+        public TraceStatus begin(String message) {
+            throw new AssertionError("샘플링되지 않은 요청에서 begin 호출: " + message);
+        }
+
+        @Override
+        public void end(TraceStatus status) {
+            throw new AssertionError("end");
+        }
+
+        @Override
+        public void exception(TraceStatus status, Exception e) {
+            throw new AssertionError("exception");
+        }
+
+        @Override
+        public boolean isSampledOut() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package hello.proxy.trace.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일 시점에 LogTrace 프록시 소스를 생성한다. {@link LogTraceProxyProcessor}
+ * : 인터페이스 -> 인터페이스를 구현하는 프록시 (config.v1_proxy.interface_proxy 와 같은 형태)
+ * : 클래스 -> 클래스를 상속하는 프록시 (config.v1_proxy.concrete_proxy 와 같은 형태)
+ * : 생성되는 클래스는 같은 패키지의 {타입 이름}LogTraceProxy 이고, 생성자는 (target, LogTrace) 이다.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateLogTraceProxy {
+
+    /**
+     * 로그를 남기지 않고 target 만 호출할 메서드 이름 패턴, "xxx*", "*xxx", "*xxx*" 형식을 지원한다.
+     */
+    String[] exclude() default {"noLog"};
+}
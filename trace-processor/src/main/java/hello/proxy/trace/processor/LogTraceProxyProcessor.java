@@ -0,0 +1,313 @@
+package hello.proxy.trace.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link GenerateLogTraceProxy} 가 붙은 타입의 LogTrace 프록시 소스를 생성한다.
+ * : 생성된 코드는 직접 작성한 프록시(config.v1_proxy)와 같다. target 메서드를 직접 호출하므로 리플렉션, 런타임 클래스 생성이 없다.
+ * : CompletableFuture 를 리턴하는 메서드는 TraceFutures.endOnCompletion 으로 감싸서 future 가 완료될 때 span 을 끝낸다.
+ *
+ * 생성 예)
+ * <pre>
+ * public class OrderRepositoryV1LogTraceProxy implements OrderRepositoryV1 {
+ *     ...
+ *     public void save(String arg0) {
+ *         if (trace.isSampledOut()) {
+ *             target.save(arg0);
+ *             return;
+ *         }
+ *         TraceStatus status = null;
+ *         try {
+ *             status = trace.begin("OrderRepositoryV1.save()");
+ *             target.save(arg0);
+ *             trace.end(status);
+ *         } catch (Exception e) {
+ *             trace.exception(status, e);
+ *             throw e;
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+@SupportedAnnotationTypes("hello.proxy.trace.processor.GenerateLogTraceProxy")
+public class LogTraceProxyProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "LogTraceProxy";
+
+    private static final String LOG_TRACE = "hello.proxy.trace.logtrace.LogTrace";
+    private static final String TRACE_STATUS = "hello.proxy.trace.TraceStatus";
+    private static final String TRACE_FUTURES = "hello.proxy.trace.future.TraceFutures";
+    private static final String COMPLETABLE_FUTURE = "java.util.concurrent.CompletableFuture";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateLogTraceProxy.class)) {
+            TypeElement type = (TypeElement) element;
+            try {
+                generate(type, element.getAnnotation(GenerateLogTraceProxy.class).exclude());
+            } catch (IllegalArgumentException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "프록시 소스를 생성할 수 없습니다. " + e, type);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, String[] excludes) throws IOException {
+        boolean isInterface = type.getKind() == ElementKind.INTERFACE;
+        if (!isInterface && type.getKind() != ElementKind.CLASS) {
+            throw new IllegalArgumentException("@GenerateLogTraceProxy 는 인터페이스나 클래스에만 사용할 수 있습니다.");
+        }
+        if (type.getModifiers().contains(Modifier.FINAL)) {
+            throw new IllegalArgumentException("final 클래스는 상속할 수 없습니다. type=" + type);
+        }
+
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String simpleName = type.getSimpleName().toString();
+        String proxyName = simpleName + SUFFIX;
+        String typeParameters = typeParameters(type.getTypeParameters());
+        String targetType = type.getQualifiedName() + typeArguments(type.getTypeParameters());
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        sb.append("public class ").append(proxyName).append(typeParameters)
+                .append(isInterface ? " implements " : " extends ").append(targetType).append(" {\n\n");
+        sb.append("    private final ").append(targetType).append(" target;\n");
+        sb.append("    private final ").append(LOG_TRACE).append(" trace;\n\n");
+        sb.append("    public ").append(proxyName).append("(").append(targetType).append(" target, ")
+                .append(LOG_TRACE).append(" trace) {\n");
+        if (!isInterface) {
+            sb.append("        super(").append(superArguments(type)).append(");//부모 생성자는 사용하지 않는다.\n");
+        }
+        sb.append("        this.target = target;\n");
+        sb.append("        this.trace = trace;\n");
+        sb.append("    }\n");
+
+        for (ExecutableElement method : proxyMethods(type)) {
+            String name = method.getSimpleName().toString();
+            appendMethod(sb, type, method, matches(excludes, name) ? null : simpleName + "." + name + "()");
+        }
+        sb.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? proxyName : packageName + "." + proxyName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    /**
+     * @param message null 이면 로그 없이 target 만 호출한다.
+     */
+    private void appendMethod(StringBuilder sb, TypeElement type, ExecutableElement method, String message) {
+        ExecutableType executableType = (ExecutableType) processingEnv.getTypeUtils()
+                .asMemberOf((DeclaredType) type.asType(), method);
+        List<? extends TypeMirror> parameterTypes = executableType.getParameterTypes();
+        boolean returnsVoid = executableType.getReturnType().getKind() == TypeKind.VOID;
+        boolean returnsFuture = processingEnv.getTypeUtils().erasure(executableType.getReturnType()).toString().equals(COMPLETABLE_FUTURE);
+
+        List<String> parameters = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            String typeName = parameterTypes.get(i).toString();
+            if (method.isVarArgs() && i == parameterTypes.size() - 1) {
+                typeName = typeName.substring(0, typeName.length() - 2) + "...";
+            }
+            parameters.add(typeName + " arg" + i);
+            arguments.add("arg" + i);
+        }
+
+        sb.append("\n    @Override\n    ");
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            sb.append("public ");
+        } else if (method.getModifiers().contains(Modifier.PROTECTED)) {
+            sb.append("protected ");
+        }
+        String methodTypeParameters = typeParameters(method.getTypeParameters());
+        if (!methodTypeParameters.isEmpty()) {
+            sb.append(methodTypeParameters).append(' ');
+        }
+        sb.append(executableType.getReturnType()).append(' ').append(method.getSimpleName())
+                .append('(').append(String.join(", ", parameters)).append(')');
+        if (!executableType.getThrownTypes().isEmpty()) {
+            sb.append(" throws ").append(executableType.getThrownTypes().stream()
+                    .map(TypeMirror::toString).collect(Collectors.joining(", ")));
+        }
+        sb.append(" {\n");
+
+        String call = "target." + method.getSimpleName() + "(" + String.join(", ", arguments) + ");";
+        if (message == null) {
+            sb.append("        ").append(returnsVoid ? "" : "return ").append(call).append('\n');
+            sb.append("    }\n");
+            return;
+        }
+        sb.append("        if (trace.isSampledOut()) {\n");
+        sb.append("            ").append(returnsVoid ? "" : "return ").append(call).append('\n');
+        if (returnsVoid) {
+            sb.append("            return;\n");
+        }
+        sb.append("        }\n");
+        sb.append("        ").append(TRACE_STATUS).append(" status = null;\n");
+        sb.append("        try {\n");
+        sb.append("            status = trace.begin(\"").append(message).append("\");\n");
+        if (returnsVoid) {
+            sb.append("            ").append(call).append('\n');
+            sb.append("            trace.end(status);\n");
+        } else if (returnsFuture) {
+            //비동기 메서드: future 가 완료될 때 span 을 끝낸다.
+            sb.append("            return ").append(TRACE_FUTURES).append(".endOnCompletion(trace, status, ").append(call, 0, call.length() - 1).append(");\n");
+        } else {
+            sb.append("            ").append(executableType.getReturnType()).append(" result = ").append(call).append('\n');
+            sb.append("            trace.end(status);\n");
+            sb.append("            return result;\n");
+        }
+        sb.append("        } catch (Exception e) {\n");
+        sb.append("            trace.exception(status, e);\n");
+        sb.append("            throw e;\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+    }
+
+    /**
+     * 프록시에서 재정의할 메서드: Object 메서드와 static, private, final 메서드, 다른 패키지의 package-private 메서드는 제외한다.
+     */
+    private List<ExecutableElement> proxyMethods(TypeElement type) {
+        PackageElement packageElement = packageOf(type);
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            TypeElement owner = (TypeElement) method.getEnclosingElement();
+            Set<Modifier> modifiers = method.getModifiers();
+            if (owner.getQualifiedName().contentEquals("java.lang.Object")
+                    || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.PRIVATE)
+                    || modifiers.contains(Modifier.FINAL)) {
+                continue;
+            }
+            boolean packagePrivate = !modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.PROTECTED);
+            if (packagePrivate && !packageOf(owner).equals(packageElement)) {
+                continue;
+            }
+            methods.add(method);
+        }
+        methods.sort(Comparator.comparing(method -> method.getSimpleName().toString()));
+        return methods;
+    }
+
+    /**
+     * 파라미터가 가장 적은 생성자에 기본값(null, 0, false)을 넘긴다.
+     */
+    private String superArguments(TypeElement type) {
+        ExecutableElement constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(c -> !c.getModifiers().contains(Modifier.PRIVATE))
+                .min(Comparator.comparingInt(c -> c.getParameters().size()))
+                .orElseThrow(() -> new IllegalArgumentException("호출할 수 있는 생성자가 없습니다. type=" + type));
+        return constructor.getParameters().stream()
+                .map(parameter -> defaultValue(parameter.asType()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return "(" + type + ") 0";
+            default:
+                return "(" + type + ") null";
+        }
+    }
+
+    private static String typeParameters(List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        return typeParameters.stream()
+                .map(parameter -> {
+                    List<String> bounds = parameter.getBounds().stream()
+                            .map(TypeMirror::toString)
+                            .filter(bound -> !bound.equals("java.lang.Object"))
+                            .collect(Collectors.toList());
+                    return bounds.isEmpty() ? parameter.toString() : parameter + " extends " + String.join(" & ", bounds);
+                })
+                .collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    private static String typeArguments(List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        return typeParameters.stream().map(Object::toString).collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    private static PackageElement packageOf(Element element) {
+        Element current = element;
+        while (current.getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    /**
+     * PatternMatchUtils.simpleMatch 와 같은 규칙, '*' 는 0개 이상의 문자
+     */
+    static boolean matches(String[] patterns, String name) {
+        for (String pattern : patterns) {
+            if (matches(pattern, 0, name, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String pattern, int p, String name, int n) {
+        if (p == pattern.length()) {
+            return n == name.length();
+        }
+        if (pattern.charAt(p) == '*') {
+            for (int i = n; i <= name.length(); i++) {
+                if (matches(pattern, p + 1, name, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return n < name.length() && pattern.charAt(p) == name.charAt(n) && matches(pattern, p + 1, name, n + 1);
+    }
+}